@@ -0,0 +1,43 @@
+#!/usr/bin/env bash
+# Compares time-to-refreshed-context of the plain jar with the AOT + CDS run.
+# Usage: startup-benchmark.sh <extracted-jar> <archive.jsa> <report-file> [runs]
+# Each run exits as soon as the application context has been refreshed
+# (spring.context.exit=onRefresh), so no database traffic is needed.
+# A run that exits with a non-zero status aborts the benchmark and prints the
+# tail of its output; failed startups are never averaged in.
+set -euo pipefail
+
+JAR="$1"
+ARCHIVE="$2"
+REPORT="$3"
+RUNS="${4:-5}"
+COMMON=(-Dspring.context.exit=onRefresh -Dspring.profiles.active=prod)
+
+LOG=$(mktemp)
+trap 'rm -f "$LOG"' EXIT
+
+measure() {
+    local total=0
+    for run in $(seq "$RUNS"); do
+        local start end status=0
+        start=$(date +%s%N)
+        java "$@" -jar "$JAR" > "$LOG" 2>&1 || status=$?
+        end=$(date +%s%N)
+        if [ "$status" -ne 0 ]; then
+            echo "startup failed with exit status $status (run $run, options: $*):" >&2
+            tail -n 40 "$LOG" >&2
+            return 1
+        fi
+        total=$(( total + (end - start) / 1000000 ))
+    done
+    echo $(( total / RUNS ))
+}
+
+baseline=$(measure "${COMMON[@]}" -Dspring.aot.enabled=false)
+optimized=$(measure "${COMMON[@]}" -Dspring.aot.enabled=true -XX:SharedArchiveFile="$ARCHIVE")
+
+{
+    echo "startup benchmark ($(date -u +%Y-%m-%dT%H:%M:%SZ), $RUNS runs each, java $(java -version 2>&1 | head -1))"
+    echo "baseline (no AOT, no CDS): ${baseline} ms"
+    echo "AOT + CDS:                 ${optimized} ms"
+} | tee "$REPORT"
@@ -0,0 +1,305 @@
+package com.crm.analytics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.LongSummaryStatistics;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import com.crm.dto.AnalyticsGroupDto;
+import com.crm.dto.EmployeeAnalyticsDto;
+
+/**
+ * Headcount, salary and tenure statistics over an {@link EmployeeColumns}
+ * snapshot.
+ *
+ * Group membership is first turned into one array of employee indices per
+ * group (a counting sort of the employees by group), after which every group
+ * is an independent loop over its slice of that array: groups are computed
+ * in parallel, and the totals use a parallel sort and a parallel tenure sum.
+ * Percentiles are exact (nearest rank), taken from the sorted salaries of
+ * the group. Results depend only on the snapshot, not on the parallelism.
+ */
+public final class EmployeeAnalytics {
+
+    static final int[] PERCENTILES = { 25, 50, 75, 90, 99 };
+
+    private static final double DAYS_PER_YEAR = 365.2425;
+
+    private EmployeeAnalytics() {
+    }
+
+    /**
+     * @param columns The snapshot
+     * @param groupBy How to group the employees
+     * @param bins Number of salary histogram bins, at least 1
+     * @param parallel Whether to spread the work over the common fork-join pool
+     * @param todayEpochDay The day tenure is measured up to
+     */
+    public static EmployeeAnalyticsDto compute(EmployeeColumns columns, GroupBy groupBy, int bins, boolean parallel,
+            int todayEpochDay) {
+        double[] salaries = presentSalaries(columns.salary);
+        if (parallel) {
+            Arrays.parallelSort(salaries);
+        } else {
+            Arrays.sort(salaries);
+        }
+        Histogram histogram = salaries.length > 0
+                ? new Histogram(salaries[0], (salaries[salaries.length - 1] - salaries[0]) / bins, bins)
+                : null;
+
+        AnalyticsGroupDto total = new AnalyticsGroupDto();
+        total.setHeadcount(columns.size());
+        setSalaryStatistics(total, salaries, salaries.length, histogram);
+        IntStream employees = IntStream.range(0, columns.size());
+        LongSummaryStatistics tenure = (parallel ? employees.parallel() : employees)
+                .filter(i -> columns.joinEpochDay[i] != EmployeeColumns.NO_DATE)
+                .mapToLong(i -> todayEpochDay - columns.joinEpochDay[i])
+                .summaryStatistics();
+        setTenure(total, tenure.getSum(), tenure.getCount());
+
+        Groups groups = groupsOf(columns, groupBy);
+        AnalyticsGroupDto[] results = new AnalyticsGroupDto[groups.ids.length];
+        IntStream indices = IntStream.range(0, results.length);
+        (parallel ? indices.parallel() : indices).forEach(g -> results[g] = groupStatistics(columns, groups, g,
+                histogram, todayEpochDay));
+        List<AnalyticsGroupDto> nonEmpty = new ArrayList<>();
+        for (AnalyticsGroupDto result : results) {
+            if (result.getHeadcount() > 0) {
+                nonEmpty.add(result);
+            }
+        }
+
+        return new EmployeeAnalyticsDto(groupBy.name(), columns.getBuiltAt(),
+                histogram != null ? histogram.min : null, histogram != null ? histogram.width : null, total,
+                nonEmpty);
+    }
+
+    private static AnalyticsGroupDto groupStatistics(EmployeeColumns columns, Groups groups, int g,
+            Histogram histogram, int todayEpochDay) {
+        int from = groups.start[g];
+        int to = groups.start[g + 1];
+        double[] salaries = new double[to - from];
+        int withSalary = 0;
+        long tenureDays = 0;
+        int withDate = 0;
+        for (int m = from; m < to; m++) {
+            int i = groups.members[m];
+            double salary = columns.salary[i];
+            if (!Double.isNaN(salary)) {
+                salaries[withSalary++] = salary;
+            }
+            int joined = columns.joinEpochDay[i];
+            if (joined != EmployeeColumns.NO_DATE) {
+                tenureDays += todayEpochDay - joined;
+                withDate++;
+            }
+        }
+        Arrays.sort(salaries, 0, withSalary);
+        AnalyticsGroupDto group = new AnalyticsGroupDto();
+        group.setId(groups.ids[g]);
+        group.setName(groups.names != null ? groups.names[g] : null);
+        group.setHeadcount(to - from);
+        setSalaryStatistics(group, salaries, withSalary, histogram);
+        setTenure(group, tenureDays, withDate);
+        return group;
+    }
+
+    /**
+     * Sum, average, percentiles and histogram of the first {@code count}
+     * entries of {@code sorted}, which are in ascending order.
+     */
+    private static void setSalaryStatistics(AnalyticsGroupDto group, double[] sorted, int count,
+            Histogram histogram) {
+        if (count == 0) {
+            return;
+        }
+        double sum = 0;
+        int[] bins = new int[histogram.bins];
+        for (int k = 0; k < count; k++) {
+            sum += sorted[k];
+            bins[histogram.binOf(sorted[k])]++;
+        }
+        Map<String, Double> percentiles = new LinkedHashMap<>();
+        for (int p : PERCENTILES) {
+            int rank = (int) Math.ceil(p / 100.0 * count);
+            percentiles.put("p" + p, sorted[Math.max(rank, 1) - 1]);
+        }
+        group.setSalarySum(round(sum));
+        group.setAverageSalary(round(sum / count));
+        group.setSalaryPercentiles(percentiles);
+        group.setSalaryHistogram(bins);
+    }
+
+    private static void setTenure(AnalyticsGroupDto group, long tenureDays, long withDate) {
+        if (withDate > 0) {
+            group.setAverageTenureYears(round(tenureDays / DAYS_PER_YEAR / withDate));
+        }
+    }
+
+    private static double[] presentSalaries(double[] salary) {
+        int count = 0;
+        for (double value : salary) {
+            if (!Double.isNaN(value)) {
+                count++;
+            }
+        }
+        double[] present = new double[count];
+        int k = 0;
+        for (double value : salary) {
+            if (!Double.isNaN(value)) {
+                present[k++] = value;
+            }
+        }
+        return present;
+    }
+
+    /**
+     * Group ids and names with their members: the employee indices of group
+     * {@code g} are {@code members[start[g]]} up to (not including)
+     * {@code members[start[g + 1]]}.
+     */
+    private static Groups groupsOf(EmployeeColumns columns, GroupBy groupBy) {
+        int n = columns.size();
+        switch (groupBy) {
+        case DEPARTMENT: {
+            long[] ids = new long[columns.departmentIds.length];
+            for (int g = 0; g < ids.length; g++) {
+                ids[g] = columns.departmentIds[g];
+            }
+            return byEmployeeRows(ids, columns.departmentNames, singleGroupRows(columns.deptIdx));
+        }
+        case MANAGER: {
+            // one group per employee with reportees, in id order
+            int[] groupOfManager = new int[n];
+            Arrays.fill(groupOfManager, EmployeeColumns.NONE);
+            for (int i = 0; i < n; i++) {
+                if (columns.managerIdx[i] != EmployeeColumns.NONE) {
+                    groupOfManager[columns.managerIdx[i]] = 0;
+                }
+            }
+            List<Long> managerIds = new ArrayList<>();
+            for (int m = 0; m < n; m++) {
+                if (groupOfManager[m] != EmployeeColumns.NONE) {
+                    groupOfManager[m] = managerIds.size();
+                    managerIds.add(columns.ids[m]);
+                }
+            }
+            int[] groupOf = new int[n];
+            for (int i = 0; i < n; i++) {
+                int manager = columns.managerIdx[i];
+                groupOf[i] = manager != EmployeeColumns.NONE ? groupOfManager[manager] : EmployeeColumns.NONE;
+            }
+            long[] ids = managerIds.stream().mapToLong(Long::longValue).toArray();
+            return byEmployeeRows(ids, null, singleGroupRows(groupOf));
+        }
+        case PROJECT: {
+            long[] ids = new long[columns.projectIds.length];
+            for (int g = 0; g < ids.length; g++) {
+                ids[g] = columns.projectIds[g];
+            }
+            return byEmployeeRows(ids, columns.projectNames,
+                    new Rows(columns.projectStart, columns.projectIdx));
+        }
+        default:
+            throw new IllegalArgumentException("Unknown grouping " + groupBy);
+        }
+    }
+
+    /**
+     * Compressed rows for at most one group per employee: employees without
+     * a group ({@link EmployeeColumns#NONE}) get an empty row.
+     */
+    private static Rows singleGroupRows(int[] groupOf) {
+        int[] rowStart = new int[groupOf.length + 1];
+        int[] rowGroups = new int[groupOf.length];
+        int count = 0;
+        for (int i = 0; i < groupOf.length; i++) {
+            if (groupOf[i] != EmployeeColumns.NONE) {
+                rowGroups[count++] = groupOf[i];
+            }
+            rowStart[i + 1] = count;
+        }
+        return new Rows(rowStart, rowGroups);
+    }
+
+    /**
+     * Transposes employee to group rows into group to employee rows with a
+     * counting sort, keeping employees in index order within each group.
+     */
+    private static Groups byEmployeeRows(long[] ids, String[] names, Rows rows) {
+        int[] rowStart = rows.start;
+        int[] rowGroups = rows.groups;
+        int n = rowStart.length - 1;
+        int[] start = new int[ids.length + 1];
+        for (int i = 0; i < n; i++) {
+            for (int r = rowStart[i]; r < rowStart[i + 1]; r++) {
+                start[rowGroups[r] + 1]++;
+            }
+        }
+        for (int g = 0; g < ids.length; g++) {
+            start[g + 1] += start[g];
+        }
+        int[] next = Arrays.copyOf(start, ids.length);
+        int[] members = new int[start[ids.length]];
+        for (int i = 0; i < n; i++) {
+            for (int r = rowStart[i]; r < rowStart[i + 1]; r++) {
+                members[next[rowGroups[r]]++] = i;
+            }
+        }
+        return new Groups(ids, names, start, members);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+    private static final class Groups {
+
+        private final long[] ids;
+        private final String[] names;
+        private final int[] start;
+        private final int[] members;
+
+        private Groups(long[] ids, String[] names, int[] start, int[] members) {
+            this.ids = ids;
+            this.names = names;
+            this.start = start;
+            this.members = members;
+        }
+
+    }
+
+    private static final class Rows {
+
+        private final int[] start;
+        private final int[] groups;
+
+        private Rows(int[] start, int[] groups) {
+            this.start = start;
+            this.groups = groups;
+        }
+
+    }
+
+    private static final class Histogram {
+
+        private final double min;
+        private final double width;
+        private final int bins;
+
+        private Histogram(double min, double width, int bins) {
+            this.min = min;
+            this.width = width;
+            this.bins = bins;
+        }
+
+        private int binOf(double value) {
+            return width > 0 ? Math.min((int) ((value - min) / width), bins - 1) : 0;
+        }
+
+    }
+
+}
@@ -0,0 +1,63 @@
+package com.crm.analytics;
+
+/**
+ * Column-oriented, immutable copy of the employee attributes analytics run
+ * over. Employee {@code i} is the {@code i}-th entry of every column, in id
+ * order; departments, managers and projects are indices rather than ids, so
+ * grouping is array indexing.
+ *
+ * Missing values are encoded in band: {@link #NONE} for a missing index,
+ * {@code NaN} for a missing salary and {@link #NO_DATE} for a missing date
+ * of joining. Projects are stored in compressed rows: the projects of
+ * employee {@code i} are {@code projectIdx[projectStart[i]]} up to (not
+ * including) {@code projectIdx[projectStart[i + 1]]}.
+ *
+ * Arrays are shared, not copied; nothing may write to them once built.
+ */
+public final class EmployeeColumns {
+
+    public static final int NONE = -1;
+    public static final int NO_DATE = Integer.MIN_VALUE;
+
+    final long builtAt;
+    final long[] ids;
+    final int[] deptIdx;
+    final double[] salary;
+    final int[] joinEpochDay;
+    final int[] managerIdx;
+    final int[] projectStart;
+    final int[] projectIdx;
+    final int[] departmentIds;
+    final String[] departmentNames;
+    final int[] projectIds;
+    final String[] projectNames;
+
+    EmployeeColumns(long builtAt, long[] ids, int[] deptIdx, double[] salary, int[] joinEpochDay, int[] managerIdx,
+            int[] projectStart, int[] projectIdx, int[] departmentIds, String[] departmentNames, int[] projectIds,
+            String[] projectNames) {
+        this.builtAt = builtAt;
+        this.ids = ids;
+        this.deptIdx = deptIdx;
+        this.salary = salary;
+        this.joinEpochDay = joinEpochDay;
+        this.managerIdx = managerIdx;
+        this.projectStart = projectStart;
+        this.projectIdx = projectIdx;
+        this.departmentIds = departmentIds;
+        this.departmentNames = departmentNames;
+        this.projectIds = projectIds;
+        this.projectNames = projectNames;
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    /**
+     * When the snapshot was read, in epoch milliseconds.
+     */
+    public long getBuiltAt() {
+        return builtAt;
+    }
+
+}
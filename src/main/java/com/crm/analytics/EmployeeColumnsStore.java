@@ -0,0 +1,187 @@
+package com.crm.analytics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.crm.entity.Department;
+import com.crm.entity.Project;
+import com.crm.repository.DepartmentRepository;
+import com.crm.repository.EmployeeRepository;
+import com.crm.repository.ProjectRepository;
+
+/**
+ * Holds the current {@link EmployeeColumns} snapshot and rebuilds it every
+ * {@code config.analytics.refreshMillis}.
+ *
+ * A build streams scalar columns out of {@link EmployeeRepository} in one
+ * read-only transaction, which the routing data source sends to a replica,
+ * so analytics never aggregate on the primary. The new snapshot replaces
+ * the old one in a single reference write; requests keep computing on the
+ * snapshot they started with. The first request before the first scheduled
+ * build builds it itself.
+ */
+@Component
+public class EmployeeColumnsStore {
+
+    private static final Logger LOG = LogManager.getLogger(EmployeeColumnsStore.class);
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final EmployeeRepository employeeRepository;
+    private final DepartmentRepository departmentRepository;
+    private final ProjectRepository projectRepository;
+    private final TransactionTemplate readOnlyTransaction;
+
+    private volatile EmployeeColumns current;
+
+    public EmployeeColumnsStore(EmployeeRepository employeeRepository, DepartmentRepository departmentRepository,
+            ProjectRepository projectRepository, PlatformTransactionManager transactionManager) {
+        this.employeeRepository = employeeRepository;
+        this.departmentRepository = departmentRepository;
+        this.projectRepository = projectRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * The current snapshot, built on the calling thread if there is none yet.
+     */
+    public EmployeeColumns get() {
+        EmployeeColumns columns = current;
+        if (columns == null) {
+            synchronized (this) {
+                columns = current;
+                if (columns == null) {
+                    columns = build();
+                    current = columns;
+                }
+            }
+        }
+        return columns;
+    }
+
+    /**
+     * Replaces the snapshot. A failed build keeps the previous one.
+     */
+    @Scheduled(fixedDelayString = "${config.analytics.refreshMillis}",
+            initialDelayString = "${config.analytics.initialDelayMillis}")
+    public void refresh() {
+        try {
+            EmployeeColumns columns = build();
+            current = columns;
+        } catch (RuntimeException e) {
+            LOG.warn("Employee analytics snapshot refresh failed, keeping the previous one: {}", e.getMessage());
+        }
+    }
+
+    EmployeeColumns build() {
+        long start = System.nanoTime();
+        long builtAt = System.currentTimeMillis();
+        EmployeeColumns columns = readOnlyTransaction.execute(status -> {
+            List<Department> departments = new ArrayList<>(departmentRepository.findAll());
+            departments.sort(Comparator.comparing(Department::getId));
+            int[] departmentIds = new int[departments.size()];
+            String[] departmentNames = new String[departments.size()];
+            Map<Integer, Integer> departmentIndex = new HashMap<>();
+            for (int i = 0; i < departmentIds.length; i++) {
+                departmentIds[i] = departments.get(i).getId();
+                departmentNames[i] = departments.get(i).getName();
+                departmentIndex.put(departmentIds[i], i);
+            }
+            List<Project> projects = new ArrayList<>(projectRepository.findAll());
+            projects.sort(Comparator.comparing(Project::getId));
+            int[] projectIds = new int[projects.size()];
+            String[] projectNames = new String[projects.size()];
+            Map<Integer, Integer> projectIndex = new HashMap<>();
+            for (int i = 0; i < projectIds.length; i++) {
+                projectIds[i] = projects.get(i).getId();
+                projectNames[i] = projects.get(i).getName();
+                projectIndex.put(projectIds[i], i);
+            }
+
+            int size = 0;
+            long[] ids = new long[INITIAL_CAPACITY];
+            int[] deptIdx = new int[INITIAL_CAPACITY];
+            double[] salary = new double[INITIAL_CAPACITY];
+            int[] joinEpochDay = new int[INITIAL_CAPACITY];
+            long[] managerIds = new long[INITIAL_CAPACITY];
+            try (Stream<Object[]> rows = employeeRepository.streamAnalyticsColumns()) {
+                for (Object[] row : (Iterable<Object[]>) rows::iterator) {
+                    if (size == ids.length) {
+                        int capacity = size * 2;
+                        ids = Arrays.copyOf(ids, capacity);
+                        deptIdx = Arrays.copyOf(deptIdx, capacity);
+                        salary = Arrays.copyOf(salary, capacity);
+                        joinEpochDay = Arrays.copyOf(joinEpochDay, capacity);
+                        managerIds = Arrays.copyOf(managerIds, capacity);
+                    }
+                    ids[size] = ((Number) row[0]).longValue();
+                    deptIdx[size] = row[1] != null
+                            ? departmentIndex.getOrDefault(((Number) row[1]).intValue(), EmployeeColumns.NONE)
+                            : EmployeeColumns.NONE;
+                    salary[size] = row[2] != null ? ((Number) row[2]).doubleValue() : Double.NaN;
+                    joinEpochDay[size] = row[3] != null
+                            ? (int) new java.sql.Date(((java.util.Date) row[3]).getTime()).toLocalDate().toEpochDay()
+                            : EmployeeColumns.NO_DATE;
+                    managerIds[size] = row[4] != null ? ((Number) row[4]).longValue() : 0L;
+                    size++;
+                }
+            }
+            ids = Arrays.copyOf(ids, size);
+
+            // ids are sorted, so managers resolve to indices by binary search
+            int[] managerIdx = new int[size];
+            for (int i = 0; i < size; i++) {
+                int index = managerIds[i] != 0L ? Arrays.binarySearch(ids, managerIds[i]) : EmployeeColumns.NONE;
+                managerIdx[i] = index >= 0 ? index : EmployeeColumns.NONE;
+            }
+
+            // assignments arrive by employee id, so one pass fills the rows in order
+            int[] projectStart = new int[size + 1];
+            int[] projectIdx = new int[INITIAL_CAPACITY];
+            int assignments = 0;
+            int employee = 0;
+            try (Stream<Object[]> rows = employeeRepository.streamProjectAssignments()) {
+                for (Object[] row : (Iterable<Object[]>) rows::iterator) {
+                    long employeeId = ((Number) row[0]).longValue();
+                    Integer project = projectIndex.get(((Number) row[1]).intValue());
+                    while (employee < size && ids[employee] < employeeId) {
+                        projectStart[++employee] = assignments;
+                    }
+                    if (project == null || employee == size || ids[employee] != employeeId) {
+                        // inserted after the employee scan; picked up by the next refresh
+                        continue;
+                    }
+                    if (assignments == projectIdx.length) {
+                        projectIdx = Arrays.copyOf(projectIdx, assignments * 2);
+                    }
+                    projectIdx[assignments++] = project;
+                }
+            }
+            while (employee < size) {
+                projectStart[++employee] = assignments;
+            }
+
+            return new EmployeeColumns(builtAt, ids, Arrays.copyOf(deptIdx, size), Arrays.copyOf(salary, size),
+                    Arrays.copyOf(joinEpochDay, size), managerIdx, projectStart, Arrays.copyOf(projectIdx, assignments),
+                    departmentIds, departmentNames, projectIds, projectNames);
+        });
+        LOG.info("Built employee analytics snapshot of {} employees in {} ms", columns.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return columns;
+    }
+
+}
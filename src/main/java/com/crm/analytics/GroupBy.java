@@ -0,0 +1,23 @@
+package com.crm.analytics;
+
+/**
+ * How employee analytics are grouped.
+ */
+public enum GroupBy {
+
+    /**
+     * By department; employees without one are only in the total.
+     */
+    DEPARTMENT,
+
+    /**
+     * By manager, one group per employee with reportees.
+     */
+    MANAGER,
+
+    /**
+     * By project; an employee on several projects counts in each of them.
+     */
+    PROJECT
+
+}
@@ -0,0 +1,189 @@
+package com.crm.aspect;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import com.crm.diagnostics.RequestTimings;
+import com.crm.diagnostics.RequestTimings.Phase;
+import com.crm.dto.ResponseDto;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Records latency, errors and result sizes for controller, service and
+ * repository calls.
+ *
+ * Meters are tagged with the layer, the declaring class (the repository
+ * interface for Spring Data proxies) and the method name, and are created once
+ * per component class and method and cached so the per-call overhead is a map
+ * lookup and a clock read. The class is part of the key because inherited
+ * methods such as {@code CrudRepository.findAll} are the same {@link Method}
+ * for every repository.
+ */
+@Aspect
+@Component
+public class MetricsAspect {
+
+    static final String TIMER_NAME = "crm.method.latency";
+    static final String ERROR_COUNTER_NAME = "crm.method.errors";
+    static final String RESULT_SIZE_NAME = "crm.method.result.size";
+
+    private final MeterRegistry registry;
+    private final ClassValue<Map<Method, MethodMeters>> meters = new ClassValue<>() {
+        @Override
+        protected Map<Method, MethodMeters> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    public MetricsAspect(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Pointcut("within(com.crm.controller..*)")
+    public void controllerMethods() {
+    }
+
+    @Pointcut("within(com.crm.service..*)")
+    public void serviceMethods() {
+    }
+
+    @Pointcut("execution(public * *(..)) && this(org.springframework.data.repository.Repository)")
+    public void repositoryMethods() {
+    }
+
+    @Around("controllerMethods()")
+    public Object timeController(ProceedingJoinPoint joinPoint) throws Throwable {
+        return record(joinPoint, "controller", Phase.CONTROLLER);
+    }
+
+    @Around("serviceMethods()")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return record(joinPoint, "service", Phase.SERVICE);
+    }
+
+    @Around("repositoryMethods()")
+    public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return record(joinPoint, "repository", null);
+    }
+
+    /**
+     * Times the call and, for requests with debug timing enabled, also adds the
+     * duration to the given {@link RequestTimings} phase.
+     */
+    private Object record(ProceedingJoinPoint joinPoint, String layer, Phase phase) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        MethodMeters methodMeters = meters.get(joinPoint.getThis().getClass()).computeIfAbsent(method,
+                m -> new MethodMeters(layer, componentName(joinPoint), m.getName()));
+        long start = System.nanoTime();
+        try {
+            Object result = joinPoint.proceed();
+            long elapsed = System.nanoTime() - start;
+            methodMeters.success.record(elapsed, TimeUnit.NANOSECONDS);
+            if (phase != null) {
+                RequestTimings.record(phase, elapsed);
+            }
+            int size = resultSize(result);
+            if (size >= 0) {
+                methodMeters.resultSize.record(size);
+            }
+            return result;
+        } catch (Throwable ex) {
+            methodMeters.failure.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            Counter.builder(ERROR_COUNTER_NAME)
+                    .tag("layer", methodMeters.layer)
+                    .tag("class", methodMeters.component)
+                    .tag("method", methodMeters.method)
+                    .tag("exception", ex.getClass().getSimpleName())
+                    .register(registry)
+                    .increment();
+            throw ex;
+        }
+    }
+
+    /**
+     * Resolves a readable component name: the repository interface for Spring
+     * Data proxies, the user class otherwise.
+     */
+    private static String componentName(ProceedingJoinPoint joinPoint) {
+        Object proxy = joinPoint.getThis();
+        for (Class<?> candidate : AopProxyUtils.proxiedUserInterfaces(proxy)) {
+            if (candidate.getName().startsWith("com.crm.")) {
+                return candidate.getSimpleName();
+            }
+        }
+        return AopUtils.getTargetClass(joinPoint.getTarget()).getSimpleName();
+    }
+
+    private static int resultSize(Object result) {
+        if (result instanceof ResponseEntity<?> entity) {
+            if (entity.getBody() instanceof ResponseDto dto && dto.getCount() != null) {
+                return dto.getCount();
+            }
+            return -1;
+        }
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        return -1;
+    }
+
+    private class MethodMeters {
+
+        private final String layer;
+        private final String component;
+        private final String method;
+        private final Timer success;
+        private final Timer failure;
+        private final DistributionSummary resultSize;
+
+        MethodMeters(String layer, String component, String method) {
+            this.layer = layer;
+            this.component = component;
+            this.method = method;
+            this.success = timer("success");
+            this.failure = timer("error");
+            this.resultSize = DistributionSummary.builder(RESULT_SIZE_NAME)
+                    .description("Number of items returned")
+                    .tag("layer", layer)
+                    .tag("class", component)
+                    .tag("method", method)
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .register(registry);
+        }
+
+        private Timer timer(String outcome) {
+            return Timer.builder(TIMER_NAME)
+                    .description("Latency of controller, service and repository calls")
+                    .tag("layer", layer)
+                    .tag("class", component)
+                    .tag("method", method)
+                    .tag("outcome", outcome)
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .publishPercentileHistogram()
+                    .register(registry);
+        }
+
+    }
+
+}
@@ -0,0 +1,35 @@
+package com.crm.aspect;
+
+import org.apache.logging.log4j.ThreadContext;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes the outermost service method being executed on the current
+ * thread as {@code serviceMethod} in the log thread context, so that
+ * lower-level diagnostics (e.g. the slow-query log) can attribute SQL to it.
+ */
+@Aspect
+@Component
+public class ServiceMethodContextAspect {
+
+    public static final String SERVICE_METHOD_KEY = "serviceMethod";
+
+    @Around("within(com.crm.service..*)")
+    public Object tagServiceMethod(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (ThreadContext.containsKey(SERVICE_METHOD_KEY)) {
+            return joinPoint.proceed();
+        }
+        ThreadContext.put(SERVICE_METHOD_KEY, AopUtils.getTargetClass(joinPoint.getTarget()).getSimpleName() + "."
+                + joinPoint.getSignature().getName());
+        try {
+            return joinPoint.proceed();
+        } finally {
+            ThreadContext.remove(SERVICE_METHOD_KEY);
+        }
+    }
+
+}
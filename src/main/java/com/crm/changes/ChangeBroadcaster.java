@@ -0,0 +1,291 @@
+package com.crm.changes;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.task.ThreadPoolTaskExecutorBuilder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.crm.dto.ChangeNotificationDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Fans change notifications out to the clients connected to the change
+ * stream.
+ *
+ * Every notification gets an id of the form {@code <epoch>-<sequence>}, where
+ * the epoch identifies this process, and is kept in a replay buffer of the
+ * last {@code config.changeStream.replayCapacity} notifications. A client
+ * reconnecting with Last-Event-ID receives what it missed from that buffer;
+ * a client whose id is from another process, or too far behind, receives a
+ * {@code reset} event and reloads instead. Every connection then receives a
+ * {@code ready} event carrying the current id.
+ *
+ * Each connection has its own bounded queue drained by a small sender pool,
+ * so a slow client never delays publishers or other clients. A connection
+ * whose queue overflows is closed; the client reconnects and resumes from its
+ * last id like any other.
+ */
+@Component
+public class ChangeBroadcaster {
+
+    private static final Logger LOG = LogManager.getLogger(ChangeBroadcaster.class);
+
+    static final String CHANGE_EVENT = "change";
+    static final String READY_EVENT = "ready";
+    static final String RESET_EVENT = "reset";
+
+    private static final Event HEARTBEAT = new Event(-1, null, null, null);
+
+    private final ObjectMapper objectMapper;
+    private final ThreadPoolTaskExecutor sender;
+    private final int bufferSize;
+    private final int replayCapacity;
+    private final int maxConnections;
+    private final long timeoutMillis;
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+    private final Set<Connection> connections = ConcurrentHashMap.newKeySet();
+    // guards sequence and replay, so that a subscriber's replay and the live
+    // events that follow it are enqueued without gaps or duplicates
+    private final Object lock = new Object();
+    private final ArrayDeque<Event> replay = new ArrayDeque<>();
+    private long sequence;
+
+    public ChangeBroadcaster(ObjectMapper objectMapper,
+            ObjectProvider<ThreadPoolTaskExecutorBuilder> executorBuilder,
+            @Value("${config.changeStream.senderThreads}") int senderThreads,
+            @Value("${config.changeStream.bufferSize}") int bufferSize,
+            @Value("${config.changeStream.replayCapacity}") int replayCapacity,
+            @Value("${config.changeStream.maxConnections}") int maxConnections,
+            @Value("${config.changeStream.timeoutMillis}") long timeoutMillis) {
+        this.objectMapper = objectMapper;
+        this.bufferSize = bufferSize;
+        this.replayCapacity = replayCapacity;
+        this.maxConnections = maxConnections;
+        this.timeoutMillis = timeoutMillis;
+        this.sender = executorBuilder.getIfAvailable(ThreadPoolTaskExecutorBuilder::new)
+                .corePoolSize(senderThreads)
+                .maxPoolSize(senderThreads)
+                .threadNamePrefix("change-stream-")
+                .build();
+        this.sender.setDaemon(true);
+        this.sender.initialize();
+    }
+
+    /**
+     * Opens a stream for a client.
+     *
+     * @param lastEventId the id of the last event the client received, or null
+     * @return the emitter to return from the handler, or null when
+     *         {@code config.changeStream.maxConnections} are already open
+     */
+    public SseEmitter subscribe(String lastEventId) {
+        if (connections.size() >= maxConnections) {
+            LOG.warn("Rejecting change stream subscription, {} connections open", connections.size());
+            return null;
+        }
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Connection connection = new Connection(emitter);
+        emitter.onCompletion(connection::close);
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(error -> connection.close());
+        synchronized (lock) {
+            catchUp(connection, lastEventId);
+            connections.add(connection);
+        }
+        return emitter;
+    }
+
+    /**
+     * Sends a notification to every connected client.
+     */
+    public void publish(ChangeNotificationDto notification) {
+        String data;
+        try {
+            data = objectMapper.writeValueAsString(notification);
+        } catch (JsonProcessingException e) {
+            LOG.warn("Could not serialize change notification {}", notification, e);
+            return;
+        }
+        synchronized (lock) {
+            sequence++;
+            Event event = new Event(sequence, epoch + "-" + sequence, CHANGE_EVENT, data);
+            replay.addLast(event);
+            if (replay.size() > replayCapacity) {
+                replay.removeFirst();
+            }
+            for (Connection connection : connections) {
+                connection.enqueue(event);
+            }
+        }
+    }
+
+    /**
+     * Keeps idle connections open through proxies and detects clients that
+     * went away without closing the connection.
+     */
+    @Scheduled(fixedDelayString = "${config.changeStream.heartbeatMillis}")
+    public void heartbeat() {
+        for (Connection connection : connections) {
+            connection.enqueue(HEARTBEAT);
+        }
+    }
+
+    public int getConnectionCount() {
+        return connections.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (Connection connection : connections) {
+            connection.emitter.complete();
+        }
+        sender.shutdown();
+    }
+
+    /**
+     * Enqueues the events a reconnecting client missed, or a reset when they
+     * are no longer available, followed by the ready event. Called with the
+     * lock held.
+     */
+    private void catchUp(Connection connection, String lastEventId) {
+        String currentId = epoch + "-" + sequence;
+        if (lastEventId != null && !lastEventId.isBlank()) {
+            long lastSequence = sequenceOf(lastEventId);
+            long oldestAvailable = replay.isEmpty() ? sequence + 1 : replay.peekFirst().sequence;
+            long missed = sequence - lastSequence;
+            if (lastSequence < 0 || missed < 0 || lastSequence + 1 < oldestAvailable || missed >= bufferSize - 1) {
+                LOG.debug("Cannot resume change stream from {}, sending reset", lastEventId);
+                connection.enqueue(new Event(sequence, currentId, RESET_EVENT, "{}"));
+            } else {
+                for (Event event : replay) {
+                    if (event.sequence > lastSequence) {
+                        connection.enqueue(event);
+                    }
+                }
+            }
+        }
+        connection.enqueue(new Event(sequence, currentId, READY_EVENT, "{}"));
+    }
+
+    /**
+     * The sequence of an id issued by this process, or -1.
+     */
+    private long sequenceOf(String eventId) {
+        int separator = eventId.lastIndexOf('-');
+        if (separator < 0 || !eventId.substring(0, separator).equals(epoch)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(eventId.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * An event as sent on the stream, with its data already rendered as JSON.
+     */
+    private static final class Event {
+
+        private final long sequence;
+        private final String id;
+        private final String name;
+        private final String data;
+
+        private Event(long sequence, String id, String name, String data) {
+            this.sequence = sequence;
+            this.id = id;
+            this.name = name;
+            this.data = data;
+        }
+
+    }
+
+    /**
+     * One client: its emitter and the events waiting to be sent to it. At most
+     * one sender thread drains a connection at a time.
+     */
+    private final class Connection {
+
+        private final SseEmitter emitter;
+        private final ArrayBlockingQueue<Event> queue = new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean overflowed;
+        private volatile boolean closed;
+
+        private Connection(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        private void enqueue(Event event) {
+            if (closed || overflowed) {
+                return;
+            }
+            if (!queue.offer(event)) {
+                LOG.debug("Change stream buffer of {} events overflowed, closing connection", bufferSize);
+                overflowed = true;
+                queue.clear();
+            }
+            if (draining.compareAndSet(false, true)) {
+                sender.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                while (!closed) {
+                    if (overflowed) {
+                        close();
+                        emitter.complete();
+                        return;
+                    }
+                    Event event = queue.poll();
+                    if (event == null) {
+                        draining.set(false);
+                        // an event enqueued after the poll may have seen draining still set
+                        if (queue.isEmpty() && !overflowed || !draining.compareAndSet(false, true)) {
+                            return;
+                        }
+                        continue;
+                    }
+                    send(event);
+                }
+            } catch (IOException | IllegalStateException e) {
+                // the client went away; the container reports the error to the emitter
+                LOG.debug("Change stream connection closed: {}", e.getMessage());
+                close();
+            }
+        }
+
+        private void send(Event event) throws IOException {
+            if (event == HEARTBEAT) {
+                emitter.send(SseEmitter.event().comment("heartbeat"));
+            } else {
+                emitter.send(SseEmitter.event().id(event.id).name(event.name).data(event.data));
+            }
+        }
+
+        private void close() {
+            closed = true;
+            connections.remove(this);
+        }
+
+    }
+
+}
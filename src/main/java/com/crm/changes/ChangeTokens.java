@@ -0,0 +1,33 @@
+package com.crm.changes;
+
+import java.util.Date;
+
+/**
+ * Opaque delta-sync tokens. A token encodes the time up to which a client has
+ * seen changes; clients only store it and send it back.
+ */
+public final class ChangeTokens {
+
+    private ChangeTokens() {
+    }
+
+    public static String encode(Date time) {
+        return Long.toString(time.getTime(), Character.MAX_RADIX);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the token was not issued by {@link #encode(Date)}
+     */
+    public static Date decode(String token) {
+        try {
+            long millis = Long.parseLong(token, Character.MAX_RADIX);
+            if (millis < 0) {
+                throw new IllegalArgumentException("Invalid change token: " + token);
+            }
+            return new Date(millis);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid change token: " + token, e);
+        }
+    }
+
+}
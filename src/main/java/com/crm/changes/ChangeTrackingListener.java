@@ -0,0 +1,168 @@
+package com.crm.changes;
+
+import java.util.Date;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.crm.dto.ChangeNotificationDto;
+import com.crm.entity.ChangeTombstone;
+import com.crm.entity.Department;
+import com.crm.entity.Employee;
+import com.crm.entity.EmployeeProject;
+import com.crm.entity.PerformanceReview;
+import com.crm.entity.Project;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import jakarta.persistence.PreRemove;
+
+/**
+ * JPA entity listener of the change-tracked entities.
+ *
+ * Deleting an employee, project assignment or performance review writes a
+ * {@link ChangeTombstone} in the same transaction; inserts and updates are
+ * tracked by the entities' updated_at columns. Writing a project assignment or
+ * review also increments the owning employee's version, so the employee's
+ * ETag changes with its aggregate. Every write of these entities, departments
+ * and projects is published on the change stream once the transaction
+ * commits.
+ *
+ * Hibernate obtains the listener from the Spring context, so the entity
+ * manager is resolved lazily to avoid a cycle with the entity manager
+ * factory that creates it.
+ */
+@Component
+public class ChangeTrackingListener {
+
+    private static final Logger LOG = LogManager.getLogger(ChangeTrackingListener.class);
+
+    private final ObjectProvider<EntityManager> entityManager;
+    private final ChangeBroadcaster changeBroadcaster;
+
+    public ChangeTrackingListener(ObjectProvider<EntityManager> entityManager, ChangeBroadcaster changeBroadcaster) {
+        this.entityManager = entityManager;
+        this.changeBroadcaster = changeBroadcaster;
+    }
+
+    @PreRemove
+    public void onRemove(Object entity) {
+        ChangeTombstone tombstone = tombstoneFor(entity);
+        if (tombstone != null) {
+            LOG.debug("Recording tombstone: {}", tombstone);
+            entityManager.getObject().persist(tombstone);
+        }
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void afterWrite(Object entity) {
+        incrementOwnerVersion(entity);
+        publishAfterCommit(notificationFor(entity, false));
+    }
+
+    @PostRemove
+    public void afterRemove(Object entity) {
+        incrementOwnerVersion(entity);
+        publishAfterCommit(notificationFor(entity, true));
+    }
+
+    /**
+     * Increments the version of the employee owning a project assignment or
+     * review. Hibernate applies the increment once per transaction, right
+     * before it completes, however many of the employee's children changed.
+     */
+    private void incrementOwnerVersion(Object entity) {
+        Employee owner = null;
+        if (entity instanceof EmployeeProject assignment) {
+            owner = assignment.getEmployee();
+        } else if (entity instanceof PerformanceReview review) {
+            owner = review.getEmployee();
+        }
+        if (owner == null) {
+            return;
+        }
+        EntityManager em = entityManager.getObject();
+        if (em.contains(owner)) {
+            em.lock(owner, LockModeType.OPTIMISTIC_FORCE_INCREMENT);
+        }
+    }
+
+    /**
+     * Publishes once the surrounding transaction commits, so that clients
+     * never refetch data that is not visible yet or was rolled back.
+     */
+    private void publishAfterCommit(ChangeNotificationDto notification) {
+        if (notification == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            changeBroadcaster.publish(notification);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                changeBroadcaster.publish(notification);
+            }
+        });
+    }
+
+    private static ChangeTombstone tombstoneFor(Object entity) {
+        Date now = new Date();
+        if (entity instanceof Employee employee) {
+            return new ChangeTombstone(ChangeTombstone.EMPLOYEE, String.valueOf(employee.getId()), employee.getId(),
+                    now);
+        }
+        if (entity instanceof EmployeeProject assignment) {
+            Long employeeId = assignment.getEmployee().getId();
+            return new ChangeTombstone(ChangeTombstone.EMPLOYEE_PROJECT, assignmentId(assignment), employeeId, now);
+        }
+        if (entity instanceof PerformanceReview review) {
+            return new ChangeTombstone(ChangeTombstone.PERFORMANCE_REVIEW, String.valueOf(review.getId()),
+                    review.getEmployee().getId(), now);
+        }
+        return null;
+    }
+
+    private static ChangeNotificationDto notificationFor(Object entity, boolean deleted) {
+        Boolean deletedFlag = deleted ? Boolean.TRUE : null;
+        if (entity instanceof Employee employee) {
+            return new ChangeNotificationDto(ChangeTombstone.EMPLOYEE, String.valueOf(employee.getId()),
+                    employee.getId(), deleted ? null : employee.getVersion(), deletedFlag);
+        }
+        if (entity instanceof EmployeeProject assignment) {
+            return new ChangeNotificationDto(ChangeTombstone.EMPLOYEE_PROJECT, assignmentId(assignment),
+                    assignment.getEmployee().getId(), deleted ? null : versionOf(assignment.getUpdatedAt()),
+                    deletedFlag);
+        }
+        if (entity instanceof PerformanceReview review) {
+            return new ChangeNotificationDto(ChangeTombstone.PERFORMANCE_REVIEW, String.valueOf(review.getId()),
+                    review.getEmployee().getId(), deleted ? null : versionOf(review.getUpdatedAt()), deletedFlag);
+        }
+        if (entity instanceof Department department) {
+            return new ChangeNotificationDto("department", String.valueOf(department.getId()), null, null,
+                    deletedFlag);
+        }
+        if (entity instanceof Project project) {
+            return new ChangeNotificationDto("project", String.valueOf(project.getId()), null, null, deletedFlag);
+        }
+        return null;
+    }
+
+    private static String assignmentId(EmployeeProject assignment) {
+        return assignment.getEmployee().getId() + ":" + assignment.getProject().getId();
+    }
+
+    private static Long versionOf(Date updatedAt) {
+        return updatedAt != null ? updatedAt.getTime() : null;
+    }
+
+}
@@ -0,0 +1,43 @@
+package com.crm.changes;
+
+import java.util.Date;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.crm.repository.ChangeTombstoneRepository;
+
+/**
+ * Deletes tombstones older than the retention period. Clients holding a token
+ * older than that are told to reload instead of syncing.
+ */
+@Component
+public class TombstonePurger {
+
+    private static final Logger LOG = LogManager.getLogger(TombstonePurger.class);
+
+    private final ChangeTombstoneRepository changeTombstoneRepository;
+    private final long retentionMillis;
+
+    public TombstonePurger(ChangeTombstoneRepository changeTombstoneRepository,
+            @Value("${config.deltaSync.tombstoneRetentionMillis}") long retentionMillis) {
+        this.changeTombstoneRepository = changeTombstoneRepository;
+        this.retentionMillis = retentionMillis;
+    }
+
+    @Scheduled(fixedDelayString = "${config.deltaSync.purgeMillis}",
+            initialDelayString = "${config.deltaSync.purgeMillis}")
+    @Transactional
+    public void purge() {
+        Date before = new Date(System.currentTimeMillis() - retentionMillis);
+        int purged = changeTombstoneRepository.deleteByDeletedAtBefore(before);
+        if (purged > 0) {
+            LOG.info("Purged {} change tombstones", purged);
+        }
+    }
+
+}
@@ -0,0 +1,140 @@
+package com.crm.concurrency;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Additive-increase / multiplicative-decrease concurrency limiter.
+ *
+ * The limit grows by one for every successful request that finished under the
+ * latency threshold while the limiter was at least half utilised, and is cut
+ * by the backoff ratio whenever a request is slower than the threshold or
+ * fails for lack of capacity. Requests above the current limit are rejected
+ * before any work is done, which keeps the in-flight count near what the
+ * database can serve.
+ */
+@Component
+public class AdaptiveConcurrencyLimiter implements MeterBinder {
+
+    private static final Logger LOGGER = LogManager.getLogger(AdaptiveConcurrencyLimiter.class);
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+    private volatile double limit;
+
+    public AdaptiveConcurrencyLimiter(
+            @Value("${config.concurrencyLimit.initial}") int initialLimit,
+            @Value("${config.concurrencyLimit.min}") int minLimit,
+            @Value("${config.concurrencyLimit.max}") int maxLimit,
+            @Value("${config.concurrencyLimit.latencyThresholdMillis}") long latencyThresholdMillis,
+            @Value("${config.concurrencyLimit.backoffRatio}") double backoffRatio) {
+        if (minLimit <= 0 || minLimit > maxLimit) {
+            throw new IllegalArgumentException("Concurrency limit bounds must satisfy 0 < min <= max");
+        }
+        if (backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("Backoff ratio must be between 0 and 1");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyThresholdNanos = TimeUnit.MILLISECONDS.toNanos(latencyThresholdMillis);
+        this.backoffRatio = backoffRatio;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    /**
+     * Reserves an in-flight slot if the current limit allows it.
+     *
+     * @return the in-flight count including this request, or -1 if rejected
+     */
+    public int tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                rejected.increment();
+                return -1;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return current + 1;
+            }
+        }
+    }
+
+    /**
+     * Releases a slot and feeds the observed latency back into the limit.
+     *
+     * @param rttNanos        time the request held its slot
+     * @param inFlightAtStart value returned by {@link #tryAcquire()}
+     * @param failed          whether the request failed for lack of capacity,
+     *                        e.g. timed out waiting for a pooled connection
+     */
+    public void release(long rttNanos, int inFlightAtStart, boolean failed) {
+        inFlight.decrementAndGet();
+        if (failed || rttNanos > latencyThresholdNanos) {
+            decrease();
+        } else if (inFlightAtStart * 2 >= limit) {
+            increase();
+        }
+    }
+
+    /**
+     * Releases a slot without adjusting the limit, e.g. for requests that were
+     * rejected further down the chain and say nothing about latency.
+     */
+    public void releaseIgnored() {
+        inFlight.decrementAndGet();
+    }
+
+    private synchronized void increase() {
+        limit = Math.min(maxLimit, limit + 1);
+    }
+
+    private synchronized void decrease() {
+        double previous = limit;
+        limit = Math.max(minLimit, limit * backoffRatio);
+        if ((int) previous != (int) limit) {
+            LOGGER.debug("Concurrency limit lowered from {} to {}", (int) previous, (int) limit);
+        }
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("crm.concurrency.limit", this, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current adaptive concurrency limit")
+                .register(registry);
+        Gauge.builder("crm.concurrency.inflight", this, AdaptiveConcurrencyLimiter::getInFlight)
+                .description("Requests currently holding a concurrency slot")
+                .register(registry);
+        FunctionCounter.builder("crm.concurrency.rejected", this, AdaptiveConcurrencyLimiter::getRejectedCount)
+                .description("Requests shed because the concurrency limit was reached")
+                .register(registry);
+    }
+
+}
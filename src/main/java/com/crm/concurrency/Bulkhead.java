@@ -0,0 +1,77 @@
+package com.crm.concurrency;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fixed-size concurrency budget for one class of endpoints.
+ * Callers that cannot obtain a permit within the configured wait time are
+ * rejected, so a flood of heavy requests queues briefly and then sheds
+ * instead of taking threads and connections from other endpoint classes.
+ */
+public class Bulkhead {
+
+    private final String name;
+    private final int maxConcurrent;
+    private final long maxWaitMillis;
+    private final long retryAfterSeconds;
+    private final Semaphore permits;
+
+    public Bulkhead(String name, int maxConcurrent, long maxWaitMillis, long retryAfterSeconds) {
+        if (maxConcurrent <= 0) {
+            throw new IllegalArgumentException("Bulkhead " + name + " must allow at least one concurrent call");
+        }
+        this.name = name;
+        this.maxConcurrent = maxConcurrent;
+        this.maxWaitMillis = maxWaitMillis;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.permits = new Semaphore(maxConcurrent, true);
+    }
+
+    /**
+     * Attempts to enter the bulkhead, waiting at most the configured time.
+     *
+     * @return true if a permit was obtained and {@link #release()} must be called
+     */
+    public boolean tryAcquire() {
+        try {
+            return maxWaitMillis <= 0
+                    ? permits.tryAcquire()
+                    : permits.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    public int getAvailablePermits() {
+        return permits.availablePermits();
+    }
+
+    public int getQueueLength() {
+        return permits.getQueueLength();
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+    @Override
+    public String toString() {
+        return "Bulkhead [name=" + name + ", maxConcurrent=" + maxConcurrent + ", maxWaitMillis=" + maxWaitMillis
+                + ", available=" + permits.availablePermits() + "]";
+    }
+
+}
@@ -0,0 +1,52 @@
+package com.crm.concurrency;
+
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import com.crm.exception.ServiceOverloadedException;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Guards the handlers it is registered for with a {@link Bulkhead}.
+ * The permit is taken before the controller runs and released once the
+ * request has completed, including response serialization. An asynchronous
+ * request keeps the permit it took on its first dispatch until its async
+ * dispatch completes.
+ */
+public class BulkheadInterceptor implements HandlerInterceptor {
+
+    private final Bulkhead bulkhead;
+    private final String permitAttribute;
+
+    public BulkheadInterceptor(Bulkhead bulkhead) {
+        this.bulkhead = bulkhead;
+        this.permitAttribute = BulkheadInterceptor.class.getName() + "." + bulkhead.getName();
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getAttribute(permitAttribute) != null) {
+            return true;
+        }
+        if (!bulkhead.tryAcquire()) {
+            throw new ServiceOverloadedException(bulkhead.getName(), bulkhead.getRetryAfterSeconds());
+        }
+        request.setAttribute(permitAttribute, Boolean.TRUE);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+            Exception ex) {
+        if (request.getAttribute(permitAttribute) != null) {
+            request.removeAttribute(permitAttribute);
+            bulkhead.release();
+        }
+    }
+
+    public Bulkhead getBulkhead() {
+        return bulkhead;
+    }
+
+}
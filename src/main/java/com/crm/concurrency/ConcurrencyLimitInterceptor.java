@@ -0,0 +1,68 @@
+package com.crm.concurrency;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import com.crm.datasource.ConnectionAcquireListener;
+import com.crm.exception.ServiceOverloadedException;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Applies the {@link AdaptiveConcurrencyLimiter} to controller handlers.
+ * Runs ahead of the bulkheads so that excess load is shed before it competes
+ * for any per-endpoint permit.
+ *
+ * Only an exception escaping the handler or a timeout waiting for a pooled
+ * connection counts as a failure. Error responses are not overload signals:
+ * the controllers answer with 500 for requests that merely found nothing, and
+ * lowering the limit on those would shed traffic on an idle database. 503
+ * responses, shed further down the chain, leave the limit as it is.
+ */
+public class ConcurrencyLimitInterceptor implements HandlerInterceptor {
+
+    private static final String START_ATTRIBUTE = ConcurrencyLimitInterceptor.class.getName() + ".start";
+    private static final String IN_FLIGHT_ATTRIBUTE = ConcurrencyLimitInterceptor.class.getName() + ".inFlight";
+
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final long retryAfterSeconds;
+
+    public ConcurrencyLimitInterceptor(AdaptiveConcurrencyLimiter limiter, long retryAfterSeconds) {
+        this.limiter = limiter;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getAttribute(START_ATTRIBUTE) != null) {
+            // async dispatch of a request that already holds its slot
+            return true;
+        }
+        int inFlight = limiter.tryAcquire();
+        if (inFlight < 0) {
+            throw new ServiceOverloadedException("Service", retryAfterSeconds);
+        }
+        request.setAttribute(IN_FLIGHT_ATTRIBUTE, inFlight);
+        request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+            Exception ex) {
+        Object start = request.getAttribute(START_ATTRIBUTE);
+        if (start == null) {
+            return;
+        }
+        request.removeAttribute(START_ATTRIBUTE);
+        if (response.getStatus() == HttpStatus.SERVICE_UNAVAILABLE.value()) {
+            limiter.releaseIgnored();
+            return;
+        }
+        long rtt = System.nanoTime() - (Long) start;
+        boolean failed = ex != null || request.getAttribute(ConnectionAcquireListener.TIMEOUT_ATTRIBUTE) != null;
+        limiter.release(rtt, (Integer) request.getAttribute(IN_FLIGHT_ATTRIBUTE), failed);
+    }
+
+}
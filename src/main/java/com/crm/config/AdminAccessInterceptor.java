@@ -0,0 +1,51 @@
+package com.crm.config;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import com.crm.exception.AdminAccessDeniedException;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Guards the admin endpoints, which can start recordings and rewrite derived
+ * tables, with a shared token: requests must carry it in the
+ * {@code X-Admin-Token} header. Without a configured token the admin
+ * endpoints are disabled altogether. Other admin-only features check the same
+ * token through {@link #isAuthorized(HttpServletRequest)}.
+ */
+public class AdminAccessInterceptor implements HandlerInterceptor {
+
+    public static final String ADMIN_TOKEN_HEADER = "X-Admin-Token";
+
+    private final byte[] token;
+
+    public AdminAccessInterceptor(String token) {
+        this.token = token != null && !token.isBlank() ? token.getBytes(StandardCharsets.UTF_8) : null;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (token == null) {
+            throw new AdminAccessDeniedException("Admin endpoints are disabled; set config.admin.token to enable them");
+        }
+        if (!isAuthorized(request)) {
+            throw new AdminAccessDeniedException("Missing or invalid " + ADMIN_TOKEN_HEADER + " header");
+        }
+        return true;
+    }
+
+    /**
+     * @return whether admin access is enabled and the request carries the token
+     */
+    public boolean isAuthorized(HttpServletRequest request) {
+        String presented = request.getHeader(ADMIN_TOKEN_HEADER);
+        // constant-time comparison, so the token cannot be guessed byte by byte
+        return token != null && presented != null
+                && MessageDigest.isEqual(token, presented.getBytes(StandardCharsets.UTF_8));
+    }
+
+}
@@ -0,0 +1,35 @@
+package com.crm.config;
+
+import java.io.IOException;
+
+import com.crm.diagnostics.RequestTimings;
+import com.crm.diagnostics.RequestTimings.Phase;
+
+/**
+ * Reports the time a message converter spends writing a response body to
+ * {@link RequestTimings}, shared by the timed JSON, CBOR and Smile converters.
+ */
+final class SerializationTiming {
+
+    @FunctionalInterface
+    interface Write {
+        void run() throws IOException;
+    }
+
+    private SerializationTiming() {
+    }
+
+    static void time(Write write) throws IOException {
+        if (RequestTimings.current() == null) {
+            write.run();
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            write.run();
+        } finally {
+            RequestTimings.record(Phase.SERIALIZATION, System.nanoTime() - start);
+        }
+    }
+
+}
@@ -0,0 +1,36 @@
+package com.crm.config;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.crm.analytics.EmployeeColumnsStore;
+import com.crm.changes.ChangeBroadcaster;
+import com.crm.changes.TombstonePurger;
+import com.crm.controller.ChangeStreamController;
+import com.crm.controller.DataController;
+import com.crm.controller.EmployeeController;
+import com.crm.hotkeys.HotKeySnapshotStore;
+import com.crm.hotkeys.HotKeyTracker;
+import com.crm.reviews.ReviewWriteQueue;
+
+/**
+ * Startup tuning for profiles that enable {@code spring.main.lazy-initialization}.
+ */
+@Configuration
+public class StartupConfig {
+
+    /**
+     * Keeps the request path, the scheduled components and the review writer
+     * eager, so that the first request does not pay for their creation and
+     * their schedules and worker start with the application. Everything
+     * else, such as the admin endpoints, is created on first use.
+     */
+    @Bean
+    public static LazyInitializationExcludeFilter eagerRequestPath() {
+        return LazyInitializationExcludeFilter.forBeanTypes(EmployeeController.class, DataController.class,
+                ChangeStreamController.class, HotKeyTracker.class, HotKeySnapshotStore.class, ChangeBroadcaster.class,
+                TombstonePurger.class, ReviewWriteQueue.class, EmployeeColumnsStore.class);
+    }
+
+}
@@ -0,0 +1,29 @@
+package com.crm.config;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+
+import com.crm.diagnostics.RequestTimings;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Cbor converter that reports serialization time to {@link RequestTimings},
+ * like {@link TimedJackson2HttpMessageConverter} does for JSON.
+ */
+public class TimedJackson2CborHttpMessageConverter extends MappingJackson2CborHttpMessageConverter {
+
+    public TimedJackson2CborHttpMessageConverter(ObjectMapper objectMapper) {
+        super(objectMapper);
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        SerializationTiming.time(() -> super.writeInternal(object, type, outputMessage));
+    }
+
+}
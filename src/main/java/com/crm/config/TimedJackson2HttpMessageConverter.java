@@ -0,0 +1,29 @@
+package com.crm.config;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import com.crm.diagnostics.RequestTimings;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * JSON converter that reports serialization time to {@link RequestTimings}.
+ * Replaces the converter Spring Boot would otherwise register.
+ */
+public class TimedJackson2HttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    public TimedJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+        super(objectMapper);
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        SerializationTiming.time(() -> super.writeInternal(object, type, outputMessage));
+    }
+
+}
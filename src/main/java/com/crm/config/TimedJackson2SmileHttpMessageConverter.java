@@ -0,0 +1,29 @@
+package com.crm.config;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import com.crm.diagnostics.RequestTimings;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Smile converter that reports serialization time to {@link RequestTimings},
+ * like {@link TimedJackson2HttpMessageConverter} does for JSON.
+ */
+public class TimedJackson2SmileHttpMessageConverter extends MappingJackson2SmileHttpMessageConverter {
+
+    public TimedJackson2SmileHttpMessageConverter(ObjectMapper objectMapper) {
+        super(objectMapper);
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        SerializationTiming.time(() -> super.writeInternal(object, type, outputMessage));
+    }
+
+}
@@ -0,0 +1,93 @@
+package com.crm.config;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.crm.concurrency.AdaptiveConcurrencyLimiter;
+import com.crm.concurrency.Bulkhead;
+import com.crm.concurrency.BulkheadInterceptor;
+import com.crm.concurrency.ConcurrencyLimitInterceptor;
+import com.crm.datasource.ReadConsistencyInterceptor;
+import com.crm.diagnostics.StatementBudgetInterceptor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Web MVC configuration.
+ *
+ * Registers the adaptive concurrency limiter in front of all API handlers,
+ * followed by the bulkheads that isolate heavy filter queries from the light
+ * lookup endpoints. Delta-sync calls share the filter bulkhead: after a long
+ * gap they scan and map as many employees as a broad filter. The filter
+ * bulkhead should stay below the connection pool size so lookups always find
+ * a free connection. Review submissions bypass
+ * the limiter: the review write queue sheds their load with its own bound,
+ * and their asynchronous acknowledgement would only skew the latencies the
+ * limiter adapts to. Statement budgets are tracked last, around the handler
+ * itself. The admin endpoints are guarded by the admin token instead.
+ */
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private static final Logger LOGGER = LogManager.getLogger(WebConfig.class);
+
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final StatementBudgetInterceptor statementBudgetInterceptor;
+    private final Bulkhead filterBulkhead;
+    private final Bulkhead lookupBulkhead;
+    private final long retryAfterSeconds;
+    private final String adminToken;
+
+    public WebConfig(AdaptiveConcurrencyLimiter concurrencyLimiter,
+            StatementBudgetInterceptor statementBudgetInterceptor,
+            @Value("${config.bulkhead.filter.maxConcurrent}") int filterMaxConcurrent,
+            @Value("${config.bulkhead.filter.maxWaitMillis}") long filterMaxWaitMillis,
+            @Value("${config.bulkhead.lookup.maxConcurrent}") int lookupMaxConcurrent,
+            @Value("${config.bulkhead.lookup.maxWaitMillis}") long lookupMaxWaitMillis,
+            @Value("${config.bulkhead.retryAfterSeconds}") long retryAfterSeconds,
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int connectionPoolSize,
+            @Value("${config.admin.token:}") String adminToken) {
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.statementBudgetInterceptor = statementBudgetInterceptor;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.adminToken = adminToken;
+        this.filterBulkhead = new Bulkhead("filter", filterMaxConcurrent, filterMaxWaitMillis, retryAfterSeconds);
+        this.lookupBulkhead = new Bulkhead("lookup", lookupMaxConcurrent, lookupMaxWaitMillis, retryAfterSeconds);
+        if (filterMaxConcurrent >= connectionPoolSize) {
+            LOGGER.warn("Filter bulkhead ({}) does not leave any of the {} pooled connections reserved for lookups",
+                    filterMaxConcurrent, connectionPoolSize);
+        }
+    }
+
+    /**
+     * JSON converter that also reports serialization time for requests with
+     * debug timing enabled.
+     */
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+        return new TimedJackson2HttpMessageConverter(objectMapper);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ConcurrencyLimitInterceptor(concurrencyLimiter, retryAfterSeconds))
+                .addPathPatterns("/crm/**", "/data/**")
+                .excludePathPatterns("/crm/submitReview");
+        registry.addInterceptor(new BulkheadInterceptor(filterBulkhead))
+                .addPathPatterns("/crm/getFilterEmployees", "/crm/getEmployeeChanges");
+        registry.addInterceptor(new BulkheadInterceptor(lookupBulkhead))
+                .addPathPatterns("/crm/getEmployeeDatabyId/**", "/crm/getReviewTrend", "/data/fetch/**");
+        registry.addInterceptor(new ReadConsistencyInterceptor())
+                .addPathPatterns("/crm/**", "/data/**");
+        registry.addInterceptor(statementBudgetInterceptor)
+                .addPathPatterns("/crm/**", "/data/**");
+        registry.addInterceptor(new AdminAccessInterceptor(adminToken))
+                .addPathPatterns("/admin/**");
+    }
+
+}
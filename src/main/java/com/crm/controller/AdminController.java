@@ -0,0 +1,196 @@
+package com.crm.controller;
+
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.crm.dto.HotKeyDto;
+import com.crm.dto.JfrRecordingDto;
+import com.crm.dto.ResponseDto;
+import com.crm.hotkeys.HotKeyTracker;
+import com.crm.reviews.ReviewRollupStore;
+import com.crm.reviews.ReviewSummaryStore;
+import com.crm.service.JfrRecordingService;
+
+/**
+ * REST Controller for operational endpoints that are not part of the CRM API.
+ * Exposes on-demand Java Flight Recorder recordings, so production hot spots
+ * can be captured without restarting the application, the currently most
+ * requested employees and filters, and maintenance of derived review data.
+ * 
+ * Base Path: /admin
+ * Produces: APPLICATION_JSON
+ * Requires: X-Admin-Token header matching config.admin.token (403 otherwise;
+ * all endpoints answer 403 while no token is configured)
+ * 
+ * @see JfrRecordingService
+ * @see HotKeyTracker
+ * @see ReviewSummaryStore
+ * @see ReviewRollupStore
+ */
+@RequestMapping(path = "/admin", produces = { MediaType.APPLICATION_JSON_VALUE })
+@RestController
+@Validated
+public class AdminController {
+
+    private JfrRecordingService jfrRecordingService;
+    private HotKeyTracker hotKeyTracker;
+    private ReviewSummaryStore reviewSummaryStore;
+    private ReviewRollupStore reviewRollupStore;
+
+    /**
+     * Constructs an AdminController with the required dependencies.
+     * 
+     * @param jfrRecordingService Service controlling on-demand JFR recordings
+     * @param hotKeyTracker Tracker of the most requested employee ids and filters
+     * @param reviewSummaryStore Store maintaining the employee review summaries
+     * @param reviewRollupStore Store maintaining the department review rollups
+     */
+    public AdminController(JfrRecordingService jfrRecordingService, HotKeyTracker hotKeyTracker,
+            ReviewSummaryStore reviewSummaryStore, ReviewRollupStore reviewRollupStore) {
+        this.jfrRecordingService = jfrRecordingService;
+        this.hotKeyTracker = hotKeyTracker;
+        this.reviewSummaryStore = reviewSummaryStore;
+        this.reviewRollupStore = reviewRollupStore;
+    }
+
+    /**
+     * Starts a bounded JFR recording written to a local file.
+     * 
+     * @param durationSeconds Requested duration; 0 or values above the configured
+     *                        maximum use the maximum
+     * @return ResponseEntity containing the started recording
+     * 
+     * HTTP Status:
+     * - 200 OK: Recording started
+     * - 409 CONFLICT: A recording is already running
+     */
+    @PostMapping("/jfr/start")
+    public ResponseEntity<ResponseDto> startRecording(
+            @RequestParam(name = "durationSeconds", defaultValue = "0") long durationSeconds) {
+        JfrRecordingDto recording = jfrRecordingService.start(durationSeconds);
+        if (recording == null) {
+            return response(HttpStatus.CONFLICT, "A JFR recording is already running.", "JFR_RECORDING_RUNNING",
+                    jfrRecordingService.status());
+        }
+        return response(HttpStatus.OK, "JFR recording started.", recording);
+    }
+
+    /**
+     * Stops the running JFR recording and writes it to disk.
+     * 
+     * @return ResponseEntity containing the stopped recording and its file
+     * 
+     * HTTP Status:
+     * - 200 OK: Recording stopped and written
+     * - 404 NOT_FOUND: No recording is running
+     */
+    @PostMapping("/jfr/stop")
+    public ResponseEntity<ResponseDto> stopRecording() {
+        JfrRecordingDto recording = jfrRecordingService.stop();
+        if (recording == null) {
+            return response(HttpStatus.NOT_FOUND, "No JFR recording is running.", "JFR_RECORDING_NOT_RUNNING", null);
+        }
+        return response(HttpStatus.OK, "JFR recording stopped.", recording);
+    }
+
+    /**
+     * Returns the running or most recently finished JFR recording.
+     * 
+     * HTTP Status:
+     * - 200 OK: Recording found
+     * - 404 NOT_FOUND: No recording has been started
+     */
+    @GetMapping("/jfr")
+    public ResponseEntity<ResponseDto> recordingStatus() {
+        JfrRecordingDto recording = jfrRecordingService.status();
+        if (recording == null) {
+            return response(HttpStatus.NOT_FOUND, "No JFR recording has been started.", "JFR_RECORDING_NOT_FOUND",
+                    null);
+        }
+        return response(HttpStatus.OK, "JFR recording status fetched successfully.", recording);
+    }
+
+    /**
+     * Reports the current heavy hitters among requested employee ids and
+     * filter criteria. Counts are count-min sketch estimates (never lower than
+     * the true count) and decay over time.
+     * 
+     * @param limit Maximum number of entries per key type
+     * @return ResponseEntity containing "employees" and "filters" lists, most
+     *         frequent first
+     */
+    @GetMapping("/hotkeys")
+    public ResponseEntity<ResponseDto> hotKeys(@RequestParam(name = "limit", defaultValue = "20") int limit) {
+        int boundedLimit = Math.max(1, limit);
+        List<HotKeyDto> employees = hotKeyTracker.employeeReport(boundedLimit);
+        List<HotKeyDto> filters = hotKeyTracker.filterReport(boundedLimit);
+        Map<String, List<HotKeyDto>> report = new LinkedHashMap<>();
+        report.put("employees", employees);
+        report.put("filters", filters);
+        ResponseEntity<ResponseDto> response = response(HttpStatus.OK, "Hot keys fetched successfully.", report);
+        response.getBody().setCount(employees.size() + filters.size());
+        return response;
+    }
+
+    /**
+     * Rebuilds every employee review summary from the performance reviews.
+     * Summaries are maintained on each review write; this is for populating
+     * the table in an existing database or repairing it.
+     * 
+     * @return ResponseEntity containing the number of summaries written
+     */
+    @PostMapping("/reviewSummaries/rebuild")
+    public ResponseEntity<ResponseDto> rebuildReviewSummaries() {
+        int rebuilt = reviewSummaryStore.rebuild();
+        return response(HttpStatus.OK, "Review summaries rebuilt.", rebuilt);
+    }
+
+    /**
+     * Rebuilds the department review rollups from the performance reviews,
+     * one month per transaction in parallel. Rollups are maintained on each
+     * review write; this populates the table in an existing database, drops
+     * emptied buckets and re-attributes reviews of employees who changed
+     * department.
+     * 
+     * @return ResponseEntity containing the number of rollup rows written
+     */
+    @PostMapping("/reviewRollups/rebuild")
+    public ResponseEntity<ResponseDto> rebuildReviewRollups() {
+        int rebuilt = reviewRollupStore.rebuild();
+        return response(HttpStatus.OK, "Review rollups rebuilt.", rebuilt);
+    }
+
+    /**
+     * Wraps data in the standard ResponseDto of a successful request.
+     */
+    private ResponseEntity<ResponseDto> response(HttpStatus status, String message, Object data) {
+        return response(status, message, null, data);
+    }
+
+    /**
+     * Wraps data in the standard ResponseDto; errorCode is only set on
+     * failure.
+     */
+    private ResponseEntity<ResponseDto> response(HttpStatus status, String message, String errorCode, Object data) {
+        ResponseDto dto = new ResponseDto();
+        dto.setSuccess(status.is2xxSuccessful());
+        dto.setCount(data != null ? 1 : 0);
+        dto.setData(data);
+        dto.setErrorCode(errorCode);
+        dto.setMessage(message);
+        dto.setTimeStamp(new Date());
+        return ResponseEntity.status(status).body(dto);
+    }
+}
@@ -0,0 +1,97 @@
+package com.crm.controller;
+
+import java.util.Date;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.crm.diagnostics.AccessLog;
+import com.crm.diagnostics.StatementBudget;
+import com.crm.dto.EmployeeAnalyticsDto;
+import com.crm.dto.ResponseDto;
+import com.crm.json.JsonConfig;
+import com.crm.service.EmployeeAnalyticsService;
+
+/**
+ * REST Controller for employee headcount, salary and tenure analytics.
+ * Statistics are computed in memory on a periodically refreshed snapshot of
+ * the employee table, so they never run as aggregates on the database.
+ *
+ * Base Path: /crm
+ * Produces: APPLICATION_JSON (default), APPLICATION_CBOR, application/x-jackson-smile
+ *
+ * @see com.crm.analytics.EmployeeColumnsStore
+ */
+@RequestMapping(path = "/crm", produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE,
+        JsonConfig.APPLICATION_SMILE_VALUE })
+@CrossOrigin(origins = "http://localhost:3001", allowedHeaders = "*")
+@RestController
+@Validated
+public class AnalyticsController {
+
+    private EmployeeAnalyticsService employeeAnalyticsService;
+
+    private static final Logger LOGGER = LogManager.getLogger(AnalyticsController.class);
+
+    /**
+     * Constructs an AnalyticsController with the required service dependency.
+     *
+     * @param employeeAnalyticsService Service computing the statistics
+     */
+    public AnalyticsController(EmployeeAnalyticsService employeeAnalyticsService) {
+        this.employeeAnalyticsService = employeeAnalyticsService;
+    }
+
+    /**
+     * Fetches headcount, salary sum, average, percentiles and histogram and
+     * average tenure, for all employees and per group.
+     *
+     * @param groupBy department (default), manager or project
+     * @param bins Optional number of salary histogram bins
+     * @return ResponseEntity containing an EmployeeAnalyticsDto; snapshotAt
+     *         tells how current it is
+     *
+     * HTTP Status:
+     * - 200 OK: Statistics returned
+     * - 400 BAD_REQUEST: Unknown grouping or bin count out of range
+     * - 500 INTERNAL_SERVER_ERROR: Unexpected server error
+     */
+    @GetMapping("/getEmployeeAnalytics")
+    @StatementBudget(10)
+    public ResponseEntity<ResponseDto> fetchEmployeeAnalytics(
+            @RequestParam(name = "groupBy", required = false) String groupBy,
+            @RequestParam(name = "bins", required = false) Integer bins) {
+        try {
+            EmployeeAnalyticsDto analytics = employeeAnalyticsService.getEmployeeAnalytics(groupBy, bins);
+            AccessLog.put("resultCount", analytics.getGroups().size());
+            ResponseDto dto = new ResponseDto();
+            dto.setSuccess(true);
+            dto.setMessage("Employee analytics fetched successfully.");
+            dto.setData(analytics);
+            dto.setCount(analytics.getGroups().size());
+            dto.setTimeStamp(new Date());
+            return ResponseEntity.status(HttpStatus.OK).body(dto);
+        } catch (IllegalArgumentException e) {
+            LOGGER.warn("Invalid analytics request groupBy={} bins={}: {}", groupBy, bins, e.getMessage());
+            return error(HttpStatus.BAD_REQUEST, e.getMessage(), "INVALID_ANALYTICS_REQUEST");
+        } catch (Exception e) {
+            LOGGER.error("Unexpected error while computing employee analytics by {}", groupBy, e);
+            return error(HttpStatus.INTERNAL_SERVER_ERROR,
+                    "An unexpected error occurred while computing employee analytics.", "INTERNAL_SERVER_ERROR");
+        }
+    }
+
+    private static ResponseEntity<ResponseDto> error(HttpStatus status, String message, String errorCode) {
+        return ResponseEntity.status(status).body(new ResponseDto(false, new Date(), 0, message, errorCode, null));
+    }
+
+}
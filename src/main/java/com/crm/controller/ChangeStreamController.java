@@ -0,0 +1,74 @@
+package com.crm.controller;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.crm.changes.ChangeBroadcaster;
+
+/**
+ * Server-sent events stream of employee and reference-data changes, so that
+ * front-ends can refetch what changed instead of polling.
+ *
+ * Base Path: /stream
+ * Produces: TEXT_EVENT_STREAM
+ *
+ * Kept outside /crm and /data: a stream stays open for minutes and must not
+ * hold a concurrency-limit or bulkhead permit while it does.
+ */
+@RequestMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+@CrossOrigin(origins = "http://localhost:3001", allowedHeaders = "*")
+@RestController
+public class ChangeStreamController {
+
+    private ChangeBroadcaster changeBroadcaster;
+    private long retryAfterSeconds;
+
+    /**
+     * Constructs a ChangeStreamController.
+     * 
+     * @param changeBroadcaster Fans change notifications out to the open streams
+     * @param retryAfterSeconds Retry-After sent when no more streams can be opened
+     */
+    public ChangeStreamController(ChangeBroadcaster changeBroadcaster,
+            @Value("${config.bulkhead.retryAfterSeconds}") long retryAfterSeconds) {
+        this.changeBroadcaster = changeBroadcaster;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    /**
+     * Opens a change stream. Each "change" event carries the entity type, id,
+     * owning employee id (for project assignments and reviews), version and a
+     * deleted flag. A "ready" event follows the catch-up; a "reset" event
+     * means the missed changes are no longer available and the client has to
+     * reload. Comments are sent as heartbeats.
+     * 
+     * @param lastEventId Id of the last event received, sent by EventSource
+     *                    clients when they reconnect
+     * @return the event stream
+     * 
+     * HTTP Status:
+     * - 200 OK: Stream opened
+     * - 503 SERVICE_UNAVAILABLE: The maximum number of streams is open
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<SseEmitter> streamChanges(
+            @RequestHeader(name = "Last-Event-ID", required = false) String lastEventId) {
+        SseEmitter emitter = changeBroadcaster.subscribe(lastEventId);
+        if (emitter == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                    .build();
+        }
+        return ResponseEntity.ok().header(HttpHeaders.CACHE_CONTROL, "no-cache").body(emitter);
+    }
+
+}
@@ -11,8 +11,10 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.crm.diagnostics.StatementBudget;
 import com.crm.dto.DropDownDto;
 import com.crm.dto.ResponseDto;
+import com.crm.json.JsonConfig;
 import com.crm.service.DataService;
 
 /**
@@ -22,14 +24,15 @@ import com.crm.service.DataService;
  * All responses are wrapped in ResponseDto for consistent API response structure.
  * 
  * Base Path: /setup
- * Produces: APPLICATION_JSON
+ * Produces: APPLICATION_JSON (default), APPLICATION_CBOR, application/x-jackson-smile
  * Cross-Origin: Enabled for localhost:3001
  * 
  * @see ResponseDto
  * @see DataService
  * @see DropDownDto
  */
-@RequestMapping(path = "/data", produces = { MediaType.APPLICATION_JSON_VALUE })
+@RequestMapping(path = "/data", produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE,
+        JsonConfig.APPLICATION_SMILE_VALUE })
 @CrossOrigin(origins = "http://localhost:3001", allowedHeaders = "*")
 @RestController
 @Validated
@@ -68,6 +71,7 @@ public class DataController {
      * @see ResponseDto
      */
     @GetMapping("/fetch/department")
+    @StatementBudget(2)
     public ResponseEntity<ResponseDto> getDepartments() {
         List<DropDownDto> depDto = dataService.getDepartments();
         ResponseDto dto = new ResponseDto();
@@ -107,6 +111,7 @@ public class DataController {
      * @see ResponseDto
      */
     @GetMapping("/fetch/project")
+    @StatementBudget(10)
     public ResponseEntity<ResponseDto> getProjects() {
         List<DropDownDto> depDto = dataService.getProjects();
         ResponseDto dto = new ResponseDto();
@@ -124,4 +129,4 @@ public class DataController {
             return ResponseEntity.status(HttpStatus.OK).body(dto);
         }
     }
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -6,6 +6,8 @@ import java.util.List;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.json.simple.JSONObject;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -16,10 +18,20 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import com.crm.diagnostics.AccessLog;
+import com.crm.diagnostics.FilterShapes;
+import com.crm.diagnostics.StatementBudget;
+import com.crm.dto.EmployeeChangesDto;
+import com.crm.dto.EmployeeDictionaries;
 import com.crm.dto.EmployeeDto;
+import com.crm.dto.EmployeeFields;
 import com.crm.dto.ResponseDto;
+import com.crm.hotkeys.HotKeyTracker;
+import com.crm.json.JsonConfig;
 import com.crm.service.EmployeeService;
 
 import jakarta.validation.constraints.NotNull;
@@ -31,15 +43,17 @@ import jakarta.validation.constraints.Pattern;
  * All responses are wrapped in ResponseDto for consistent API response structure.
  * 
  * Base Path: /crm
- * Produces: APPLICATION_JSON
+ * Produces: APPLICATION_JSON (default), APPLICATION_CBOR, application/x-jackson-smile
  */
-@RequestMapping(path = "/crm", produces = { MediaType.APPLICATION_JSON_VALUE })
+@RequestMapping(path = "/crm", produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE,
+        JsonConfig.APPLICATION_SMILE_VALUE })
 @CrossOrigin(origins = "http://localhost:3001", allowedHeaders = "*")
 @RestController
 @Validated
 public class EmployeeController {
 
     private EmployeeService employeeService;
+    private HotKeyTracker hotKeyTracker;
 
     private static final Logger LOGGER = LogManager.getLogger(EmployeeController.class);
 
@@ -47,28 +61,48 @@ public class EmployeeController {
      * Constructs an EmployeeController with the required service dependency.
      * 
      * @param employeeService Service layer component for employee operations
+     * @param hotKeyTracker Tracker of the most requested employee ids and filters
      */
-    public EmployeeController(EmployeeService employeeService) {
+    public EmployeeController(EmployeeService employeeService, HotKeyTracker hotKeyTracker) {
         this.employeeService = employeeService;
+        this.hotKeyTracker = hotKeyTracker;
     }
 
     /**
      * Retrieves detailed employee information by their ID.
      * 
+     * The response carries a weak ETag derived from the employee's version,
+     * which changes with the employee and its project assignments and
+     * reviews. A request whose If-None-Match matches is answered with 304
+     * after a single version lookup by primary key.
+     * 
      * @param id The employee ID (must be a positive number)
+     * @param fields Optional comma-separated EmployeeDto properties to return, e.g.
+     *               "name,email,departmentName"; associations backing the other
+     *               properties are not queried. All properties by default
+     * @param webRequest The current request, used for conditional request handling
      * @return ResponseEntity containing employee data or appropriate error response
      * 
      * HTTP Status:
      * - 200 OK: Employee found and returned successfully
-     * - 400 BAD_REQUEST: Invalid ID format or negative ID
+     * - 304 NOT_MODIFIED: If-None-Match matches the employee's current version
+     * - 400 BAD_REQUEST: Invalid ID format, negative ID or unknown field
      * - 404 NOT_FOUND: Employee with given ID doesn't exist
      * - 500 INTERNAL_SERVER_ERROR: Unexpected server error
      */
     @GetMapping("/getEmployeeDatabyId/{id}")
+    @StatementBudget(10)
     public ResponseEntity<ResponseDto> fetchEmployeeData(
-            @NotNull @Pattern(regexp = "^[0-9]+$", message = "ID should be a number") @PathVariable("id") String id) {
-        LOGGER.info("Fetching employee data for ID: {}", id);
+            @NotNull @Pattern(regexp = "^[0-9]+$", message = "ID should be a number") @PathVariable("id") String id,
+            @RequestParam(name = "fields", required = false) String fields, WebRequest webRequest) {
+        AccessLog.put("employeeId", id);
         ResponseDto dto = new ResponseDto();
+        EmployeeFields employeeFields;
+        try {
+            employeeFields = EmployeeFields.parse(fields);
+        } catch (IllegalArgumentException e) {
+            return invalidFields(fields, e);
+        }
         try {
             Long employeeId = Long.parseLong(id);
             if (employeeId <= 0) {
@@ -77,7 +111,14 @@ public class EmployeeController {
                         .body(new ResponseDto(false, new Date(), 0, "employee id must be greater than 0", "BAD_REQUEST",
                                 null));
             }
-            EmployeeDto employeeDto = employeeService.getEmployeesData(employeeId);
+            hotKeyTracker.recordEmployee(employeeId);
+            if (webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+                Long version = employeeService.getEmployeeVersion(employeeId);
+                if (version != null && webRequest.checkNotModified(etagOf(version))) {
+                    return null;
+                }
+            }
+            EmployeeDto employeeDto = employeeService.getEmployeesData(employeeId, employeeFields);
             if (employeeDto == null) {
                 LOGGER.error("Employee not found for ID: {}", id);
                 dto.setSuccess(false);
@@ -86,12 +127,15 @@ public class EmployeeController {
                 dto.setErrorCode("EMPLOYEE_NOT_FOUND");
                 return ResponseEntity.status(HttpStatus.NOT_FOUND).body(dto);
             } else {
-                LOGGER.info("Employee data fetched successfully for ID: {}", id);
                 dto.setSuccess(true);
                 dto.setMessage("Employee data fetched successfully.");
                 dto.setData(employeeDto);
                 dto.setCount(1);
-                return ResponseEntity.status(HttpStatus.OK).body(dto);
+                return ResponseEntity.status(HttpStatus.OK)
+                        .eTag(etagOf(employeeDto.getVersion()))
+                        .cacheControl(CacheControl.noCache())
+                        .varyBy(HttpHeaders.ACCEPT)
+                        .body(dto);
             }
         } catch (NumberFormatException e) {
             LOGGER.error("Invalid ID format: {}", id, e);
@@ -116,24 +160,41 @@ public class EmployeeController {
      *                       - department: List of department names
      *                       - projects: List of project names
      *                       - reviewDate: Review date to filter by
+     * @param normalized When true, employees reference their projects, department
+     *                   and manager by id, and the response carries "projects",
+     *                   "departments" and "managers" dictionaries once
+     * @param fields Optional comma-separated EmployeeDto properties to return;
+     *               associations backing the other properties are not queried.
+     *               All properties by default
      * @return ResponseEntity containing filtered list of employees or appropriate error response
      * 
      * HTTP Status:
      * - 200 OK: Employees found and returned successfully
-     * - 400 BAD_REQUEST: Invalid filter criteria format
+     * - 400 BAD_REQUEST: Invalid filter criteria format or unknown field
      * - 404 NOT_FOUND: No employees match the filter criteria
      * - 500 INTERNAL_SERVER_ERROR: Unexpected server error
      */
     @PostMapping("/getFilterEmployees")
-    public ResponseEntity<ResponseDto> filterEmployees(@RequestBody JSONObject filterCriteria) {
-        LOGGER.info("Fetching all the filtered employees with criteria: {}", filterCriteria);
+    @StatementBudget(8)
+    public ResponseEntity<ResponseDto> filterEmployees(@RequestBody JSONObject filterCriteria,
+            @RequestParam(name = "normalized", defaultValue = "false") boolean normalized,
+            @RequestParam(name = "fields", required = false) String fields) {
+        AccessLog.put("filterShape", FilterShapes.describe(filterCriteria));
+        EmployeeFields employeeFields;
+        try {
+            employeeFields = EmployeeFields.parse(fields);
+        } catch (IllegalArgumentException e) {
+            return invalidFields(fields, e);
+        }
+        hotKeyTracker.recordFilter(filterCriteria);
         ResponseDto dto = new ResponseDto();
         try {
-            List<EmployeeDto> employees = employeeService.getAllEmployeesData(filterCriteria);
-            LOGGER.info("Employees fetched: {}", employees.size());
+            EmployeeDictionaries dictionaries = new EmployeeDictionaries(normalized);
+            List<EmployeeDto> employees = employeeService.getAllEmployeesData(filterCriteria, dictionaries,
+                    employeeFields);
+            AccessLog.put("resultCount", employees.size());
             
             if (employees.isEmpty()) {
-                LOGGER.info("No employees found matching the criteria.");
                 dto.setSuccess(false);
                 dto.setMessage("No employees found matching the criteria.");
                 dto.setErrorCode("NO_EMPLOYEES_FOUND");
@@ -145,6 +206,7 @@ public class EmployeeController {
             dto.setSuccess(true);
             dto.setMessage("Employees fetched successfully.");
             dto.setData(employees);
+            dictionaries.applyTo(dto);
             dto.setCount(employees.size());
             dto.setTimeStamp(new Date());
             return ResponseEntity.status(HttpStatus.OK).body(dto);
@@ -166,4 +228,77 @@ public class EmployeeController {
         }
     }
 
+    /**
+     * Returns the employees changed and deleted since a delta-sync token, so
+     * that clients caching the employee list can stay current without
+     * refetching it.
+     * 
+     * @param since The token returned by the previous call; omit it on the first
+     *              call to obtain a token (the response then has resetRequired set)
+     * @param fields Optional comma-separated EmployeeDto properties to return
+     * @return ResponseEntity containing an EmployeeChangesDto with the modified
+     *         employees, the deleted employee ids and the token for the next call
+     * 
+     * HTTP Status:
+     * - 200 OK: Changes returned; resetRequired means the token was missing or
+     *   expired and the client has to reload its list
+     * - 400 BAD_REQUEST: Malformed token or unknown field
+     * - 500 INTERNAL_SERVER_ERROR: Unexpected server error
+     */
+    @GetMapping("/getEmployeeChanges")
+    @StatementBudget(25)
+    public ResponseEntity<ResponseDto> fetchEmployeeChanges(
+            @RequestParam(name = "since", required = false) String since,
+            @RequestParam(name = "fields", required = false) String fields) {
+        EmployeeFields employeeFields;
+        try {
+            employeeFields = EmployeeFields.parse(fields);
+        } catch (IllegalArgumentException e) {
+            return invalidFields(fields, e);
+        }
+        ResponseDto dto = new ResponseDto();
+        try {
+            EmployeeChangesDto changes = employeeService.getEmployeeChanges(since, employeeFields);
+            AccessLog.put("resultCount", changes.getModified().size() + changes.getDeleted().size());
+            dto.setSuccess(true);
+            dto.setMessage(changes.isResetRequired() ? "Change token missing or expired, reload required."
+                    : "Employee changes fetched successfully.");
+            dto.setData(changes);
+            dto.setCount(changes.getModified().size() + changes.getDeleted().size());
+            dto.setTimeStamp(new Date());
+            return ResponseEntity.status(HttpStatus.OK).body(dto);
+        } catch (IllegalArgumentException e) {
+            LOGGER.warn("Invalid change token: {}", since);
+            dto.setSuccess(false);
+            dto.setMessage(e.getMessage());
+            dto.setErrorCode("INVALID_CHANGE_TOKEN");
+            dto.setTimeStamp(new Date());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(dto);
+        } catch (Exception e) {
+            LOGGER.error("Unexpected error while fetching employee changes since: {}", since, e);
+            dto.setSuccess(false);
+            dto.setMessage("An unexpected error occurred while fetching employee changes.");
+            dto.setErrorCode("INTERNAL_SERVER_ERROR");
+            dto.setTimeStamp(new Date());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(dto);
+        }
+    }
+
+    /**
+     * Weak, because JSON, CBOR and Smile renderings of a version are
+     * equivalent but not byte-identical.
+     */
+    private static String etagOf(Long version) {
+        return "W/\"" + version + "\"";
+    }
+
+    /**
+     * Builds the 400 response for a fields parameter naming an unknown property.
+     */
+    private static ResponseEntity<ResponseDto> invalidFields(String fields, IllegalArgumentException e) {
+        LOGGER.warn("Invalid fields parameter: {}", fields);
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(new ResponseDto(false, new Date(), 0, e.getMessage(), "INVALID_FIELDS", null));
+    }
+
 }
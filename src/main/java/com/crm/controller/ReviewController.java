@@ -0,0 +1,185 @@
+package com.crm.controller;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.crm.diagnostics.AccessLog;
+import com.crm.diagnostics.StatementBudget;
+import com.crm.dto.ResponseDto;
+import com.crm.dto.ReviewReceiptDto;
+import com.crm.dto.ReviewSubmissionDto;
+import com.crm.dto.ReviewTrendDto;
+import com.crm.exception.ResourceNotFoundException;
+import com.crm.exception.ServiceOverloadedException;
+import com.crm.json.JsonConfig;
+import com.crm.reviews.AckMode;
+import com.crm.service.ReviewService;
+
+/**
+ * REST Controller for submitting performance reviews and reading review
+ * score trends.
+ * Reviews are validated, queued and written in JDBC batches in the
+ * background, so that review season bursts do not turn into one transaction
+ * per submission. Trends are read from department/month rollups maintained
+ * with every review write.
+ *
+ * Base Path: /crm
+ * Produces: APPLICATION_JSON (default), APPLICATION_CBOR, application/x-jackson-smile
+ *
+ * @see com.crm.reviews.ReviewWriteQueue
+ * @see com.crm.reviews.ReviewRollupStore
+ */
+@RequestMapping(path = "/crm", produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE,
+        JsonConfig.APPLICATION_SMILE_VALUE })
+@CrossOrigin(origins = "http://localhost:3001", allowedHeaders = "*")
+@RestController
+@Validated
+public class ReviewController {
+
+    private ReviewService reviewService;
+
+    private static final Logger LOGGER = LogManager.getLogger(ReviewController.class);
+
+    /**
+     * Constructs a ReviewController with the required service dependency.
+     *
+     * @param reviewService Service validating and queueing review submissions
+     */
+    public ReviewController(ReviewService reviewService) {
+        this.reviewService = reviewService;
+    }
+
+    /**
+     * Submits a performance review for an employee.
+     *
+     * @param review JSON object with employeeId, score (0.00 to 0.99),
+     *               optional reviewDate (yyyy-MM-dd, today by default) and
+     *               optional comments
+     * @param ack ACCEPTED (default) to be acknowledged once the review is
+     *            queued; FLUSHED to wait until it is written, which returns the
+     *            review id. The wait is asynchronous and holds no request
+     *            thread.
+     * @return ResponseEntity containing a ReviewReceiptDto
+     *
+     * HTTP Status:
+     * - 201 CREATED: Review written (FLUSHED)
+     * - 202 ACCEPTED: Review queued (ACCEPTED, or FLUSHED when the write did not
+     *   complete within config.reviewWrites.ackTimeoutMillis or too many
+     *   FLUSHED submissions are already waiting)
+     * - 400 BAD_REQUEST: Invalid review or acknowledgement mode
+     * - 404 NOT_FOUND: Employee with given ID doesn't exist
+     * - 503 SERVICE_UNAVAILABLE: The write queue is full; retry after the
+     *   Retry-After header
+     * - 500 INTERNAL_SERVER_ERROR: The review could not be written
+     */
+    @PostMapping("/submitReview")
+    @StatementBudget(5)
+    public CompletableFuture<ResponseEntity<ResponseDto>> submitReview(@RequestBody ReviewSubmissionDto review,
+            @RequestParam(name = "ack", defaultValue = "ACCEPTED") String ack) {
+        AckMode ackMode;
+        try {
+            ackMode = AckMode.valueOf(ack.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.completedFuture(
+                    error(HttpStatus.BAD_REQUEST, "ack must be ACCEPTED or FLUSHED.", "INVALID_ACK_MODE"));
+        }
+        AccessLog.put("ack", ackMode.name());
+        CompletableFuture<ReviewReceiptDto> receipt;
+        try {
+            receipt = reviewService.submitReview(review, ackMode);
+        } catch (IllegalArgumentException e) {
+            LOGGER.warn("Invalid review {}: {}", review, e.getMessage());
+            return CompletableFuture.completedFuture(
+                    error(HttpStatus.BAD_REQUEST, e.getMessage(), "INVALID_REVIEW"));
+        } catch (ResourceNotFoundException e) {
+            LOGGER.warn("Review for unknown employee: {}", review);
+            return CompletableFuture.completedFuture(
+                    error(HttpStatus.NOT_FOUND, "Employee not found.", "EMPLOYEE_NOT_FOUND"));
+        } catch (ServiceOverloadedException e) {
+            throw e;
+        } catch (Exception e) {
+            LOGGER.error("Unexpected error while submitting review: {}", review, e);
+            return CompletableFuture.completedFuture(writeFailed());
+        }
+        return receipt.handle((written, error) -> {
+            if (error != null) {
+                LOGGER.error("Review could not be written: {}", review, error);
+                return writeFailed();
+            }
+            ResponseDto dto = new ResponseDto();
+            dto.setSuccess(true);
+            dto.setMessage(written.isFlushed() ? "Review saved." : "Review accepted.");
+            dto.setData(written);
+            dto.setCount(1);
+            dto.setTimeStamp(new Date());
+            return ResponseEntity.status(written.isFlushed() ? HttpStatus.CREATED : HttpStatus.ACCEPTED).body(dto);
+        });
+    }
+
+    /**
+     * Fetches the review score trend of departments over a range of months:
+     * per department and month the number of reviews, the average score and
+     * the standard deviation of the scores, plus the same for the whole range.
+     *
+     * @param from First month, yyyy-MM
+     * @param to Last month, yyyy-MM (included)
+     * @param departmentIds Optional department ids; all departments by default
+     * @return ResponseEntity containing a ReviewTrendDto
+     *
+     * HTTP Status:
+     * - 200 OK: Trend returned; departments without reviews in the range are
+     *   left out
+     * - 400 BAD_REQUEST: Malformed months or a range longer than
+     *   config.reviewRollups.maxTrendMonths
+     * - 500 INTERNAL_SERVER_ERROR: Unexpected server error
+     */
+    @GetMapping("/getReviewTrend")
+    @StatementBudget(5)
+    public ResponseEntity<ResponseDto> fetchReviewTrend(@RequestParam(name = "from", required = false) String from,
+            @RequestParam(name = "to", required = false) String to,
+            @RequestParam(name = "departmentIds", required = false) List<Integer> departmentIds) {
+        try {
+            ReviewTrendDto trend = reviewService.getReviewTrend(from, to, departmentIds);
+            AccessLog.put("resultCount", trend.getDepartments().size());
+            ResponseDto dto = new ResponseDto();
+            dto.setSuccess(true);
+            dto.setMessage("Review trend fetched successfully.");
+            dto.setData(trend);
+            dto.setCount(trend.getDepartments().size());
+            dto.setTimeStamp(new Date());
+            return ResponseEntity.status(HttpStatus.OK).body(dto);
+        } catch (IllegalArgumentException e) {
+            LOGGER.warn("Invalid review trend range {} to {}: {}", from, to, e.getMessage());
+            return error(HttpStatus.BAD_REQUEST, e.getMessage(), "INVALID_TREND_RANGE");
+        } catch (Exception e) {
+            LOGGER.error("Unexpected error while fetching review trend from {} to {}", from, to, e);
+            return error(HttpStatus.INTERNAL_SERVER_ERROR,
+                    "An unexpected error occurred while fetching the review trend.", "INTERNAL_SERVER_ERROR");
+        }
+    }
+
+    private static ResponseEntity<ResponseDto> writeFailed() {
+        return error(HttpStatus.INTERNAL_SERVER_ERROR, "The review could not be saved.", "REVIEW_WRITE_FAILED");
+    }
+
+    private static ResponseEntity<ResponseDto> error(HttpStatus status, String message, String errorCode) {
+        return ResponseEntity.status(status).body(new ResponseDto(false, new Date(), 0, message, errorCode, null));
+    }
+
+}
@@ -0,0 +1,46 @@
+package com.crm.datasource;
+
+import java.sql.SQLTransientConnectionException;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+
+/**
+ * Marks the current request when a JDBC call failed because no pooled
+ * connection became available in time, which Hikari reports as a
+ * {@link SQLTransientConnectionException}. Connections are obtained lazily,
+ * so the timeout surfaces from the first statement rather than from
+ * {@code getConnection()}; every proxied call is therefore checked.
+ */
+public class ConnectionAcquireListener implements MethodExecutionListener {
+
+    public static final String TIMEOUT_ATTRIBUTE = ConnectionAcquireListener.class.getName() + ".timeout";
+
+    @Override
+    public void beforeMethod(MethodExecutionContext executionContext) {
+    }
+
+    @Override
+    public void afterMethod(MethodExecutionContext executionContext) {
+        if (!isAcquireTimeout(executionContext.getThrown())) {
+            return;
+        }
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            attributes.setAttribute(TIMEOUT_ATTRIBUTE, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    private static boolean isAcquireTimeout(Throwable thrown) {
+        for (Throwable cause = thrown; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLTransientConnectionException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
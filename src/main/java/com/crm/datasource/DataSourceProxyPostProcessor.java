@@ -0,0 +1,61 @@
+package com.crm.datasource;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.task.ThreadPoolTaskExecutorBuilder;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+
+/**
+ * Wraps the application datasource in a datasource-proxy that reports slow
+ * statements to the {@link SlowQueryListener}, statement timings to the
+ * {@link RequestTimingListener} and connection pool timeouts to the
+ * {@link ConnectionAcquireListener}. Only the bean named {@code dataSource} is
+ * wrapped; underlying pools are left untouched.
+ */
+public class DataSourceProxyPostProcessor implements BeanPostProcessor {
+
+    private static final String DATA_SOURCE_BEAN = "dataSource";
+
+    private final long thresholdMillis;
+    private final boolean explainEnabled;
+    private final long explainIntervalMillis;
+    private final ObjectProvider<ThreadPoolTaskExecutorBuilder> executorBuilder;
+
+    public DataSourceProxyPostProcessor(long thresholdMillis, boolean explainEnabled, long explainIntervalMillis,
+            ObjectProvider<ThreadPoolTaskExecutorBuilder> executorBuilder) {
+        this.thresholdMillis = thresholdMillis;
+        this.explainEnabled = explainEnabled;
+        this.explainIntervalMillis = explainIntervalMillis;
+        this.executorBuilder = executorBuilder;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!DATA_SOURCE_BEAN.equals(beanName) || !(bean instanceof DataSource dataSource)) {
+            return bean;
+        }
+        ExplainPlanCapturer explainPlanCapturer = null;
+        if (explainEnabled) {
+            ThreadPoolTaskExecutor executor = executorBuilder.getIfAvailable(ThreadPoolTaskExecutorBuilder::new)
+                    .corePoolSize(1)
+                    .maxPoolSize(1)
+                    .queueCapacity(16)
+                    .threadNamePrefix("explain-")
+                    .build();
+            executor.setDaemon(true);
+            executor.initialize();
+            explainPlanCapturer = new ExplainPlanCapturer(dataSource, executor, explainIntervalMillis);
+        }
+        return ProxyDataSourceBuilder.create(dataSource)
+                .name(DATA_SOURCE_BEAN)
+                .listener(new SlowQueryListener(thresholdMillis, explainPlanCapturer))
+                .listener(new RequestTimingListener())
+                .methodListener(new ConnectionAcquireListener())
+                .build();
+    }
+
+}
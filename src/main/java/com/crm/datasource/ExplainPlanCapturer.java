@@ -0,0 +1,109 @@
+package com.crm.datasource;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sql.DataSource;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.core.task.TaskExecutor;
+
+import com.crm.diagnostics.StatementCounter;
+
+/**
+ * Runs {@code EXPLAIN} for slow SELECT statements in the background.
+ *
+ * Capturing is rate limited twice: globally, to at most one plan per
+ * interval, and per SQL shape, so the same slow query is explained once per
+ * interval however often it repeats. Work that does not fit in the executor's
+ * queue is dropped.
+ */
+public class ExplainPlanCapturer {
+
+    private static final Logger LOGGER = LogManager.getLogger(ExplainPlanCapturer.class);
+
+    private static final int MAX_TRACKED_SHAPES = 1000;
+
+    private final DataSource dataSource;
+    private final TaskExecutor executor;
+    private final long minIntervalMillis;
+    private final AtomicLong lastCapture = new AtomicLong();
+    private final Map<String, Long> lastCaptureByShape = new ConcurrentHashMap<>();
+
+    /**
+     * @param dataSource datasource to explain against; must not be the proxied
+     *                   one, so that EXPLAIN statements are not themselves logged
+     */
+    public ExplainPlanCapturer(DataSource dataSource, TaskExecutor executor, long minIntervalMillis) {
+        this.dataSource = dataSource;
+        this.executor = executor;
+        this.minIntervalMillis = minIntervalMillis;
+    }
+
+    /**
+     * Schedules an EXPLAIN if the statement is a SELECT and the rate limits allow.
+     *
+     * @param sql        the statement as executed
+     * @param parameters bind values in parameter order
+     * @param context    request id and service method, for correlating the plan
+     */
+    public void submit(String sql, List<Object> parameters, String context) {
+        if (!sql.stripLeading().regionMatches(true, 0, "select", 0, 6)) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        String shape = StatementCounter.shapeOf(sql);
+        Long shapeCapturedAt = lastCaptureByShape.get(shape);
+        if (shapeCapturedAt != null && now - shapeCapturedAt < minIntervalMillis) {
+            return;
+        }
+        long previous = lastCapture.get();
+        if (now - previous < minIntervalMillis || !lastCapture.compareAndSet(previous, now)) {
+            return;
+        }
+        if (lastCaptureByShape.size() >= MAX_TRACKED_SHAPES) {
+            lastCaptureByShape.clear();
+        }
+        lastCaptureByShape.put(shape, now);
+        try {
+            executor.execute(() -> explain(sql, parameters, context));
+        } catch (RejectedExecutionException e) {
+            LOGGER.debug("EXPLAIN queue full, dropping plan capture for {}", context);
+        }
+    }
+
+    private void explain(String sql, List<Object> parameters, String context) {
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+            for (int i = 0; i < parameters.size(); i++) {
+                statement.setObject(i + 1, parameters.get(i));
+            }
+            StringBuilder plan = new StringBuilder();
+            try (ResultSet resultSet = statement.executeQuery()) {
+                ResultSetMetaData metaData = resultSet.getMetaData();
+                while (resultSet.next()) {
+                    plan.append(System.lineSeparator()).append("  ");
+                    for (int column = 1; column <= metaData.getColumnCount(); column++) {
+                        if (column > 1) {
+                            plan.append(", ");
+                        }
+                        plan.append(metaData.getColumnLabel(column)).append('=').append(resultSet.getObject(column));
+                    }
+                }
+            }
+            LOGGER.warn("EXPLAIN for slow query [{}] {}{}", context, sql, plan);
+        } catch (SQLException e) {
+            LOGGER.warn("Could not EXPLAIN slow query [{}]: {}", context, e.getMessage());
+        }
+    }
+
+}
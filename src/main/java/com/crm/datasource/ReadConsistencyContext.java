@@ -0,0 +1,37 @@
+package com.crm.datasource;
+
+/**
+ * Per-request read consistency requirement.
+ *
+ * A client that has just written data sends the time of its write; read-only
+ * work for that request may then only be served by a replica known to have
+ * replicated up to that instant, otherwise it goes to the primary.
+ */
+public final class ReadConsistencyContext {
+
+    private static final ThreadLocal<Long> REQUIRED_FRESHNESS = new ThreadLocal<>();
+
+    private ReadConsistencyContext() {
+    }
+
+    /**
+     * @param epochMillis the replica must be fresh as of this time
+     */
+    public static void requireFreshAsOf(long epochMillis) {
+        REQUIRED_FRESHNESS.set(epochMillis);
+    }
+
+    /**
+     * @return epoch millis the replica must be fresh as of, or {@code Long.MIN_VALUE}
+     *         if any healthy replica will do
+     */
+    public static long getRequiredFreshness() {
+        Long required = REQUIRED_FRESHNESS.get();
+        return required != null ? required : Long.MIN_VALUE;
+    }
+
+    public static void clear() {
+        REQUIRED_FRESHNESS.remove();
+    }
+
+}
@@ -0,0 +1,50 @@
+package com.crm.datasource;
+
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Reads the read-your-writes hint from the request.
+ *
+ * {@code X-Read-After: <epoch millis>} asks for data at least as new as the
+ * given instant; {@code X-Read-Consistency: primary} forces the primary.
+ * The hint is cleared when the handler completes or, for an asynchronous
+ * handler, when it returns; the async dispatch reads the headers again.
+ */
+public class ReadConsistencyInterceptor implements AsyncHandlerInterceptor {
+
+    public static final String READ_AFTER_HEADER = "X-Read-After";
+    public static final String READ_CONSISTENCY_HEADER = "X-Read-Consistency";
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if ("primary".equalsIgnoreCase(request.getHeader(READ_CONSISTENCY_HEADER))) {
+            ReadConsistencyContext.requireFreshAsOf(Long.MAX_VALUE);
+            return true;
+        }
+        String readAfter = request.getHeader(READ_AFTER_HEADER);
+        if (readAfter != null) {
+            try {
+                ReadConsistencyContext.requireFreshAsOf(Long.parseLong(readAfter.trim()));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException(READ_AFTER_HEADER + " must be epoch milliseconds", e);
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+            Object handler) {
+        ReadConsistencyContext.clear();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+            Exception ex) {
+        ReadConsistencyContext.clear();
+    }
+
+}
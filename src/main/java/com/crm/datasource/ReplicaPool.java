@@ -0,0 +1,180 @@
+package com.crm.datasource;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Round-robin pool of replica datasources with periodic health and lag checks.
+ *
+ * A replica that fails its connection check or reports more lag than allowed
+ * is skipped until a later check succeeds. Each check also records how fresh
+ * the replica is, which is what the read-your-writes guard compares against.
+ */
+public class ReplicaPool {
+
+    private static final Logger LOGGER = LogManager.getLogger(ReplicaPool.class);
+
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private final List<Replica> replicas;
+    private final String lagQuery;
+    private final long maxLagSeconds;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaPool(List<Replica> replicas, String lagQuery, long maxLagSeconds) {
+        this.replicas = List.copyOf(replicas);
+        this.lagQuery = lagQuery;
+        this.maxLagSeconds = maxLagSeconds;
+    }
+
+    /**
+     * Picks the next healthy replica that is fresh as of the given instant.
+     *
+     * @param requiredFreshness epoch millis the data must be at least as new as
+     * @return a replica, or null if the primary has to serve the read
+     */
+    public Replica select(long requiredFreshness) {
+        int size = replicas.size();
+        if (size == 0) {
+            return null;
+        }
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.isHealthy() && replica.getFreshAsOf() >= requiredFreshness) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Probes every replica. Runs on the application scheduler and once at
+     * startup so the pool is usable before the first scheduled run.
+     */
+    @Scheduled(fixedDelayString = "${config.datasource.replica.healthCheckMillis:5000}")
+    public void checkHealth() {
+        for (Replica replica : replicas) {
+            long checkedAt = System.currentTimeMillis();
+            try (Connection connection = replica.getDataSource().getConnection()) {
+                if (!connection.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+                    markDown(replica, "connection validation failed");
+                    continue;
+                }
+                long lagSeconds = lagQuery != null && !lagQuery.isBlank() ? queryLag(connection) : maxLagSeconds;
+                if (lagSeconds > maxLagSeconds) {
+                    markDown(replica, "lag of " + lagSeconds + "s exceeds " + maxLagSeconds + "s");
+                    continue;
+                }
+                if (!replica.isHealthy()) {
+                    LOGGER.info("Replica {} is healthy again", replica.getName());
+                }
+                replica.update(true, checkedAt - lagSeconds * 1000);
+            } catch (SQLException e) {
+                markDown(replica, e.getMessage());
+            }
+        }
+    }
+
+    private long queryLag(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+                ResultSet resultSet = statement.executeQuery(lagQuery)) {
+            if (!resultSet.next()) {
+                // SHOW REPLICA STATUS returns no row on a server that is not replicating
+                return Long.MAX_VALUE;
+            }
+            int column = 1;
+            try {
+                column = resultSet.findColumn("Seconds_Behind_Source");
+            } catch (SQLException e) {
+                // Custom lag query; the lag is expected in the first column
+            }
+            long lag = resultSet.getLong(column);
+            return resultSet.wasNull() ? Long.MAX_VALUE : lag;
+        }
+    }
+
+    private void markDown(Replica replica, String reason) {
+        if (replica.isHealthy()) {
+            LOGGER.warn("Replica {} taken out of rotation: {}", replica.getName(), reason);
+        }
+        replica.update(false, Long.MIN_VALUE);
+    }
+
+    public List<Replica> getReplicas() {
+        return replicas;
+    }
+
+    /**
+     * Closes the replica pools; invoked by the container on shutdown.
+     */
+    public void close() {
+        for (Replica replica : replicas) {
+            if (replica.getDataSource() instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    LOGGER.warn("Failed to close replica {}: {}", replica.getName(), e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * One replica endpoint with its last observed health and freshness.
+     */
+    public static class Replica {
+
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean healthy;
+        private volatile long freshAsOf = Long.MIN_VALUE;
+
+        public Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        void update(boolean healthy, long freshAsOf) {
+            this.freshAsOf = freshAsOf;
+            this.healthy = healthy;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public DataSource getDataSource() {
+            return dataSource;
+        }
+
+        public boolean isHealthy() {
+            return healthy;
+        }
+
+        public void setHealthy(boolean healthy) {
+            this.healthy = healthy;
+        }
+
+        public long getFreshAsOf() {
+            return freshAsOf;
+        }
+
+        @Override
+        public String toString() {
+            return "Replica [name=" + name + ", healthy=" + healthy + ", freshAsOf=" + freshAsOf + "]";
+        }
+
+    }
+
+}
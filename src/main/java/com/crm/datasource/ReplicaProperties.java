@@ -0,0 +1,103 @@
+package com.crm.datasource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Read-replica settings, bound from {@code config.datasource.replica.*}.
+ * Replica pools use the primary's driver and Hikari defaults unless overridden
+ * per endpoint.
+ */
+@ConfigurationProperties(prefix = "config.datasource.replica")
+public class ReplicaProperties {
+
+    private boolean enabled;
+    private List<Endpoint> endpoints = new ArrayList<>();
+    private String lagQuery;
+    private long maxLagSeconds = 5;
+    private long healthCheckMillis = 5000;
+    private int maximumPoolSize = 10;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public List<Endpoint> getEndpoints() {
+        return endpoints;
+    }
+
+    public void setEndpoints(List<Endpoint> endpoints) {
+        this.endpoints = endpoints;
+    }
+
+    public String getLagQuery() {
+        return lagQuery;
+    }
+
+    public void setLagQuery(String lagQuery) {
+        this.lagQuery = lagQuery;
+    }
+
+    public long getMaxLagSeconds() {
+        return maxLagSeconds;
+    }
+
+    public void setMaxLagSeconds(long maxLagSeconds) {
+        this.maxLagSeconds = maxLagSeconds;
+    }
+
+    public long getHealthCheckMillis() {
+        return healthCheckMillis;
+    }
+
+    public void setHealthCheckMillis(long healthCheckMillis) {
+        this.healthCheckMillis = healthCheckMillis;
+    }
+
+    public int getMaximumPoolSize() {
+        return maximumPoolSize;
+    }
+
+    public void setMaximumPoolSize(int maximumPoolSize) {
+        this.maximumPoolSize = maximumPoolSize;
+    }
+
+    public static class Endpoint {
+
+        private String url;
+        private String username;
+        private String password;
+
+        public String getUrl() {
+            return url;
+        }
+
+        public void setUrl(String url) {
+            this.url = url;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public void setUsername(String username) {
+            this.username = username;
+        }
+
+        public String getPassword() {
+            return password;
+        }
+
+        public void setPassword(String password) {
+            this.password = password;
+        }
+
+    }
+
+}
@@ -0,0 +1,74 @@
+package com.crm.datasource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.crm.datasource.ReplicaPool.Replica;
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Replaces the auto-configured datasource with a primary/replica router when
+ * {@code config.datasource.replica.enabled=true}.
+ *
+ * The primary pool is still configured from {@code spring.datasource.*}; each
+ * replica gets its own read-only Hikari pool.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "config.datasource.replica", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ReplicaProperties.class)
+public class ReplicaRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaPool replicaPool(DataSourceProperties primaryProperties, ReplicaProperties properties) {
+        List<Replica> replicas = new ArrayList<>();
+        for (int i = 0; i < properties.getEndpoints().size(); i++) {
+            ReplicaProperties.Endpoint endpoint = properties.getEndpoints().get(i);
+            HikariDataSource dataSource = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .driverClassName(primaryProperties.determineDriverClassName())
+                    .url(endpoint.getUrl())
+                    .username(endpoint.getUsername() != null ? endpoint.getUsername()
+                            : primaryProperties.determineUsername())
+                    .password(endpoint.getPassword() != null ? endpoint.getPassword()
+                            : primaryProperties.determinePassword())
+                    .build();
+            String name = "replica-" + i;
+            dataSource.setPoolName(name);
+            dataSource.setReadOnly(true);
+            dataSource.setMaximumPoolSize(properties.getMaximumPoolSize());
+            replicas.add(new Replica(name, dataSource));
+        }
+        ReplicaPool pool = new ReplicaPool(replicas, properties.getLagQuery(), properties.getMaxLagSeconds());
+        pool.checkHealth();
+        return pool;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaPool replicaPool) {
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primaryDataSource, replicaPool);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+}
@@ -0,0 +1,47 @@
+package com.crm.datasource;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.crm.datasource.ReplicaPool.Replica;
+
+/**
+ * Sends work in {@code @Transactional(readOnly = true)} methods to a replica
+ * and everything else to the primary.
+ *
+ * Must be wrapped in a LazyConnectionDataSourceProxy: the transaction manager
+ * obtains its connection before the read-only flag is published, so the
+ * routing decision has to wait for the first statement.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    static final String PRIMARY = "primary";
+
+    private final ReplicaPool replicaPool;
+
+    public ReplicaRoutingDataSource(DataSource primary, ReplicaPool replicaPool) {
+        this.replicaPool = replicaPool;
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (Replica replica : replicaPool.getReplicas()) {
+            targets.put(replica.getName(), replica.getDataSource());
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return PRIMARY;
+        }
+        Replica replica = replicaPool.select(ReadConsistencyContext.getRequiredFreshness());
+        return replica != null ? replica.getName() : PRIMARY;
+    }
+
+}
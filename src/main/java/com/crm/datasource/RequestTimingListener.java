@@ -0,0 +1,27 @@
+package com.crm.datasource;
+
+import java.util.List;
+
+import com.crm.diagnostics.RequestTimings;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+/**
+ * Attributes statement execution time to the current request's
+ * {@link RequestTimings}, when the request is being timed.
+ */
+public class RequestTimingListener implements QueryExecutionListener {
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        RequestTimings.beforeStatement();
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        RequestTimings.afterStatement();
+    }
+
+}
@@ -0,0 +1,86 @@
+package com.crm.datasource;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.ThreadContext;
+
+import com.crm.aspect.ServiceMethodContextAspect;
+import com.crm.filter.RequestIdFilter;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+
+/**
+ * Logs statements slower than the configured threshold together with their
+ * bind values, the originating service method and the request id, and hands
+ * slow SELECTs to the {@link ExplainPlanCapturer}.
+ */
+public class SlowQueryListener implements QueryExecutionListener {
+
+    private static final Logger LOGGER = LogManager.getLogger(SlowQueryListener.class);
+
+    private static final int MAX_LOGGED_BATCH_ENTRIES = 10;
+
+    private final long thresholdMillis;
+    private final ExplainPlanCapturer explainPlanCapturer;
+
+    public SlowQueryListener(long thresholdMillis, ExplainPlanCapturer explainPlanCapturer) {
+        this.thresholdMillis = thresholdMillis;
+        this.explainPlanCapturer = explainPlanCapturer;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (execInfo.getElapsedTime() < thresholdMillis) {
+            return;
+        }
+        String context = "requestId=" + ThreadContext.get(RequestIdFilter.REQUEST_ID_KEY) + ", serviceMethod="
+                + ThreadContext.get(ServiceMethodContextAspect.SERVICE_METHOD_KEY);
+        for (QueryInfo queryInfo : queryInfoList) {
+            List<List<Object>> parameterSets = new ArrayList<>();
+            for (List<ParameterSetOperation> operations : queryInfo.getParametersList()) {
+                parameterSets.add(bindValues(operations));
+            }
+            LOGGER.warn("Slow query ({} ms{}) [{}] {} params={}", execInfo.getElapsedTime(),
+                    execInfo.isSuccess() ? "" : ", failed", context, queryInfo.getQuery(),
+                    parameterSets.size() > MAX_LOGGED_BATCH_ENTRIES
+                            ? parameterSets.subList(0, MAX_LOGGED_BATCH_ENTRIES) + " ..."
+                            : parameterSets);
+            if (explainPlanCapturer != null && !execInfo.isBatch()) {
+                explainPlanCapturer.submit(queryInfo.getQuery(),
+                        parameterSets.isEmpty() ? List.of() : parameterSets.get(0), context);
+            }
+        }
+    }
+
+    /**
+     * Orders recorded setter calls by parameter index; setNull becomes null.
+     */
+    private static List<Object> bindValues(List<ParameterSetOperation> operations) {
+        List<ParameterSetOperation> sorted = new ArrayList<>(operations);
+        sorted.sort(Comparator.comparingInt(SlowQueryListener::parameterIndex));
+        List<Object> values = new ArrayList<>(sorted.size());
+        for (ParameterSetOperation operation : sorted) {
+            Object[] args = operation.getArgs();
+            boolean setNull = ParameterSetOperation.isSetNullParameterOperation(operation);
+            values.add(setNull || args.length < 2 ? null : args[1]);
+        }
+        return values;
+    }
+
+    private static int parameterIndex(ParameterSetOperation operation) {
+        Object index = operation.getArgs().length > 0 ? operation.getArgs()[0] : null;
+        return index instanceof Integer position ? position : Integer.MAX_VALUE;
+    }
+
+}
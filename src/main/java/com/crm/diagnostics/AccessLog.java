@@ -0,0 +1,40 @@
+package com.crm.diagnostics;
+
+import org.apache.logging.log4j.message.StringMapMessage;
+
+/**
+ * Structured fields for the access log record of the request being served on
+ * the current thread.
+ *
+ * Controllers and services add request-specific fields (ids, filter shape,
+ * result counts) here instead of logging them at INFO; the record is written,
+ * or dropped by sampling, once the response is complete.
+ */
+public final class AccessLog {
+
+    private static final ThreadLocal<StringMapMessage> CURRENT = new ThreadLocal<>();
+
+    private AccessLog() {
+    }
+
+    public static StringMapMessage start() {
+        StringMapMessage record = new StringMapMessage();
+        CURRENT.set(record);
+        return record;
+    }
+
+    public static void stop() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Adds a field to the current request's record, if there is one.
+     */
+    public static void put(String key, Object value) {
+        StringMapMessage record = CURRENT.get();
+        if (record != null) {
+            record.with(key, String.valueOf(value));
+        }
+    }
+
+}
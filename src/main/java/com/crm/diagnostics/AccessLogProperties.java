@@ -0,0 +1,71 @@
+package com.crm.diagnostics;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Access log settings, bound from {@code config.accessLog.*}.
+ * Sample rates are keyed by the endpoint's request mapping pattern; requests
+ * that are slow or fail with a status at or above {@code alwaysLogStatus} are
+ * logged regardless of sampling.
+ */
+@ConfigurationProperties(prefix = "config.access-log")
+public class AccessLogProperties {
+
+    private boolean enabled = true;
+    private double defaultSampleRate = 1.0;
+    private Map<String, Double> sampleRates = new HashMap<>();
+    private long slowThresholdMillis = 1000;
+    private int alwaysLogStatus = 500;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public double getDefaultSampleRate() {
+        return defaultSampleRate;
+    }
+
+    public void setDefaultSampleRate(double defaultSampleRate) {
+        this.defaultSampleRate = defaultSampleRate;
+    }
+
+    public Map<String, Double> getSampleRates() {
+        return sampleRates;
+    }
+
+    public void setSampleRates(Map<String, Double> sampleRates) {
+        this.sampleRates = sampleRates;
+    }
+
+    public long getSlowThresholdMillis() {
+        return slowThresholdMillis;
+    }
+
+    public void setSlowThresholdMillis(long slowThresholdMillis) {
+        this.slowThresholdMillis = slowThresholdMillis;
+    }
+
+    public int getAlwaysLogStatus() {
+        return alwaysLogStatus;
+    }
+
+    public void setAlwaysLogStatus(int alwaysLogStatus) {
+        this.alwaysLogStatus = alwaysLogStatus;
+    }
+
+    /**
+     * @return the sample rate for an endpoint pattern, or the default rate
+     */
+    public double sampleRateFor(String endpoint) {
+        Double rate = endpoint != null ? sampleRates.get(endpoint) : null;
+        return rate != null ? rate : defaultSampleRate;
+    }
+
+}
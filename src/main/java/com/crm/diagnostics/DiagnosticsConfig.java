@@ -0,0 +1,47 @@
+package com.crm.diagnostics;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.task.ThreadPoolTaskExecutorBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.crm.datasource.DataSourceProxyPostProcessor;
+
+/**
+ * Wires the SQL statement diagnostics into Hibernate, Spring MVC and the
+ * application datasource, and binds the access log settings.
+ */
+@Configuration
+@EnableConfigurationProperties(AccessLogProperties.class)
+public class DiagnosticsConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer statementInspectorCustomizer() {
+        StatementCountingInspector inspector = new StatementCountingInspector();
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, inspector);
+    }
+
+    @Bean
+    public StatementBudgetInterceptor statementBudgetInterceptor(
+            @Value("${config.statementBudget.sampleRate}") double sampleRate,
+            @Value("${config.statementBudget.enforce}") boolean enforce,
+            @Value("${config.statementBudget.defaultBudget}") int defaultBudget,
+            @Value("${config.statementBudget.repeatThreshold}") int repeatThreshold) {
+        return new StatementBudgetInterceptor(sampleRate, enforce, defaultBudget, repeatThreshold);
+    }
+
+    @Bean
+    public static DataSourceProxyPostProcessor dataSourceProxyPostProcessor(
+            @Value("${config.slowQuery.thresholdMillis}") long thresholdMillis,
+            @Value("${config.slowQuery.explain.enabled}") boolean explainEnabled,
+            @Value("${config.slowQuery.explain.minIntervalMillis}") long explainIntervalMillis,
+            ObjectProvider<ThreadPoolTaskExecutorBuilder> executorBuilder) {
+        return new DataSourceProxyPostProcessor(thresholdMillis, explainEnabled, explainIntervalMillis,
+                executorBuilder);
+    }
+
+}
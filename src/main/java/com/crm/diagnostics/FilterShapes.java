@@ -0,0 +1,83 @@
+package com.crm.diagnostics;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.json.simple.JSONObject;
+import org.json.simple.JSONValue;
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
+
+/**
+ * Compact, value-free descriptions of employee filter criteria, e.g.
+ * {@code department[2],projects[1],reviewDate}. Safe to record in profiles
+ * and metrics because it never contains the filter values themselves.
+ *
+ * {@link #canonicalKey(JSONObject)} is the value-bearing counterpart used to
+ * recognise repeated filters: equivalent criteria map to the same string.
+ */
+public final class FilterShapes {
+
+    private FilterShapes() {
+    }
+
+    public static String describe(JSONObject criteria) {
+        if (criteria == null || criteria.isEmpty()) {
+            return "none";
+        }
+        Map<String, Object> sorted = new TreeMap<>();
+        for (Object key : criteria.keySet()) {
+            sorted.put(String.valueOf(key), criteria.get(key));
+        }
+        StringBuilder shape = new StringBuilder();
+        for (Map.Entry<String, Object> entry : sorted.entrySet()) {
+            if (shape.length() > 0) {
+                shape.append(',');
+            }
+            shape.append(entry.getKey());
+            if (entry.getValue() instanceof Collection<?> values) {
+                shape.append('[').append(values.size()).append(']');
+            }
+        }
+        return shape.toString();
+    }
+
+    /**
+     * @return the criteria as JSON with keys and list values sorted, so that
+     *         equivalent filters produce identical keys
+     */
+    public static String canonicalKey(JSONObject criteria) {
+        Map<String, Object> sorted = new TreeMap<>();
+        if (criteria != null) {
+            for (Object key : criteria.keySet()) {
+                Object value = criteria.get(key);
+                if (value instanceof Collection<?> values) {
+                    List<Object> sortedValues = new ArrayList<>(values);
+                    sortedValues.sort(Comparator.comparing(String::valueOf));
+                    value = sortedValues;
+                }
+                sorted.put(String.valueOf(key), value);
+            }
+        }
+        return JSONValue.toJSONString(sorted);
+    }
+
+    /**
+     * Turns a key produced by {@link #canonicalKey(JSONObject)} back into criteria.
+     *
+     * @return the criteria, or null if the key is not a JSON object
+     */
+    public static JSONObject fromCanonicalKey(String key) {
+        try {
+            Object parsed = new JSONParser().parse(key);
+            return parsed instanceof JSONObject criteria ? criteria : null;
+        } catch (ParseException e) {
+            return null;
+        }
+    }
+
+}
@@ -0,0 +1,150 @@
+package com.crm.diagnostics;
+
+import java.util.Locale;
+
+/**
+ * Per-request phase timings reported through the {@code Server-Timing} header.
+ *
+ * Collection is opt-in: unless {@link #start()} was called for the current
+ * request every recording method returns after a single thread-local read.
+ * SQL executed while an entity is being mapped to a DTO is attributed to lazy
+ * loading rather than to plain SQL, and is excluded from the mapper time.
+ */
+public final class RequestTimings {
+
+    public enum Phase {
+        CONTROLLER("controller", "Controller handler"),
+        SERVICE("service", "Service layer"),
+        SQL("sql", "SQL statements"),
+        LAZY_LOAD("lazy", "Lazy loading during mapping"),
+        MAPPER("mapper", "EmployeeMapper excluding lazy loads"),
+        SERIALIZATION("serialize", "Response serialization");
+
+        private final String metricName;
+        private final String description;
+
+        Phase(String metricName, String description) {
+            this.metricName = metricName;
+            this.description = description;
+        }
+    }
+
+    private static final ThreadLocal<RequestTimings> CURRENT = new ThreadLocal<>();
+
+    private final long startNanos = System.nanoTime();
+    private final long[] durations = new long[Phase.values().length];
+    private final int[] counts = new int[Phase.values().length];
+    private int mapperDepth;
+    private long mapperSqlNanos;
+    private long sqlStartNanos;
+
+    private RequestTimings() {
+    }
+
+    public static RequestTimings start() {
+        RequestTimings timings = new RequestTimings();
+        CURRENT.set(timings);
+        return timings;
+    }
+
+    /**
+     * Continues collecting into timings started on another thread, such as
+     * the one that began an asynchronous request.
+     */
+    public static void resume(RequestTimings timings) {
+        CURRENT.set(timings);
+    }
+
+    public static void stop() {
+        CURRENT.remove();
+    }
+
+    public static RequestTimings current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Adds a measured duration to a phase of the current request, if timed.
+     */
+    public static void record(Phase phase, long nanos) {
+        RequestTimings timings = CURRENT.get();
+        if (timings != null) {
+            timings.add(phase, nanos);
+        }
+    }
+
+    /**
+     * @return start timestamp to pass to {@link #exitMapper(long)}, or 0 if
+     *         the current request is not timed
+     */
+    public static long enterMapper() {
+        RequestTimings timings = CURRENT.get();
+        if (timings == null) {
+            return 0;
+        }
+        if (timings.mapperDepth++ == 0) {
+            timings.mapperSqlNanos = 0;
+        }
+        return System.nanoTime();
+    }
+
+    public static void exitMapper(long startNanos) {
+        RequestTimings timings = CURRENT.get();
+        if (timings == null || startNanos == 0) {
+            return;
+        }
+        if (--timings.mapperDepth == 0) {
+            long elapsed = System.nanoTime() - startNanos;
+            timings.add(Phase.MAPPER, elapsed - timings.mapperSqlNanos);
+        }
+    }
+
+    public static void beforeStatement() {
+        RequestTimings timings = CURRENT.get();
+        if (timings != null) {
+            timings.sqlStartNanos = System.nanoTime();
+        }
+    }
+
+    public static void afterStatement() {
+        RequestTimings timings = CURRENT.get();
+        if (timings == null || timings.sqlStartNanos == 0) {
+            return;
+        }
+        long elapsed = System.nanoTime() - timings.sqlStartNanos;
+        timings.sqlStartNanos = 0;
+        if (timings.mapperDepth > 0) {
+            timings.mapperSqlNanos += elapsed;
+            timings.add(Phase.LAZY_LOAD, elapsed);
+        } else {
+            timings.add(Phase.SQL, elapsed);
+        }
+    }
+
+    private void add(Phase phase, long nanos) {
+        durations[phase.ordinal()] += nanos;
+        counts[phase.ordinal()]++;
+    }
+
+    /**
+     * Formats the collected phases as a {@code Server-Timing} header value.
+     */
+    public String toHeaderValue() {
+        StringBuilder header = new StringBuilder();
+        for (Phase phase : Phase.values()) {
+            int count = counts[phase.ordinal()];
+            if (count == 0) {
+                continue;
+            }
+            header.append(phase.metricName)
+                    .append(";dur=").append(millis(durations[phase.ordinal()]))
+                    .append(";desc=\"").append(phase.description).append(" (").append(count).append(")\", ");
+        }
+        return header.append("total;dur=").append(millis(System.nanoTime() - startNanos)).toString();
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.2f", nanos / 1_000_000.0);
+    }
+
+}
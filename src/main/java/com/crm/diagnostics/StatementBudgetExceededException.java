@@ -0,0 +1,14 @@
+package com.crm.diagnostics;
+
+/**
+ * Raised from the statement inspector when a request issues more SQL
+ * statements than its declared {@link StatementBudget} while budgets are
+ * enforced.
+ */
+public class StatementBudgetExceededException extends RuntimeException {
+
+    public StatementBudgetExceededException(String endpoint, int budget, String sqlShape) {
+        super(String.format("%s exceeded its budget of %d statements at: %s", endpoint, budget, sqlShape));
+    }
+
+}
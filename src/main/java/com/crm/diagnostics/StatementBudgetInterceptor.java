@@ -0,0 +1,90 @@
+package com.crm.diagnostics;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Starts a {@link StatementCounter} for sampled requests and reports N+1
+ * patterns and budget overruns when the request completes.
+ *
+ * With enforcement on (integration tests) every request is counted and the
+ * inspector fails the request as soon as its budget is exceeded.
+ *
+ * An asynchronous handler is reported when it returns, before its thread goes
+ * back to the pool; the async dispatch that writes its result is counted on
+ * its own.
+ */
+public class StatementBudgetInterceptor implements AsyncHandlerInterceptor {
+
+    /** Request attribute holding the counter of a counted request. */
+    public static final String COUNTER_ATTRIBUTE = StatementBudgetInterceptor.class.getName() + ".counter";
+
+    private static final Logger LOGGER = LogManager.getLogger(StatementBudgetInterceptor.class);
+
+    private final double sampleRate;
+    private final boolean enforce;
+    private final int defaultBudget;
+    private final int repeatThreshold;
+
+    public StatementBudgetInterceptor(double sampleRate, boolean enforce, int defaultBudget, int repeatThreshold) {
+        this.sampleRate = sampleRate;
+        this.enforce = enforce;
+        this.defaultBudget = defaultBudget;
+        this.repeatThreshold = repeatThreshold;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod handlerMethod)) {
+            return true;
+        }
+        if (!enforce && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return true;
+        }
+        StatementBudget budget = handlerMethod.getMethodAnnotation(StatementBudget.class);
+        String endpoint = handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName();
+        StatementCounter counter = new StatementCounter(endpoint, budget != null ? budget.value() : defaultBudget,
+                enforce);
+        StatementCounterContext.start(counter);
+        request.setAttribute(COUNTER_ATTRIBUTE, counter);
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+            Object handler) {
+        report();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+            Exception ex) {
+        report();
+    }
+
+    private void report() {
+        StatementCounter counter = StatementCounterContext.stop();
+        if (counter == null) {
+            return;
+        }
+        List<Map.Entry<String, Integer>> repeated = counter.repeatedShapes(repeatThreshold);
+        for (Map.Entry<String, Integer> shape : repeated) {
+            LOGGER.warn("Possible N+1 in {}: {} executions of [{}]", counter.getEndpoint(), shape.getValue(),
+                    shape.getKey());
+        }
+        if (counter.isOverBudget()) {
+            LOGGER.warn("{} issued {} statements, budget is {}", counter.getEndpoint(), counter.getTotal(),
+                    counter.getBudget());
+        }
+    }
+
+}
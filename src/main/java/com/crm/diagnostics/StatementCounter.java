@@ -0,0 +1,86 @@
+package com.crm.diagnostics;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * SQL statements issued while serving one request, grouped by shape.
+ */
+public class StatementCounter {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern NUMERIC_LITERAL = Pattern.compile("\\b\\d+\\b");
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+
+    private final String endpoint;
+    private final int budget;
+    private final boolean enforced;
+    private final Map<String, Integer> shapes = new LinkedHashMap<>();
+    private int total;
+
+    public StatementCounter(String endpoint, int budget, boolean enforced) {
+        this.endpoint = endpoint;
+        this.budget = budget;
+        this.enforced = enforced;
+    }
+
+    /**
+     * Counts a statement, failing fast if the budget is enforced and exceeded.
+     */
+    public void record(String sql) {
+        String shape = shapeOf(sql);
+        shapes.merge(shape, 1, Integer::sum);
+        total++;
+        if (enforced && total > budget) {
+            throw new StatementBudgetExceededException(endpoint, budget, shape);
+        }
+    }
+
+    /**
+     * Normalises a statement so that executions differing only in bind values
+     * or IN-list length share a shape.
+     */
+    public static String shapeOf(String sql) {
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMERIC_LITERAL.matcher(shape).replaceAll("?");
+        shape = IN_LIST.matcher(shape).replaceAll("(?)");
+        return WHITESPACE.matcher(shape).replaceAll(" ").trim();
+    }
+
+    /**
+     * @return shapes executed at least {@code threshold} times, most frequent first
+     */
+    public List<Map.Entry<String, Integer>> repeatedShapes(int threshold) {
+        return shapes.entrySet().stream()
+                .filter(entry -> entry.getValue() >= threshold)
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .collect(Collectors.toList());
+    }
+
+    public boolean isOverBudget() {
+        return total > budget;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public int getBudget() {
+        return budget;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    @Override
+    public String toString() {
+        return "StatementCounter [endpoint=" + endpoint + ", budget=" + budget + ", total=" + total + ", shapes="
+                + shapes.size() + "]";
+    }
+
+}
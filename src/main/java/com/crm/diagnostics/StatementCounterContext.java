@@ -0,0 +1,28 @@
+package com.crm.diagnostics;
+
+/**
+ * Holds the {@link StatementCounter} of the request being served on the
+ * current thread. Requests that are not sampled have no counter.
+ */
+public final class StatementCounterContext {
+
+    private static final ThreadLocal<StatementCounter> CURRENT = new ThreadLocal<>();
+
+    private StatementCounterContext() {
+    }
+
+    public static void start(StatementCounter counter) {
+        CURRENT.set(counter);
+    }
+
+    public static StatementCounter current() {
+        return CURRENT.get();
+    }
+
+    public static StatementCounter stop() {
+        StatementCounter counter = CURRENT.get();
+        CURRENT.remove();
+        return counter;
+    }
+
+}
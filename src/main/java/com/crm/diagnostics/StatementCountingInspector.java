@@ -0,0 +1,20 @@
+package com.crm.diagnostics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate hook that feeds every prepared statement into the current
+ * request's {@link StatementCounter}. A no-op for unsampled requests.
+ */
+public class StatementCountingInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        StatementCounter counter = StatementCounterContext.current();
+        if (counter != null) {
+            counter.record(sql);
+        }
+        return sql;
+    }
+
+}
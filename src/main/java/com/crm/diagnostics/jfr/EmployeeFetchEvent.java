@@ -0,0 +1,27 @@
+package com.crm.diagnostics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Emitted for every employee detail lookup.
+ */
+@Name("com.crm.EmployeeFetch")
+@Label("Employee Fetch")
+@Category({ "CRM", "Employee" })
+@Description("Loading one employee with projects and reviews")
+public class EmployeeFetchEvent extends Event {
+
+    @Label("Employee Id")
+    public long employeeId;
+
+    @Label("Project Count")
+    public int projectCount;
+
+    @Label("Review Count")
+    public int reviewCount;
+
+}
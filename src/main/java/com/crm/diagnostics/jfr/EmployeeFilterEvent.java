@@ -0,0 +1,24 @@
+package com.crm.diagnostics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Emitted for every filtered employee search, covering query and mapping.
+ */
+@Name("com.crm.EmployeeFilter")
+@Label("Employee Filter")
+@Category({ "CRM", "Employee" })
+@Description("Filtered employee search including DTO mapping")
+public class EmployeeFilterEvent extends Event {
+
+    @Label("Filter Shape")
+    public String filterShape;
+
+    @Label("Row Count")
+    public int rowCount;
+
+}
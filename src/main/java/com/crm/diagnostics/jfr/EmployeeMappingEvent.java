@@ -0,0 +1,28 @@
+package com.crm.diagnostics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Emitted for every Employee to EmployeeDto mapping, including lazy loads
+ * triggered by it.
+ */
+@Name("com.crm.EmployeeMapping")
+@Label("Employee Mapping")
+@Category({ "CRM", "Employee" })
+@Description("Mapping an Employee entity to EmployeeDto")
+public class EmployeeMappingEvent extends Event {
+
+    @Label("Employee Id")
+    public long employeeId;
+
+    @Label("Project Count")
+    public int projectCount;
+
+    @Label("Review Count")
+    public int reviewCount;
+
+}
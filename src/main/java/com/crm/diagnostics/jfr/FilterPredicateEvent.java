@@ -0,0 +1,24 @@
+package com.crm.diagnostics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Emitted when the Criteria predicates for an employee filter are built.
+ */
+@Name("com.crm.FilterPredicate")
+@Label("Filter Predicate Construction")
+@Category({ "CRM", "Employee" })
+@Description("Building Criteria predicates from the filter JSON")
+public class FilterPredicateEvent extends Event {
+
+    @Label("Filter Shape")
+    public String filterShape;
+
+    @Label("Predicate Count")
+    public int predicateCount;
+
+}
@@ -0,0 +1,86 @@
+package com.crm.dto;
+
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+
+/**
+ * Headcount, salary and tenure statistics of a group of employees. Salary
+ * statistics cover the employees with a salary, tenure the employees with a
+ * date of joining; both are left out when there are none. The histogram
+ * uses the bins of the enclosing {@link EmployeeAnalyticsDto}.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class AnalyticsGroupDto {
+
+    private Long id;
+    private String name;
+    private Integer headcount;
+    private Double salarySum;
+    private Double averageSalary;
+    private Map<String, Double> salaryPercentiles;
+    private Double averageTenureYears;
+    private int[] salaryHistogram;
+
+    public Long getId() {
+        return id;
+    }
+    public void setId(Long id) {
+        this.id = id;
+    }
+    public String getName() {
+        return name;
+    }
+    public void setName(String name) {
+        this.name = name;
+    }
+    public Integer getHeadcount() {
+        return headcount;
+    }
+    public void setHeadcount(Integer headcount) {
+        this.headcount = headcount;
+    }
+    public Double getSalarySum() {
+        return salarySum;
+    }
+    public void setSalarySum(Double salarySum) {
+        this.salarySum = salarySum;
+    }
+    public Double getAverageSalary() {
+        return averageSalary;
+    }
+    public void setAverageSalary(Double averageSalary) {
+        this.averageSalary = averageSalary;
+    }
+    public Map<String, Double> getSalaryPercentiles() {
+        return salaryPercentiles;
+    }
+    public void setSalaryPercentiles(Map<String, Double> salaryPercentiles) {
+        this.salaryPercentiles = salaryPercentiles;
+    }
+    public Double getAverageTenureYears() {
+        return averageTenureYears;
+    }
+    public void setAverageTenureYears(Double averageTenureYears) {
+        this.averageTenureYears = averageTenureYears;
+    }
+    public int[] getSalaryHistogram() {
+        return salaryHistogram;
+    }
+    public void setSalaryHistogram(int[] salaryHistogram) {
+        this.salaryHistogram = salaryHistogram;
+    }
+
+    @Override
+    public String toString() {
+        return "AnalyticsGroupDto [id=" + id + ", name=" + name + ", headcount=" + headcount + ", salarySum="
+                + salarySum + ", averageSalary=" + averageSalary + ", salaryPercentiles=" + salaryPercentiles
+                + ", averageTenureYears=" + averageTenureYears + "]";
+    }
+
+}
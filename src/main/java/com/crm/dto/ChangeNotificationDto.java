@@ -0,0 +1,61 @@
+package com.crm.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+
+/**
+ * Compact notification that an entity changed, pushed on the change stream.
+ * Clients refetch the entity (or, for project assignments and reviews, the
+ * employee) when the version differs from the one they hold.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ChangeNotificationDto {
+
+    private String type;
+    private String id;
+    private Long employeeId;
+    private Long version;
+    private Boolean deleted;
+
+    public String getType() {
+        return type;
+    }
+    public void setType(String type) {
+        this.type = type;
+    }
+    public String getId() {
+        return id;
+    }
+    public void setId(String id) {
+        this.id = id;
+    }
+    public Long getEmployeeId() {
+        return employeeId;
+    }
+    public void setEmployeeId(Long employeeId) {
+        this.employeeId = employeeId;
+    }
+    public Long getVersion() {
+        return version;
+    }
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+    public Boolean getDeleted() {
+        return deleted;
+    }
+    public void setDeleted(Boolean deleted) {
+        this.deleted = deleted;
+    }
+
+    @Override
+    public String toString() {
+        return "ChangeNotificationDto [type=" + type + ", id=" + id + ", employeeId=" + employeeId + ", version="
+                + version + ", deleted=" + deleted + "]";
+    }
+
+}
@@ -0,0 +1,68 @@
+package com.crm.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+
+/**
+ * A department's review scores over a range of months: the totals of the
+ * whole range and the months that had reviews, oldest first.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+public class DepartmentReviewTrendDto {
+
+    private Integer departmentId;
+    private String departmentName;
+    private Long reviewCount;
+    private BigDecimal averageScore;
+    private BigDecimal scoreStdDev;
+    private List<ReviewMonthDto> months;
+
+    public Integer getDepartmentId() {
+        return departmentId;
+    }
+    public void setDepartmentId(Integer departmentId) {
+        this.departmentId = departmentId;
+    }
+    public String getDepartmentName() {
+        return departmentName;
+    }
+    public void setDepartmentName(String departmentName) {
+        this.departmentName = departmentName;
+    }
+    public Long getReviewCount() {
+        return reviewCount;
+    }
+    public void setReviewCount(Long reviewCount) {
+        this.reviewCount = reviewCount;
+    }
+    public BigDecimal getAverageScore() {
+        return averageScore;
+    }
+    public void setAverageScore(BigDecimal averageScore) {
+        this.averageScore = averageScore;
+    }
+    public BigDecimal getScoreStdDev() {
+        return scoreStdDev;
+    }
+    public void setScoreStdDev(BigDecimal scoreStdDev) {
+        this.scoreStdDev = scoreStdDev;
+    }
+    public List<ReviewMonthDto> getMonths() {
+        return months;
+    }
+    public void setMonths(List<ReviewMonthDto> months) {
+        this.months = months;
+    }
+
+    @Override
+    public String toString() {
+        return "DepartmentReviewTrendDto [departmentId=" + departmentId + ", departmentName=" + departmentName
+                + ", reviewCount=" + reviewCount + ", averageScore=" + averageScore + ", scoreStdDev="
+                + scoreStdDev + ", months=" + months + "]";
+    }
+
+}
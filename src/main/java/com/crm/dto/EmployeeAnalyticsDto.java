@@ -0,0 +1,72 @@
+package com.crm.dto;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+
+/**
+ * Employee statistics computed on the in-memory analytics snapshot taken at
+ * {@code snapshotAt} (epoch milliseconds): the totals over all employees and
+ * one entry per group, by group id. Salary histograms have equal-width bins
+ * starting at {@code histogramMin}; the last bin includes the maximum.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class EmployeeAnalyticsDto {
+
+    private String groupBy;
+    private Long snapshotAt;
+    private Double histogramMin;
+    private Double histogramBinWidth;
+    private AnalyticsGroupDto total;
+    private List<AnalyticsGroupDto> groups;
+
+    public String getGroupBy() {
+        return groupBy;
+    }
+    public void setGroupBy(String groupBy) {
+        this.groupBy = groupBy;
+    }
+    public Long getSnapshotAt() {
+        return snapshotAt;
+    }
+    public void setSnapshotAt(Long snapshotAt) {
+        this.snapshotAt = snapshotAt;
+    }
+    public Double getHistogramMin() {
+        return histogramMin;
+    }
+    public void setHistogramMin(Double histogramMin) {
+        this.histogramMin = histogramMin;
+    }
+    public Double getHistogramBinWidth() {
+        return histogramBinWidth;
+    }
+    public void setHistogramBinWidth(Double histogramBinWidth) {
+        this.histogramBinWidth = histogramBinWidth;
+    }
+    public AnalyticsGroupDto getTotal() {
+        return total;
+    }
+    public void setTotal(AnalyticsGroupDto total) {
+        this.total = total;
+    }
+    public List<AnalyticsGroupDto> getGroups() {
+        return groups;
+    }
+    public void setGroups(List<AnalyticsGroupDto> groups) {
+        this.groups = groups;
+    }
+
+    @Override
+    public String toString() {
+        return "EmployeeAnalyticsDto [groupBy=" + groupBy + ", snapshotAt=" + snapshotAt + ", histogramMin="
+                + histogramMin + ", histogramBinWidth=" + histogramBinWidth + ", total=" + total + ", groups="
+                + groups + "]";
+    }
+
+}
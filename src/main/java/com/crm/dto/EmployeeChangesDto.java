@@ -0,0 +1,54 @@
+package com.crm.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+
+/**
+ * Employees changed and deleted since a delta-sync token. When
+ * {@code resetRequired} is set the token was missing or too old to be served
+ * incrementally, and the client has to reload its list before continuing to
+ * sync from {@code token}.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+public class EmployeeChangesDto {
+
+    private String token;
+    private boolean resetRequired;
+    private List<EmployeeDto> modified;
+    private List<Long> deleted;
+
+    public String getToken() {
+        return token;
+    }
+    public void setToken(String token) {
+        this.token = token;
+    }
+    public boolean isResetRequired() {
+        return resetRequired;
+    }
+    public void setResetRequired(boolean resetRequired) {
+        this.resetRequired = resetRequired;
+    }
+    public List<EmployeeDto> getModified() {
+        return modified;
+    }
+    public void setModified(List<EmployeeDto> modified) {
+        this.modified = modified;
+    }
+    public List<Long> getDeleted() {
+        return deleted;
+    }
+    public void setDeleted(List<Long> deleted) {
+        this.deleted = deleted;
+    }
+
+    @Override
+    public String toString() {
+        return "EmployeeChangesDto [token=" + token + ", resetRequired=" + resetRequired + ", modified="
+                + (modified != null ? modified.size() : 0) + ", deleted=" + deleted + "]";
+    }
+
+}
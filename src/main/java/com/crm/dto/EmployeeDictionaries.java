@@ -0,0 +1,55 @@
+package com.crm.dto;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Entities shared by the employees of one response, collected while mapping.
+ *
+ * Every response uses it to map each project once and share the resulting
+ * {@link ProjectDto}. In normalized responses employees reference projects,
+ * departments and managers by id and these dictionaries are returned once in
+ * the {@link ResponseDto} instead.
+ */
+public class EmployeeDictionaries {
+
+    private final boolean normalized;
+    private final Map<Long, ProjectDto> projects = new LinkedHashMap<>();
+    private final Map<Integer, String> departments = new LinkedHashMap<>();
+    private final Map<Long, String> managers = new LinkedHashMap<>();
+
+    public EmployeeDictionaries(boolean normalized) {
+        this.normalized = normalized;
+    }
+
+    public boolean isNormalized() {
+        return normalized;
+    }
+    public Map<Long, ProjectDto> getProjects() {
+        return projects;
+    }
+    public Map<Integer, String> getDepartments() {
+        return departments;
+    }
+    public Map<Long, String> getManagers() {
+        return managers;
+    }
+
+    /**
+     * Attaches the dictionaries to a response, if it is normalized.
+     */
+    public void applyTo(ResponseDto response) {
+        if (normalized) {
+            response.setProjects(projects);
+            response.setDepartments(departments);
+            response.setManagers(managers);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "EmployeeDictionaries [normalized=" + normalized + ", projects=" + projects.size() + ", departments="
+                + departments.size() + ", managers=" + managers.size() + "]";
+    }
+
+}
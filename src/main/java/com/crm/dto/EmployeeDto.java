@@ -2,11 +2,20 @@ package com.crm.dto;
 
 import java.util.List;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import lombok.AllArgsConstructor;
 import lombok.NoArgsConstructor;
 
+/**
+ * Null properties are omitted: a sparse fieldset leaves unrequested
+ * properties unset, and normalized responses replace the manager, department
+ * and project details with the ids below.
+ */
 @NoArgsConstructor
 @AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class EmployeeDto {
 
     private Long id;
@@ -18,6 +27,13 @@ public class EmployeeDto {
     private String departmentName;
     private List<ReviewDto> performanceReviews;
     private List<ProjectDto> projects;
+    private Integer departmentId;
+    private Long managerId;
+    private List<Long> projectIds;
+    private ReviewSummaryDto reviewSummary;
+    // sent as the ETag of the employee detail rather than in the body
+    @JsonIgnore
+    private Long version;
    
     public Long getId() {
         return id;
@@ -73,12 +89,44 @@ public class EmployeeDto {
     public void setProjects(List<ProjectDto> projects) {
         this.projects = projects;
     }
+    public Integer getDepartmentId() {
+        return departmentId;
+    }
+    public void setDepartmentId(Integer departmentId) {
+        this.departmentId = departmentId;
+    }
+    public Long getManagerId() {
+        return managerId;
+    }
+    public void setManagerId(Long managerId) {
+        this.managerId = managerId;
+    }
+    public List<Long> getProjectIds() {
+        return projectIds;
+    }
+    public void setProjectIds(List<Long> projectIds) {
+        this.projectIds = projectIds;
+    }
+    public ReviewSummaryDto getReviewSummary() {
+        return reviewSummary;
+    }
+    public void setReviewSummary(ReviewSummaryDto reviewSummary) {
+        this.reviewSummary = reviewSummary;
+    }
+    public Long getVersion() {
+        return version;
+    }
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 
     @Override
     public String toString() {
         return "EmployeeDto [id=" + id + ", name=" + name + ", email=" + email + ", dateOfJoining=" + dateOfJoining
                 + ", salary=" + salary + ", managerName=" + managerName + ", departmentName=" + departmentName
-                + ", performanceReviews=" + performanceReviews + ", projects=" + projects + "]";
+                + ", performanceReviews=" + performanceReviews + ", projects=" + projects + ", departmentId="
+                + departmentId + ", managerId=" + managerId + ", projectIds=" + projectIds + ", reviewSummary="
+                + reviewSummary + ", version=" + version + "]";
     }
 
 }
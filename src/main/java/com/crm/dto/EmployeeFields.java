@@ -0,0 +1,128 @@
+package com.crm.dto;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The employee properties a caller asked for with the {@code fields}
+ * parameter, e.g. {@code fields=id,name,email,departmentName}.
+ *
+ * The employee queries use it to decide which associations to load: the
+ * department and manager are only fetch-joined, and projects, performance
+ * reviews and the review summary only loaded, when a property that needs them
+ * is requested. The id is always included.
+ */
+public class EmployeeFields {
+
+    public static final String ID = "id";
+    public static final String NAME = "name";
+    public static final String EMAIL = "email";
+    public static final String DATE_OF_JOINING = "dateOfJoining";
+    public static final String SALARY = "salary";
+    public static final String MANAGER_NAME = "managerName";
+    public static final String DEPARTMENT_NAME = "departmentName";
+    public static final String PERFORMANCE_REVIEWS = "performanceReviews";
+    public static final String PROJECTS = "projects";
+    public static final String REVIEW_SUMMARY = "reviewSummary";
+
+    private static final List<String> ALL_NAMES = List.of(ID, NAME, EMAIL, DATE_OF_JOINING, SALARY, MANAGER_NAME,
+            DEPARTMENT_NAME, PERFORMANCE_REVIEWS, PROJECTS, REVIEW_SUMMARY);
+
+    private static final EmployeeFields ALL = new EmployeeFields(new LinkedHashSet<>(ALL_NAMES));
+
+    private final Set<String> names;
+
+    private EmployeeFields(Set<String> names) {
+        this.names = Collections.unmodifiableSet(names);
+    }
+
+    /**
+     * Returns the full employee representation.
+     */
+    public static EmployeeFields all() {
+        return ALL;
+    }
+
+    /**
+     * Parses a comma-separated list of EmployeeDto property names. A missing or
+     * blank list selects every property.
+     *
+     * @param fields the value of the fields parameter, may be null
+     * @return the requested fields, always including the id
+     * @throws IllegalArgumentException if a name is not an EmployeeDto property
+     */
+    public static EmployeeFields parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+        Set<String> names = new LinkedHashSet<>();
+        names.add(ID);
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            if (!ALL_NAMES.contains(trimmed)) {
+                throw new IllegalArgumentException("Unknown employee field '" + trimmed + "', expected one of "
+                        + ALL_NAMES);
+            }
+            names.add(trimmed);
+        }
+        return names.size() == ALL_NAMES.size() ? ALL : new EmployeeFields(names);
+    }
+
+    public boolean includes(String field) {
+        return names.contains(field);
+    }
+
+    public boolean isAll() {
+        return this == ALL;
+    }
+
+    public Set<String> getNames() {
+        return names;
+    }
+
+    /**
+     * Whether the department has to be joined.
+     */
+    public boolean needsDepartment() {
+        return includes(DEPARTMENT_NAME);
+    }
+
+    /**
+     * Whether the manager has to be joined.
+     */
+    public boolean needsManager() {
+        return includes(MANAGER_NAME);
+    }
+
+    /**
+     * Whether the employee's projects have to be loaded.
+     */
+    public boolean needsProjects() {
+        return includes(PROJECTS);
+    }
+
+    /**
+     * Whether the employee's performance reviews have to be loaded.
+     */
+    public boolean needsReviews() {
+        return includes(PERFORMANCE_REVIEWS);
+    }
+
+    /**
+     * Whether the employee's review summary has to be loaded.
+     */
+    public boolean needsReviewSummary() {
+        return includes(REVIEW_SUMMARY);
+    }
+
+    @Override
+    public String toString() {
+        return String.join(",", names);
+    }
+
+}
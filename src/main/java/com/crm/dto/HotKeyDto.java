@@ -0,0 +1,31 @@
+package com.crm.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+
+@AllArgsConstructor
+@NoArgsConstructor
+public class HotKeyDto {
+
+    private String key;
+    private Long estimatedCount;
+
+    public String getKey() {
+        return key;
+    }
+    public void setKey(String key) {
+        this.key = key;
+    }
+    public Long getEstimatedCount() {
+        return estimatedCount;
+    }
+    public void setEstimatedCount(Long estimatedCount) {
+        this.estimatedCount = estimatedCount;
+    }
+
+    @Override
+    public String toString() {
+        return "HotKeyDto [key=" + key + ", estimatedCount=" + estimatedCount + "]";
+    }
+
+}
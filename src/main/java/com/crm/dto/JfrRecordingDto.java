@@ -0,0 +1,73 @@
+package com.crm.dto;
+
+import java.util.Date;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+
+@AllArgsConstructor
+@NoArgsConstructor
+public class JfrRecordingDto {
+
+    private Long id;
+    private String name;
+    private String state;
+    private String file;
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd HH:mm:ss")
+    private Date startTime;
+    private Long durationSeconds;
+    private Long maxSizeBytes;
+
+    public Long getId() {
+        return id;
+    }
+    public void setId(Long id) {
+        this.id = id;
+    }
+    public String getName() {
+        return name;
+    }
+    public void setName(String name) {
+        this.name = name;
+    }
+    public String getState() {
+        return state;
+    }
+    public void setState(String state) {
+        this.state = state;
+    }
+    public String getFile() {
+        return file;
+    }
+    public void setFile(String file) {
+        this.file = file;
+    }
+    public Date getStartTime() {
+        return startTime;
+    }
+    public void setStartTime(Date startTime) {
+        this.startTime = startTime;
+    }
+    public Long getDurationSeconds() {
+        return durationSeconds;
+    }
+    public void setDurationSeconds(Long durationSeconds) {
+        this.durationSeconds = durationSeconds;
+    }
+    public Long getMaxSizeBytes() {
+        return maxSizeBytes;
+    }
+    public void setMaxSizeBytes(Long maxSizeBytes) {
+        this.maxSizeBytes = maxSizeBytes;
+    }
+
+    @Override
+    public String toString() {
+        return "JfrRecordingDto [id=" + id + ", name=" + name + ", state=" + state + ", file=" + file
+                + ", startTime=" + startTime + ", durationSeconds=" + durationSeconds + ", maxSizeBytes="
+                + maxSizeBytes + "]";
+    }
+
+}
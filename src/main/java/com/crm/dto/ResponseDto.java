@@ -1,8 +1,10 @@
 package com.crm.dto;
 
 import java.util.Date;
+import java.util.Map;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
 
 import lombok.AllArgsConstructor;
 import lombok.NoArgsConstructor;
@@ -18,6 +20,23 @@ public class ResponseDto {
     private String message;
     private String errorCode;
     private Object data;
+    // dictionaries of normalized employee responses, see EmployeeDictionaries
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Map<Long, ProjectDto> projects;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Map<Integer, String> departments;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Map<Long, String> managers;
+
+    public ResponseDto(Boolean success, Date timeStamp, Integer count, String message, String errorCode,
+            Object data) {
+        this.success = success;
+        this.timeStamp = timeStamp;
+        this.count = count;
+        this.message = message;
+        this.errorCode = errorCode;
+        this.data = data;
+    }
 
     public Boolean getSuccess() {
         return success;
@@ -55,11 +74,30 @@ public class ResponseDto {
     public void setData(Object data) {
         this.data = data;
     }
+    public Map<Long, ProjectDto> getProjects() {
+        return projects;
+    }
+    public void setProjects(Map<Long, ProjectDto> projects) {
+        this.projects = projects;
+    }
+    public Map<Integer, String> getDepartments() {
+        return departments;
+    }
+    public void setDepartments(Map<Integer, String> departments) {
+        this.departments = departments;
+    }
+    public Map<Long, String> getManagers() {
+        return managers;
+    }
+    public void setManagers(Map<Long, String> managers) {
+        this.managers = managers;
+    }
 
      @Override
     public String toString() {
         return "ResponseDto [success=" + success + ", timeStamp=" + timeStamp + ", count=" + count + ", message="
-                + message + ", errorCode=" + errorCode + ", data=" + data + "]";
+                + message + ", errorCode=" + errorCode + ", data=" + data + ", projects=" + projects + ", departments="
+                + departments + ", managers=" + managers + "]";
     }
 
 }
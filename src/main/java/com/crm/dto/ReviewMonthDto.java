@@ -0,0 +1,51 @@
+package com.crm.dto;
+
+import java.math.BigDecimal;
+
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+
+/**
+ * Review scores of one department in one month (yyyy-MM), from its rollup.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReviewMonthDto {
+
+    private String month;
+    private Long reviewCount;
+    private BigDecimal averageScore;
+    private BigDecimal scoreStdDev;
+
+    public String getMonth() {
+        return month;
+    }
+    public void setMonth(String month) {
+        this.month = month;
+    }
+    public Long getReviewCount() {
+        return reviewCount;
+    }
+    public void setReviewCount(Long reviewCount) {
+        this.reviewCount = reviewCount;
+    }
+    public BigDecimal getAverageScore() {
+        return averageScore;
+    }
+    public void setAverageScore(BigDecimal averageScore) {
+        this.averageScore = averageScore;
+    }
+    public BigDecimal getScoreStdDev() {
+        return scoreStdDev;
+    }
+    public void setScoreStdDev(BigDecimal scoreStdDev) {
+        this.scoreStdDev = scoreStdDev;
+    }
+
+    @Override
+    public String toString() {
+        return "ReviewMonthDto [month=" + month + ", reviewCount=" + reviewCount + ", averageScore=" + averageScore
+                + ", scoreStdDev=" + scoreStdDev + "]";
+    }
+
+}
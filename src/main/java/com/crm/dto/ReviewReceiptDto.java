@@ -0,0 +1,45 @@
+package com.crm.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+
+/**
+ * Acknowledgement of a review submission. The review id is only known once
+ * the review has been written.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ReviewReceiptDto {
+
+    private Long employeeId;
+    private Long reviewId;
+    private boolean flushed;
+
+    public Long getEmployeeId() {
+        return employeeId;
+    }
+    public void setEmployeeId(Long employeeId) {
+        this.employeeId = employeeId;
+    }
+    public Long getReviewId() {
+        return reviewId;
+    }
+    public void setReviewId(Long reviewId) {
+        this.reviewId = reviewId;
+    }
+    public boolean isFlushed() {
+        return flushed;
+    }
+    public void setFlushed(boolean flushed) {
+        this.flushed = flushed;
+    }
+
+    @Override
+    public String toString() {
+        return "ReviewReceiptDto [employeeId=" + employeeId + ", reviewId=" + reviewId + ", flushed=" + flushed + "]";
+    }
+
+}
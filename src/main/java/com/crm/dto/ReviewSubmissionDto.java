@@ -0,0 +1,52 @@
+package com.crm.dto;
+
+import java.math.BigDecimal;
+
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+
+/**
+ * A performance review submitted for an employee. The review date is an ISO
+ * date (yyyy-MM-dd) and defaults to today.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReviewSubmissionDto {
+
+    private Long employeeId;
+    private String reviewDate;
+    private BigDecimal score;
+    private String comments;
+
+    public Long getEmployeeId() {
+        return employeeId;
+    }
+    public void setEmployeeId(Long employeeId) {
+        this.employeeId = employeeId;
+    }
+    public String getReviewDate() {
+        return reviewDate;
+    }
+    public void setReviewDate(String reviewDate) {
+        this.reviewDate = reviewDate;
+    }
+    public BigDecimal getScore() {
+        return score;
+    }
+    public void setScore(BigDecimal score) {
+        this.score = score;
+    }
+    public String getComments() {
+        return comments;
+    }
+    public void setComments(String comments) {
+        this.comments = comments;
+    }
+
+    @Override
+    public String toString() {
+        return "ReviewSubmissionDto [employeeId=" + employeeId + ", reviewDate=" + reviewDate + ", score=" + score
+                + "]";
+    }
+
+}
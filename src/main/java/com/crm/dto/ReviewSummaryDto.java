@@ -0,0 +1,76 @@
+package com.crm.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+
+/**
+ * Aggregates of an employee's performance reviews, read from the
+ * employee_review_summary row rather than computed over the reviews. The
+ * score properties are null for an employee without reviews.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReviewSummaryDto {
+
+    private Integer reviewCount;
+    private BigDecimal averageScore;
+    private BigDecimal minScore;
+    private BigDecimal maxScore;
+    private BigDecimal latestScore;
+    private String latestReviewDate;
+    private List<Long> recentReviewIds;
+
+    public Integer getReviewCount() {
+        return reviewCount;
+    }
+    public void setReviewCount(Integer reviewCount) {
+        this.reviewCount = reviewCount;
+    }
+    public BigDecimal getAverageScore() {
+        return averageScore;
+    }
+    public void setAverageScore(BigDecimal averageScore) {
+        this.averageScore = averageScore;
+    }
+    public BigDecimal getMinScore() {
+        return minScore;
+    }
+    public void setMinScore(BigDecimal minScore) {
+        this.minScore = minScore;
+    }
+    public BigDecimal getMaxScore() {
+        return maxScore;
+    }
+    public void setMaxScore(BigDecimal maxScore) {
+        this.maxScore = maxScore;
+    }
+    public BigDecimal getLatestScore() {
+        return latestScore;
+    }
+    public void setLatestScore(BigDecimal latestScore) {
+        this.latestScore = latestScore;
+    }
+    public String getLatestReviewDate() {
+        return latestReviewDate;
+    }
+    public void setLatestReviewDate(String latestReviewDate) {
+        this.latestReviewDate = latestReviewDate;
+    }
+    public List<Long> getRecentReviewIds() {
+        return recentReviewIds;
+    }
+    public void setRecentReviewIds(List<Long> recentReviewIds) {
+        this.recentReviewIds = recentReviewIds;
+    }
+
+    @Override
+    public String toString() {
+        return "ReviewSummaryDto [reviewCount=" + reviewCount + ", averageScore=" + averageScore + ", minScore="
+                + minScore + ", maxScore=" + maxScore + ", latestScore=" + latestScore + ", latestReviewDate="
+                + latestReviewDate + ", recentReviewIds=" + recentReviewIds + "]";
+    }
+
+}
@@ -0,0 +1,44 @@
+package com.crm.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+
+/**
+ * Review score trend from month {@code from} to month {@code to} (yyyy-MM,
+ * both included) for the departments that had reviews in that range.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReviewTrendDto {
+
+    private String from;
+    private String to;
+    private List<DepartmentReviewTrendDto> departments;
+
+    public String getFrom() {
+        return from;
+    }
+    public void setFrom(String from) {
+        this.from = from;
+    }
+    public String getTo() {
+        return to;
+    }
+    public void setTo(String to) {
+        this.to = to;
+    }
+    public List<DepartmentReviewTrendDto> getDepartments() {
+        return departments;
+    }
+    public void setDepartments(List<DepartmentReviewTrendDto> departments) {
+        this.departments = departments;
+    }
+
+    @Override
+    public String toString() {
+        return "ReviewTrendDto [from=" + from + ", to=" + to + ", departments=" + departments + "]";
+    }
+
+}
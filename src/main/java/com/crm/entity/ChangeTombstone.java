@@ -0,0 +1,101 @@
+package com.crm.entity;
+
+import java.util.Date;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Records the deletion of an employee, project assignment or performance
+ * review so that delta-sync clients can be told about it.
+ */
+@Entity
+@Table(name = "change_tombstone")
+public class ChangeTombstone {
+
+    public static final String EMPLOYEE = "employee";
+    public static final String EMPLOYEE_PROJECT = "employee_project";
+    public static final String PERFORMANCE_REVIEW = "performance_review";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "entity_type", length = 30)
+    @NotNull
+    private String entityType;
+
+    @Column(name = "entity_id", length = 50)
+    @NotNull
+    private String entityId;
+
+    @Column(name = "employee_id")
+    @NotNull
+    private Long employeeId;
+
+    @Column(name = "deleted_at")
+    @NotNull
+    private Date deletedAt;
+
+    public ChangeTombstone() {
+    }
+
+    public ChangeTombstone(String entityType, String entityId, Long employeeId, Date deletedAt) {
+        this.entityType = entityType;
+        this.entityId = entityId;
+        this.employeeId = employeeId;
+        this.deletedAt = deletedAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getEntityType() {
+        return entityType;
+    }
+
+    public void setEntityType(String entityType) {
+        this.entityType = entityType;
+    }
+
+    public String getEntityId() {
+        return entityId;
+    }
+
+    public void setEntityId(String entityId) {
+        this.entityId = entityId;
+    }
+
+    public Long getEmployeeId() {
+        return employeeId;
+    }
+
+    public void setEmployeeId(Long employeeId) {
+        this.employeeId = employeeId;
+    }
+
+    public Date getDeletedAt() {
+        return deletedAt;
+    }
+
+    public void setDeletedAt(Date deletedAt) {
+        this.deletedAt = deletedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "ChangeTombstone [id=" + id + ", entityType=" + entityType + ", entityId=" + entityId
+                + ", employeeId=" + employeeId + ", deletedAt=" + deletedAt + "]";
+    }
+
+}
@@ -3,8 +3,11 @@ package com.crm.entity;
 import java.math.BigDecimal;
 import java.util.List;
 
+import com.crm.changes.ChangeTrackingListener;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
@@ -13,6 +16,7 @@ import jakarta.persistence.Table;
 
 @Entity
 @Table(name = "department")
+@EntityListeners(ChangeTrackingListener.class)
 public class Department {
 
     @Id
@@ -0,0 +1,75 @@
+package com.crm.entity;
+
+import java.math.BigDecimal;
+
+import org.hibernate.annotations.Immutable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+
+/**
+ * Review count, score sum and sum of squared scores of one department for
+ * one month. Read-only here: the rows are written by
+ * {@link com.crm.reviews.ReviewRollupStore} whenever a review is written.
+ */
+@Entity
+@Immutable
+@Table(name = "department_review_rollup")
+public class DepartmentReviewRollup {
+
+    @EmbeddedId
+    private DepartmentReviewRollupId id;
+
+    @Column(name = "review_count")
+    private long reviewCount;
+
+    @Column(name = "score_sum", precision = 16, scale = 2)
+    private BigDecimal scoreSum;
+
+    @Column(name = "score_sum_squares", precision = 18, scale = 4)
+    private BigDecimal scoreSumSquares;
+
+    public DepartmentReviewRollup() {
+    }
+
+    public DepartmentReviewRollupId getId() {
+        return id;
+    }
+
+    public void setId(DepartmentReviewRollupId id) {
+        this.id = id;
+    }
+
+    public long getReviewCount() {
+        return reviewCount;
+    }
+
+    public void setReviewCount(long reviewCount) {
+        this.reviewCount = reviewCount;
+    }
+
+    public BigDecimal getScoreSum() {
+        return scoreSum;
+    }
+
+    public void setScoreSum(BigDecimal scoreSum) {
+        this.scoreSum = scoreSum;
+    }
+
+    public BigDecimal getScoreSumSquares() {
+        return scoreSumSquares;
+    }
+
+    public void setScoreSumSquares(BigDecimal scoreSumSquares) {
+        this.scoreSumSquares = scoreSumSquares;
+    }
+
+    @Override
+    public String toString() {
+        return "DepartmentReviewRollup [id=" + id + ", reviewCount=" + reviewCount + ", scoreSum=" + scoreSum
+                + ", scoreSumSquares=" + scoreSumSquares + "]";
+    }
+
+}
@@ -0,0 +1,67 @@
+package com.crm.entity;
+
+import java.io.Serializable;
+import java.util.Date;
+import java.util.Objects;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.Temporal;
+import jakarta.persistence.TemporalType;
+
+@Embeddable
+public class DepartmentReviewRollupId implements Serializable {
+
+    @Column(name = "department_id")
+    private Integer departmentId;
+
+    @Column(name = "bucket_month")
+    @Temporal(TemporalType.DATE)
+    private Date bucketMonth;
+
+    public DepartmentReviewRollupId() {
+    }
+
+    public DepartmentReviewRollupId(Integer departmentId, Date bucketMonth) {
+        this.departmentId = departmentId;
+        this.bucketMonth = bucketMonth;
+    }
+
+    public Integer getDepartmentId() {
+        return departmentId;
+    }
+
+    public void setDepartmentId(Integer departmentId) {
+        this.departmentId = departmentId;
+    }
+
+    public Date getBucketMonth() {
+        return bucketMonth;
+    }
+
+    public void setBucketMonth(Date bucketMonth) {
+        this.bucketMonth = bucketMonth;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof DepartmentReviewRollupId other)) {
+            return false;
+        }
+        return Objects.equals(departmentId, other.departmentId) && Objects.equals(bucketMonth, other.bucketMonth);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(departmentId, bucketMonth);
+    }
+
+    @Override
+    public String toString() {
+        return "DepartmentReviewRollupId [departmentId=" + departmentId + ", bucketMonth=" + bucketMonth + "]";
+    }
+
+}
@@ -5,9 +5,14 @@ import java.util.Date;
 import java.util.List;
 import java.util.Set;
 
+import org.hibernate.annotations.UpdateTimestamp;
+
+import com.crm.changes.ChangeTrackingListener;
+
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
@@ -19,11 +24,13 @@ import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.OrderBy;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotNull;
 
 @Entity
 @Table(name = "employee")
+@EntityListeners(ChangeTrackingListener.class)
 public class Employee {
 
     @Id
@@ -39,7 +46,7 @@ public class Employee {
     @NotNull
     private String email;
 
-    @ManyToOne(cascade = CascadeType.ALL, fetch = FetchType.EAGER, targetEntity = Department.class)
+    @ManyToOne(cascade = CascadeType.ALL, fetch = FetchType.LAZY, targetEntity = Department.class)
     @JoinColumn(name = "department_id", referencedColumnName = "id")
     @NotNull
     private Department department;
@@ -52,7 +59,7 @@ public class Employee {
     @NotNull
     private Double salary;
 
-    @ManyToOne(cascade = CascadeType.ALL, fetch = FetchType.EAGER, targetEntity = Employee.class)
+    @ManyToOne(cascade = CascadeType.ALL, fetch = FetchType.LAZY, targetEntity = Employee.class)
     @JoinColumn(name = "manager_id", referencedColumnName = "id")
     private Employee manager;
 
@@ -70,6 +77,16 @@ public class Employee {
     @JoinTable(name = "employee_project", joinColumns = @JoinColumn(name = "employee_id"), inverseJoinColumns = @JoinColumn(name = "project_id"))
     private Set<Project> projects;
 
+    // maintained by Hibernate for application writes and by the column's ON UPDATE for other writers
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private Date updatedAt;
+
+    // also incremented when the employee's project assignments or reviews change, see ChangeTrackingListener
+    @Version
+    @Column(name = "version")
+    private Long version;
+
     public Employee() {
     }
 
@@ -173,6 +190,22 @@ public class Employee {
         this.projects = projects;
     }
 
+    public Date getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Date updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     @Override
     public String toString() {
         return "Employee [id=" + id + ", name=" + name + ", email=" + email + ", department=" + department
@@ -181,4 +214,4 @@ public class Employee {
                 + ", projects=" + projects + "]";
     }
 
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -2,9 +2,14 @@ package com.crm.entity;
 
 import java.util.Date;
 
+import org.hibernate.annotations.UpdateTimestamp;
+
+import com.crm.changes.ChangeTrackingListener;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.EmbeddedId;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.MapsId;
@@ -13,6 +18,7 @@ import jakarta.validation.constraints.NotNull;
 
 @Entity
 @Table(name = "employee_project")
+@EntityListeners(ChangeTrackingListener.class)
 public class EmployeeProject {
 
     @EmbeddedId
@@ -37,6 +43,10 @@ public class EmployeeProject {
     @Column(name = "role", length = 50)
     private String role;
 
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private Date updatedAt;
+
     public EmployeeProject() {
     }
 
@@ -89,6 +99,14 @@ public class EmployeeProject {
         this.role = role;
     }
 
+    public Date getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Date updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
     @Override
     public String toString() {
         return "EmployeeProject [id=" + id.toString() + ", employee=" + employee + ", project=" + project + ", assignedDate="
@@ -97,4 +115,4 @@ public class EmployeeProject {
 
     
 
-}
\ No newline at end of file
+}
\ No newline at end of file
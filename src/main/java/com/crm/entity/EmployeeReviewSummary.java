@@ -0,0 +1,136 @@
+package com.crm.entity;
+
+import java.math.BigDecimal;
+import java.util.Date;
+
+import org.hibernate.annotations.Immutable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.Temporal;
+import jakarta.persistence.TemporalType;
+
+/**
+ * Aggregates of an employee's performance reviews. Read-only here: the rows
+ * are written by {@link com.crm.reviews.ReviewSummaryStore} whenever a review
+ * is written, and exist only for employees with at least one review.
+ */
+@Entity
+@Immutable
+@Table(name = "employee_review_summary")
+public class EmployeeReviewSummary {
+
+    @Id
+    @Column(name = "employee_id")
+    private Long employeeId;
+
+    @Column(name = "review_count")
+    private int reviewCount;
+
+    @Column(name = "score_sum", precision = 14, scale = 2)
+    private BigDecimal scoreSum;
+
+    @Column(name = "min_score", precision = 2, scale = 2)
+    private BigDecimal minScore;
+
+    @Column(name = "max_score", precision = 2, scale = 2)
+    private BigDecimal maxScore;
+
+    @Column(name = "latest_review_id")
+    private Long latestReviewId;
+
+    @Column(name = "latest_review_date")
+    @Temporal(TemporalType.DATE)
+    private Date latestReviewDate;
+
+    @Column(name = "latest_score", precision = 2, scale = 2)
+    private BigDecimal latestScore;
+
+    // comma-separated, newest first
+    @Column(name = "recent_review_ids", length = 200)
+    private String recentReviewIds;
+
+    public EmployeeReviewSummary() {
+    }
+
+    public Long getEmployeeId() {
+        return employeeId;
+    }
+
+    public void setEmployeeId(Long employeeId) {
+        this.employeeId = employeeId;
+    }
+
+    public int getReviewCount() {
+        return reviewCount;
+    }
+
+    public void setReviewCount(int reviewCount) {
+        this.reviewCount = reviewCount;
+    }
+
+    public BigDecimal getScoreSum() {
+        return scoreSum;
+    }
+
+    public void setScoreSum(BigDecimal scoreSum) {
+        this.scoreSum = scoreSum;
+    }
+
+    public BigDecimal getMinScore() {
+        return minScore;
+    }
+
+    public void setMinScore(BigDecimal minScore) {
+        this.minScore = minScore;
+    }
+
+    public BigDecimal getMaxScore() {
+        return maxScore;
+    }
+
+    public void setMaxScore(BigDecimal maxScore) {
+        this.maxScore = maxScore;
+    }
+
+    public Long getLatestReviewId() {
+        return latestReviewId;
+    }
+
+    public void setLatestReviewId(Long latestReviewId) {
+        this.latestReviewId = latestReviewId;
+    }
+
+    public Date getLatestReviewDate() {
+        return latestReviewDate;
+    }
+
+    public void setLatestReviewDate(Date latestReviewDate) {
+        this.latestReviewDate = latestReviewDate;
+    }
+
+    public BigDecimal getLatestScore() {
+        return latestScore;
+    }
+
+    public void setLatestScore(BigDecimal latestScore) {
+        this.latestScore = latestScore;
+    }
+
+    public String getRecentReviewIds() {
+        return recentReviewIds;
+    }
+
+    public void setRecentReviewIds(String recentReviewIds) {
+        this.recentReviewIds = recentReviewIds;
+    }
+
+    @Override
+    public String toString() {
+        return "EmployeeReviewSummary [employeeId=" + employeeId + ", reviewCount=" + reviewCount + ", scoreSum="
+                + scoreSum + ", latestReviewId=" + latestReviewId + ", recentReviewIds=" + recentReviewIds + "]";
+    }
+
+}
@@ -3,8 +3,15 @@ package com.crm.entity;
 import java.math.BigDecimal;
 import java.util.Date;
 
+import org.hibernate.annotations.UpdateTimestamp;
+
+import com.crm.changes.ChangeTrackingListener;
+import com.crm.reviews.ReviewRollupListener;
+import com.crm.reviews.ReviewSummaryListener;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
@@ -13,12 +20,14 @@ import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
 import jakarta.persistence.Temporal;
 import jakarta.persistence.TemporalType;
+import jakarta.persistence.Transient;
 import jakarta.validation.constraints.DecimalMax;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotNull;
 
 @Entity
 @Table(name = "performance_review")
+@EntityListeners({ ChangeTrackingListener.class, ReviewSummaryListener.class, ReviewRollupListener.class })
 public class PerformanceReview implements Comparable<PerformanceReview> {
 
     @Id
@@ -44,6 +53,18 @@ public class PerformanceReview implements Comparable<PerformanceReview> {
     @Column(name = "review_comments", length = 200)
     private String reviewComments;
 
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private Date updatedAt;
+
+    // review date and score as last read from or written to the database,
+    // which ReviewRollupListener takes back out of the rollups on change
+    @Transient
+    private Date storedReviewDate;
+
+    @Transient
+    private BigDecimal storedScore;
+
     public PerformanceReview() {
     }
 
@@ -97,6 +118,30 @@ public class PerformanceReview implements Comparable<PerformanceReview> {
         this.reviewComments = reviewComments;
     }
 
+    public Date getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Date updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public Date getStoredReviewDate() {
+        return storedReviewDate;
+    }
+
+    public BigDecimal getStoredScore() {
+        return storedScore;
+    }
+
+    /**
+     * Records the current review date and score as the database state.
+     */
+    public void markStored() {
+        this.storedReviewDate = reviewDate;
+        this.storedScore = score;
+    }
+
     @Override
     public String toString() {
         return "PerformanceReview [id=" + id + ", employee=" + employee + ", reviewDate=" + reviewDate + ", score="
@@ -108,4 +153,4 @@ public class PerformanceReview implements Comparable<PerformanceReview> {
         return o.getReviewDate().compareTo(this.getReviewDate()); 
     }
 
-}
\ No newline at end of file
+}
\ No newline at end of file
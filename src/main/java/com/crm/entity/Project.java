@@ -3,8 +3,11 @@ package com.crm.entity;
 import java.util.Date;
 import java.util.List;
 
+import com.crm.changes.ChangeTrackingListener;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
@@ -17,6 +20,7 @@ import jakarta.validation.constraints.NotNull;
 
 @Entity
 @Table(name = "project")
+@EntityListeners(ChangeTrackingListener.class)
 public class Project {
 
     @Id
@@ -118,4 +122,4 @@ public class Project {
                 + "]";
     }
 
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -0,0 +1,18 @@
+package com.crm.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when an admin endpoint is called without the configured admin
+ * token, or while admin endpoints are disabled. Mapped to 403 by
+ * {@link GlobalExceptionHandler}.
+ */
+@ResponseStatus(value = HttpStatus.FORBIDDEN)
+public class AdminAccessDeniedException extends RuntimeException {
+
+    public AdminAccessDeniedException(String message) {
+        super(message);
+    }
+
+}
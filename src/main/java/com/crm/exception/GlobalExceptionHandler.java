@@ -5,6 +5,7 @@ import java.util.stream.Collectors;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.orm.jpa.JpaObjectRetrievalFailureException;
@@ -56,6 +57,33 @@ public class GlobalExceptionHandler {
             0);
     }
 
+    /**
+     * Handles requests shed because an endpoint class is at capacity.
+     */
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<ResponseDto> handleServiceOverloadedException(ServiceOverloadedException ex) {
+        LOGGER.warn("Request rejected: {}", ex.getMessage());
+        ResponseEntity<ResponseDto> response = createErrorResponse(
+            HttpStatus.SERVICE_UNAVAILABLE,
+            ex.getMessage(),
+            0);
+        return ResponseEntity.status(response.getStatusCode())
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+            .body(response.getBody());
+    }
+
+    /**
+     * Handles admin requests without a valid admin token.
+     */
+    @ExceptionHandler(AdminAccessDeniedException.class)
+    public ResponseEntity<ResponseDto> handleAdminAccessDeniedException(AdminAccessDeniedException ex) {
+        LOGGER.warn("Admin request rejected: {}", ex.getMessage());
+        return createErrorResponse(
+            HttpStatus.FORBIDDEN,
+            ex.getMessage(),
+            0);
+    }
+
     /**
      * Handles JPA entity retrieval failures.
      */
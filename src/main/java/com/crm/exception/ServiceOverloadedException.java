@@ -0,0 +1,25 @@
+package com.crm.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when a request is rejected because the concurrency budget of the
+ * endpoint class it belongs to is exhausted. Mapped to 503 with a
+ * Retry-After header by {@link GlobalExceptionHandler}.
+ */
+@ResponseStatus(value = HttpStatus.SERVICE_UNAVAILABLE)
+public class ServiceOverloadedException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ServiceOverloadedException(String resourceName, long retryAfterSeconds) {
+        super(String.format("%s is at capacity, retry after %d seconds", resourceName, retryAfterSeconds));
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+}
@@ -0,0 +1,115 @@
+package com.crm.filter;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.ThreadContext;
+import org.apache.logging.log4j.message.StringMapMessage;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.crm.diagnostics.AccessLog;
+import com.crm.diagnostics.AccessLogProperties;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Writes one structured record per request to the asynchronous {@code ACCESS}
+ * logger, sampled per endpoint.
+ *
+ * The record carries the request id, endpoint pattern, status and duration
+ * plus whatever fields the handler added through {@link AccessLog}. Slow and
+ * failed requests are always logged. An asynchronous request is logged when
+ * it completes, with its final status and full duration.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class AccessLogFilter extends OncePerRequestFilter {
+
+    private static final Logger ACCESS = LogManager.getLogger("ACCESS");
+
+    private final AccessLogProperties properties;
+
+    public AccessLogFilter(AccessLogProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (!properties.isEnabled() || !ACCESS.isInfoEnabled()) {
+            chain.doFilter(request, response);
+            return;
+        }
+        StringMapMessage record = AccessLog.start();
+        long start = System.nanoTime();
+        int status = HttpServletResponse.SC_INTERNAL_SERVER_ERROR;
+        try {
+            chain.doFilter(request, response);
+            status = response.getStatus();
+        } finally {
+            AccessLog.stop();
+            String requestId = String.valueOf(ThreadContext.get(RequestIdFilter.REQUEST_ID_KEY));
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        write(record, requestId, request, response.getStatus(), start);
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+            } else {
+                write(record, requestId, request, status, start);
+            }
+        }
+    }
+
+    private void write(StringMapMessage record, String requestId, HttpServletRequest request, int status,
+            long start) {
+        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String endpoint = pattern != null ? pattern.toString() : request.getRequestURI();
+        if (shouldLog(endpoint, status, millis)) {
+            record.with("requestId", requestId)
+                    .with("method", request.getMethod())
+                    .with("endpoint", endpoint)
+                    .with("status", String.valueOf(status))
+                    .with("durationMs", String.valueOf(millis));
+            ACCESS.info(record);
+        }
+    }
+
+    /**
+     * Always keeps slow and failed requests; samples the rest per endpoint.
+     */
+    private boolean shouldLog(String endpoint, int status, long millis) {
+        if (status >= properties.getAlwaysLogStatus() || millis >= properties.getSlowThresholdMillis()) {
+            return true;
+        }
+        double rate = properties.sampleRateFor(endpoint);
+        return rate >= 1.0 || (rate > 0 && ThreadLocalRandom.current().nextDouble() < rate);
+    }
+
+}
@@ -0,0 +1,90 @@
+package com.crm.filter;
+
+import java.io.IOException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.WebUtils;
+
+import com.crm.config.AdminAccessInterceptor;
+import com.crm.diagnostics.RequestTimings;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Returns a per-phase timing breakdown in the {@code Server-Timing} header for
+ * requests that send {@code X-Debug-Timing} together with the admin token.
+ * The breakdown exposes internal SQL and mapper timings, and buffering large
+ * responses costs memory, so without the token the header is ignored.
+ *
+ * The response body of timed requests is buffered so that the header can
+ * still be set after serialization has been measured; other requests pass
+ * straight through, and so do the event streams under {@code /stream}, which
+ * must never be buffered. For an asynchronous request the body is written by
+ * the async dispatch, so the header is set and the body released only once
+ * that dispatch is done.
+ */
+@Component
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    public static final String DEBUG_TIMING_HEADER = "X-Debug-Timing";
+    public static final String SERVER_TIMING_HEADER = "Server-Timing";
+
+    private static final String STREAM_PATH = "/stream/";
+    private static final String TIMINGS_ATTRIBUTE = ServerTimingFilter.class.getName() + ".timings";
+
+    private final AdminAccessInterceptor adminAccess;
+
+    public ServerTimingFilter(@Value("${config.admin.token:}") String adminToken) {
+        this.adminAccess = new AdminAccessInterceptor(adminToken);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getHeader(DEBUG_TIMING_HEADER) == null
+                || request.getRequestURI().startsWith(request.getContextPath() + STREAM_PATH)
+                || !adminAccess.isAuthorized(request);
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        ContentCachingResponseWrapper wrapper;
+        RequestTimings timings;
+        if (isAsyncDispatch(request)) {
+            wrapper = WebUtils.getNativeResponse(response, ContentCachingResponseWrapper.class);
+            timings = (RequestTimings) request.getAttribute(TIMINGS_ATTRIBUTE);
+            if (wrapper == null || timings == null) {
+                chain.doFilter(request, response);
+                return;
+            }
+            RequestTimings.resume(timings);
+        } else {
+            wrapper = new ContentCachingResponseWrapper(response);
+            timings = RequestTimings.start();
+        }
+        try {
+            chain.doFilter(request, wrapper);
+        } finally {
+            RequestTimings.stop();
+            if (isAsyncStarted(request)) {
+                request.setAttribute(TIMINGS_ATTRIBUTE, timings);
+            } else {
+                request.removeAttribute(TIMINGS_ATTRIBUTE);
+                wrapper.setHeader(SERVER_TIMING_HEADER, timings.toHeaderValue());
+                wrapper.copyBodyToResponse();
+            }
+        }
+    }
+
+}
@@ -0,0 +1,83 @@
+package com.crm.hotkeys;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Concurrent count-min sketch: a fixed {@code depth x width} grid of counters
+ * giving an upper-bound frequency estimate for any key in constant memory.
+ *
+ * Increments are lock-free; {@link #halve()} ages all counters so estimates
+ * follow recent traffic rather than all-time totals.
+ */
+class CountMinSketch {
+
+    private final int depth;
+    private final int mask;
+    private final AtomicLongArray counters;
+
+    /**
+     * @param depth number of hash rows; more rows reduce the chance of an overestimate
+     * @param width counters per row, rounded up to a power of two
+     */
+    CountMinSketch(int depth, int width) {
+        int rowWidth = Integer.highestOneBit(Math.max(2, width) - 1) << 1;
+        this.depth = depth;
+        this.mask = rowWidth - 1;
+        this.counters = new AtomicLongArray(depth * rowWidth);
+    }
+
+    /**
+     * Counts one occurrence of the key.
+     *
+     * @return the key's estimated frequency including this occurrence
+     */
+    long add(Object key) {
+        int h1 = mix(key.hashCode());
+        int h2 = mix(h1) | 1;
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.incrementAndGet(index(row, h1 + row * h2)));
+        }
+        return estimate;
+    }
+
+    long estimate(Object key) {
+        int h1 = mix(key.hashCode());
+        int h2 = mix(h1) | 1;
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.get(index(row, h1 + row * h2)));
+        }
+        return estimate;
+    }
+
+    /**
+     * Halves every counter. Concurrent increments may land before or after
+     * their counter is halved; either is acceptable for an estimate.
+     */
+    void halve() {
+        for (int i = 0; i < counters.length(); i++) {
+            long value;
+            do {
+                value = counters.get(i);
+            } while (value != 0 && !counters.compareAndSet(i, value, value >>> 1));
+        }
+    }
+
+    private int index(int row, int hash) {
+        return row * (mask + 1) + (hash & mask);
+    }
+
+    /**
+     * Murmur3 finalizer, so that sequential ids spread across the row.
+     */
+    private static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+}
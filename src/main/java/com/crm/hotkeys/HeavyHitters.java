@@ -0,0 +1,104 @@
+package com.crm.hotkeys;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Tracks the approximately most frequent keys of a stream: a count-min sketch
+ * estimates every key's frequency and a bounded min-heap keeps the top
+ * {@code capacity} of them.
+ *
+ * Recording a key that cannot enter the top list costs only the sketch
+ * increments and a volatile read; the heap is locked only for keys whose
+ * estimate reaches the current admission threshold.
+ *
+ * @param <K> key type; must have stable {@code equals}/{@code hashCode}
+ */
+public class HeavyHitters<K> {
+
+    private final CountMinSketch sketch;
+    private final int capacity;
+    private final Map<K, Counted<K>> top = new HashMap<>();
+    private final PriorityQueue<Counted<K>> heap = new PriorityQueue<>(Comparator.comparingLong(Counted::getCount));
+    private volatile long admissionThreshold;
+
+    public HeavyHitters(int capacity, int depth, int width) {
+        this.sketch = new CountMinSketch(depth, width);
+        this.capacity = capacity;
+    }
+
+    public void record(K key) {
+        long estimate = sketch.add(key);
+        if (estimate < admissionThreshold) {
+            return;
+        }
+        synchronized (this) {
+            Counted<K> existing = top.remove(key);
+            if (existing != null) {
+                heap.remove(existing);
+            }
+            Counted<K> entry = new Counted<>(key, estimate);
+            top.put(key, entry);
+            heap.add(entry);
+            if (heap.size() > capacity) {
+                top.remove(heap.poll().getKey());
+            }
+            admissionThreshold = heap.size() >= capacity ? heap.peek().getCount() : 0;
+        }
+    }
+
+    /**
+     * @return up to {@code limit} keys with their estimated counts, most frequent first
+     */
+    public synchronized List<Counted<K>> top(int limit) {
+        List<Counted<K>> result = new ArrayList<>(heap);
+        result.sort(Comparator.comparingLong(Counted<K>::getCount).reversed());
+        return result.size() > limit ? new ArrayList<>(result.subList(0, limit)) : result;
+    }
+
+    /**
+     * Halves all counts so that keys which stopped being requested drop out.
+     */
+    public synchronized void decay() {
+        sketch.halve();
+        List<Counted<K>> entries = new ArrayList<>(heap);
+        heap.clear();
+        top.clear();
+        for (Counted<K> entry : entries) {
+            if (entry.getCount() > 1) {
+                Counted<K> halved = new Counted<>(entry.getKey(), entry.getCount() >>> 1);
+                top.put(entry.getKey(), halved);
+                heap.add(halved);
+            }
+        }
+        admissionThreshold = heap.size() >= capacity ? heap.peek().getCount() : 0;
+    }
+
+    /**
+     * A key and its estimated frequency.
+     */
+    public static final class Counted<K> {
+
+        private final K key;
+        private final long count;
+
+        Counted(K key, long count) {
+            this.key = key;
+            this.count = count;
+        }
+
+        public K getKey() {
+            return key;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+    }
+
+}
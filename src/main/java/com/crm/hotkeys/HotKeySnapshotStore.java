@@ -0,0 +1,129 @@
+package com.crm.hotkeys;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Persists the current hot employee ids and filters to a local file so that
+ * the next start can warm up with what production traffic asked for most.
+ *
+ * The file is rewritten periodically and on shutdown; writes go to a
+ * temporary file that is then moved into place, so a crash never leaves a
+ * truncated list behind.
+ */
+@Component
+public class HotKeySnapshotStore {
+
+    private static final Logger LOGGER = LogManager.getLogger(HotKeySnapshotStore.class);
+
+    private final HotKeyTracker hotKeyTracker;
+    private final Path file;
+    private final int limit;
+
+    public HotKeySnapshotStore(HotKeyTracker hotKeyTracker,
+            @Value("${config.hotKeys.snapshot.file}") String file,
+            @Value("${config.hotKeys.snapshot.limit}") int limit) {
+        this.hotKeyTracker = hotKeyTracker;
+        this.file = Paths.get(file);
+        this.limit = limit;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Scheduled(fixedDelayString = "${config.hotKeys.snapshot.saveMillis}",
+            initialDelayString = "${config.hotKeys.snapshot.saveMillis}")
+    public void save() {
+        List<Long> employees = hotKeyTracker.hotEmployeeIds(limit);
+        List<JSONObject> filters = hotKeyTracker.hotFilters(limit);
+        if (employees.isEmpty() && filters.isEmpty()) {
+            // keep the previous snapshot rather than overwrite it with nothing
+            return;
+        }
+        JSONObject snapshot = new JSONObject();
+        JSONArray employeeArray = new JSONArray();
+        employeeArray.addAll(employees);
+        JSONArray filterArray = new JSONArray();
+        filterArray.addAll(filters);
+        snapshot.put("employees", employeeArray);
+        snapshot.put("filters", filterArray);
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path temp = Files.createTempFile(parent, "hotkeys", ".tmp");
+            Files.writeString(temp, snapshot.toJSONString(), StandardCharsets.UTF_8);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOGGER.warn("Could not save hot-key snapshot to {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * @return the persisted hot employee ids, most requested first; empty if
+     *         there is no readable snapshot
+     */
+    public List<Long> loadEmployeeIds() {
+        List<Long> ids = new ArrayList<>();
+        JSONObject snapshot = load();
+        if (snapshot != null && snapshot.get("employees") instanceof JSONArray employees) {
+            for (Object id : employees) {
+                if (id instanceof Number number) {
+                    ids.add(number.longValue());
+                }
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * @return the persisted hot filter criteria, most requested first; empty
+     *         if there is no readable snapshot
+     */
+    public List<JSONObject> loadFilters() {
+        List<JSONObject> filters = new ArrayList<>();
+        JSONObject snapshot = load();
+        if (snapshot != null && snapshot.get("filters") instanceof JSONArray criteria) {
+            for (Object filter : criteria) {
+                if (filter instanceof JSONObject filterCriteria) {
+                    filters.add(filterCriteria);
+                }
+            }
+        }
+        return filters;
+    }
+
+    @PreDestroy
+    public void saveOnShutdown() {
+        save();
+    }
+
+    private JSONObject load() {
+        if (!Files.isReadable(file)) {
+            return null;
+        }
+        try {
+            Object parsed = new JSONParser().parse(Files.readString(file, StandardCharsets.UTF_8));
+            return parsed instanceof JSONObject snapshot ? snapshot : null;
+        } catch (IOException | ParseException e) {
+            LOGGER.warn("Ignoring unreadable hot-key snapshot {}: {}", file, e.getMessage());
+            return null;
+        }
+    }
+
+}
@@ -0,0 +1,98 @@
+package com.crm.hotkeys;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.json.simple.JSONObject;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.crm.diagnostics.FilterShapes;
+import com.crm.dto.HotKeyDto;
+
+/**
+ * Approximate heavy hitters among requested employee ids and filters.
+ *
+ * Fed by the employee endpoints; read by the admin report and by anything
+ * that wants to cache or pre-load what is requested most, through
+ * {@link #hotEmployeeIds(int)} and {@link #hotFilters(int)}.
+ */
+@Component
+public class HotKeyTracker {
+
+    private final HeavyHitters<Long> employees;
+    private final HeavyHitters<String> filters;
+
+    /**
+     * @param capacity Number of heavy hitters kept per key type
+     * @param depth Count-min sketch rows
+     * @param width Count-min sketch counters per row
+     */
+    public HotKeyTracker(
+            @Value("${config.hotKeys.capacity}") int capacity,
+            @Value("${config.hotKeys.sketchDepth}") int depth,
+            @Value("${config.hotKeys.sketchWidth}") int width) {
+        this.employees = new HeavyHitters<>(capacity, depth, width);
+        this.filters = new HeavyHitters<>(capacity, depth, width);
+    }
+
+    public void recordEmployee(Long employeeId) {
+        employees.record(employeeId);
+    }
+
+    public void recordFilter(JSONObject filterCriteria) {
+        filters.record(FilterShapes.canonicalKey(filterCriteria));
+    }
+
+    /**
+     * @return the most requested employee ids, most frequent first
+     */
+    public List<Long> hotEmployeeIds(int limit) {
+        List<Long> ids = new ArrayList<>();
+        for (HeavyHitters.Counted<Long> entry : employees.top(limit)) {
+            ids.add(entry.getKey());
+        }
+        return ids;
+    }
+
+    /**
+     * @return the most requested filter criteria, most frequent first
+     */
+    public List<JSONObject> hotFilters(int limit) {
+        List<JSONObject> criteria = new ArrayList<>();
+        for (HeavyHitters.Counted<String> entry : filters.top(limit)) {
+            JSONObject parsed = FilterShapes.fromCanonicalKey(entry.getKey());
+            if (parsed != null) {
+                criteria.add(parsed);
+            }
+        }
+        return criteria;
+    }
+
+    public List<HotKeyDto> employeeReport(int limit) {
+        return toDtos(employees.top(limit));
+    }
+
+    public List<HotKeyDto> filterReport(int limit) {
+        return toDtos(filters.top(limit));
+    }
+
+    /**
+     * Ages all counts so the heavy hitters reflect recent traffic.
+     */
+    @Scheduled(fixedDelayString = "${config.hotKeys.decayMillis}", initialDelayString = "${config.hotKeys.decayMillis}")
+    public void decay() {
+        employees.decay();
+        filters.decay();
+    }
+
+    private static <K> List<HotKeyDto> toDtos(List<HeavyHitters.Counted<K>> entries) {
+        List<HotKeyDto> dtos = new ArrayList<>(entries.size());
+        for (HeavyHitters.Counted<K> entry : entries) {
+            dtos.add(new HotKeyDto(String.valueOf(entry.getKey()), entry.getCount()));
+        }
+        return dtos;
+    }
+
+}
@@ -0,0 +1,31 @@
+package com.crm.json;
+
+import com.crm.dto.EmployeeDto;
+import com.crm.dto.ProjectDto;
+import com.crm.dto.ResponseDto;
+import com.crm.dto.ReviewDto;
+import com.crm.dto.ReviewSummaryDto;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+
+/**
+ * Registers the hand-written serializers for the employee response path,
+ * which replace reflective bean serialization for these types.
+ *
+ * Keep the serializers in step with the DTOs: a field added to a DTO is not
+ * written until it is added to its serializer. {@code DtoSerializersTest}
+ * compares their output with Jackson's bean serializers.
+ */
+public class DtoSerializersModule extends SimpleModule {
+
+    private static final long serialVersionUID = 1L;
+
+    public DtoSerializersModule() {
+        super("crm-dto-serializers");
+        addSerializer(ResponseDto.class, new ResponseDtoSerializer());
+        addSerializer(EmployeeDto.class, new EmployeeDtoSerializer());
+        addSerializer(ProjectDto.class, ProjectDtoSerializer.INSTANCE);
+        addSerializer(ReviewDto.class, ReviewDtoSerializer.INSTANCE);
+        addSerializer(ReviewSummaryDto.class, ReviewSummaryDtoSerializer.INSTANCE);
+    }
+
+}
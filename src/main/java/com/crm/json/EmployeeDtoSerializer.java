@@ -0,0 +1,120 @@
+package com.crm.json;
+
+import java.io.IOException;
+import java.util.List;
+
+import com.crm.dto.EmployeeDto;
+import com.crm.dto.ProjectDto;
+import com.crm.dto.ReviewDto;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+/**
+ * Writes {@link EmployeeDto} and its nested reviews, projects and review
+ * summary directly to the generator, without serializer lookups or
+ * reflective property access. Output is identical to the bean serializer
+ * Jackson would build.
+ */
+public class EmployeeDtoSerializer extends StdSerializer<EmployeeDto> {
+
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString NAME = new SerializedString("name");
+    private static final SerializedString EMAIL = new SerializedString("email");
+    private static final SerializedString DATE_OF_JOINING = new SerializedString("dateOfJoining");
+    private static final SerializedString SALARY = new SerializedString("salary");
+    private static final SerializedString MANAGER_NAME = new SerializedString("managerName");
+    private static final SerializedString DEPARTMENT_NAME = new SerializedString("departmentName");
+    private static final SerializedString PERFORMANCE_REVIEWS = new SerializedString("performanceReviews");
+    private static final SerializedString PROJECTS = new SerializedString("projects");
+    private static final SerializedString DEPARTMENT_ID = new SerializedString("departmentId");
+    private static final SerializedString MANAGER_ID = new SerializedString("managerId");
+    private static final SerializedString PROJECT_IDS = new SerializedString("projectIds");
+    private static final SerializedString REVIEW_SUMMARY = new SerializedString("reviewSummary");
+
+    public EmployeeDtoSerializer() {
+        super(EmployeeDto.class);
+    }
+
+    @Override
+    public void serialize(EmployeeDto employee, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(employee);
+        // every property is NON_NULL: sparse fieldsets and normalized responses leave some unset
+        if (employee.getId() != null) {
+            JsonWriters.writeNumberField(gen, ID, employee.getId());
+        }
+        if (employee.getName() != null) {
+            JsonWriters.writeStringField(gen, NAME, employee.getName());
+        }
+        if (employee.getEmail() != null) {
+            JsonWriters.writeStringField(gen, EMAIL, employee.getEmail());
+        }
+        if (employee.getDateOfJoining() != null) {
+            JsonWriters.writeStringField(gen, DATE_OF_JOINING, employee.getDateOfJoining());
+        }
+        if (employee.getSalary() != null) {
+            JsonWriters.writeNumberField(gen, SALARY, employee.getSalary());
+        }
+        if (employee.getManagerName() != null) {
+            JsonWriters.writeStringField(gen, MANAGER_NAME, employee.getManagerName());
+        }
+        if (employee.getDepartmentName() != null) {
+            JsonWriters.writeStringField(gen, DEPARTMENT_NAME, employee.getDepartmentName());
+        }
+
+        List<ReviewDto> reviews = employee.getPerformanceReviews();
+        if (reviews != null) {
+            gen.writeFieldName(PERFORMANCE_REVIEWS);
+            gen.writeStartArray(reviews, reviews.size());
+            for (ReviewDto review : reviews) {
+                if (review == null) {
+                    gen.writeNull();
+                } else {
+                    ReviewDtoSerializer.INSTANCE.serialize(review, gen, provider);
+                }
+            }
+            gen.writeEndArray();
+        }
+
+        List<ProjectDto> projects = employee.getProjects();
+        if (projects != null) {
+            gen.writeFieldName(PROJECTS);
+            gen.writeStartArray(projects, projects.size());
+            for (ProjectDto project : projects) {
+                if (project == null) {
+                    gen.writeNull();
+                } else {
+                    ProjectDtoSerializer.INSTANCE.serialize(project, gen, provider);
+                }
+            }
+            gen.writeEndArray();
+        }
+
+        if (employee.getDepartmentId() != null) {
+            JsonWriters.writeNumberField(gen, DEPARTMENT_ID, employee.getDepartmentId());
+        }
+        if (employee.getManagerId() != null) {
+            JsonWriters.writeNumberField(gen, MANAGER_ID, employee.getManagerId());
+        }
+        List<Long> projectIds = employee.getProjectIds();
+        if (projectIds != null) {
+            gen.writeFieldName(PROJECT_IDS);
+            gen.writeStartArray(projectIds, projectIds.size());
+            for (Long projectId : projectIds) {
+                if (projectId == null) {
+                    gen.writeNull();
+                } else {
+                    gen.writeNumber(projectId.longValue());
+                }
+            }
+            gen.writeEndArray();
+        }
+        if (employee.getReviewSummary() != null) {
+            gen.writeFieldName(REVIEW_SUMMARY);
+            ReviewSummaryDtoSerializer.INSTANCE.serialize(employee.getReviewSummary(), gen, provider);
+        }
+        gen.writeEndObject();
+    }
+
+}
@@ -0,0 +1,54 @@
+package com.crm.json;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import com.crm.config.TimedJackson2CborHttpMessageConverter;
+import com.crm.config.TimedJackson2SmileHttpMessageConverter;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+
+/**
+ * Jackson setup for API responses.
+ *
+ * Registers the modules picked up by Spring Boot's ObjectMapper (hand-written
+ * serializers for the employee DTOs, Blackbird's generated accessors for every
+ * other bean type) and binary CBOR and Smile converters built from the same
+ * configured builder, so that all three formats carry identical content.
+ * Clients choose a format with the {@code Accept} header; JSON stays the default.
+ * Like the JSON converter, the binary ones report their serialization time to
+ * debug-timed requests.
+ */
+@Configuration
+public class JsonConfig {
+
+    public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+
+    @Bean
+    public Module dtoSerializersModule() {
+        return new DtoSerializersModule();
+    }
+
+    @Bean
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(
+            Jackson2ObjectMapperBuilder objectMapperBuilder) {
+        return new TimedJackson2CborHttpMessageConverter(objectMapperBuilder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(
+            Jackson2ObjectMapperBuilder objectMapperBuilder) {
+        return new TimedJackson2SmileHttpMessageConverter(objectMapperBuilder.factory(new SmileFactory()).build());
+    }
+
+}
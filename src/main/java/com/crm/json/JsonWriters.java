@@ -0,0 +1,64 @@
+package com.crm.json;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+
+/**
+ * Null-aware field writers for the hand-written serializers. Field names are
+ * pre-encoded {@link SerializableString}s, as in Jackson's bean serializers,
+ * so they are copied rather than re-escaped on every write.
+ */
+final class JsonWriters {
+
+    private JsonWriters() {
+    }
+
+    static void writeStringField(JsonGenerator gen, SerializableString name, String value) throws IOException {
+        gen.writeFieldName(name);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeString(value);
+        }
+    }
+
+    static void writeNumberField(JsonGenerator gen, SerializableString name, Long value) throws IOException {
+        gen.writeFieldName(name);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value.longValue());
+        }
+    }
+
+    static void writeNumberField(JsonGenerator gen, SerializableString name, Integer value) throws IOException {
+        gen.writeFieldName(name);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value.intValue());
+        }
+    }
+
+    static void writeNumberField(JsonGenerator gen, SerializableString name, Double value) throws IOException {
+        gen.writeFieldName(name);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value.doubleValue());
+        }
+    }
+
+    static void writeNumberField(JsonGenerator gen, SerializableString name, BigDecimal value) throws IOException {
+        gen.writeFieldName(name);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value);
+        }
+    }
+
+}
@@ -0,0 +1,40 @@
+package com.crm.json;
+
+import java.io.IOException;
+
+import com.crm.dto.ProjectDto;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+/**
+ * Writes {@link ProjectDto} field by field, in the same order and format as
+ * the bean serializer Jackson would build for it.
+ */
+public class ProjectDtoSerializer extends StdSerializer<ProjectDto> {
+
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString PROJECT_NAME = new SerializedString("projectName");
+    private static final SerializedString START_DATE = new SerializedString("startDate");
+    private static final SerializedString END_DATE = new SerializedString("endDate");
+    private static final SerializedString DEPARTMENT_NAME = new SerializedString("departmentName");
+
+    static final ProjectDtoSerializer INSTANCE = new ProjectDtoSerializer();
+
+    public ProjectDtoSerializer() {
+        super(ProjectDto.class);
+    }
+
+    @Override
+    public void serialize(ProjectDto project, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(project);
+        JsonWriters.writeNumberField(gen, ID, project.getId());
+        JsonWriters.writeStringField(gen, PROJECT_NAME, project.getProjectName());
+        JsonWriters.writeStringField(gen, START_DATE, project.getStartDate());
+        JsonWriters.writeStringField(gen, END_DATE, project.getEndDate());
+        JsonWriters.writeStringField(gen, DEPARTMENT_NAME, project.getDepartmentName());
+        gen.writeEndObject();
+    }
+
+}
@@ -0,0 +1,71 @@
+package com.crm.json;
+
+import java.io.IOException;
+import java.time.format.DateTimeFormatter;
+import java.util.Date;
+
+import com.crm.dto.ResponseDto;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+/**
+ * Writes the {@link ResponseDto} envelope directly; the payload in
+ * {@code data} goes through the provider and so reaches the other
+ * serializers of {@link DtoSerializersModule}.
+ *
+ * {@code timeStamp} is formatted like its {@code @JsonFormat} pattern, in the
+ * mapper's time zone.
+ */
+public class ResponseDtoSerializer extends StdSerializer<ResponseDto> {
+
+    private static final SerializedString SUCCESS = new SerializedString("success");
+    private static final SerializedString TIME_STAMP = new SerializedString("timeStamp");
+    private static final SerializedString COUNT = new SerializedString("count");
+    private static final SerializedString MESSAGE = new SerializedString("message");
+    private static final SerializedString ERROR_CODE = new SerializedString("errorCode");
+    private static final SerializedString DATA = new SerializedString("data");
+    private static final SerializedString PROJECTS = new SerializedString("projects");
+    private static final SerializedString DEPARTMENTS = new SerializedString("departments");
+    private static final SerializedString MANAGERS = new SerializedString("managers");
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    public ResponseDtoSerializer() {
+        super(ResponseDto.class);
+    }
+
+    @Override
+    public void serialize(ResponseDto response, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(response);
+        gen.writeFieldName(SUCCESS);
+        if (response.getSuccess() == null) {
+            gen.writeNull();
+        } else {
+            gen.writeBoolean(response.getSuccess());
+        }
+        Date timeStamp = response.getTimeStamp();
+        JsonWriters.writeStringField(gen, TIME_STAMP, timeStamp == null ? null
+                : TIMESTAMP_FORMAT.withZone(provider.getTimeZone().toZoneId()).format(timeStamp.toInstant()));
+        JsonWriters.writeNumberField(gen, COUNT, response.getCount());
+        JsonWriters.writeStringField(gen, MESSAGE, response.getMessage());
+        JsonWriters.writeStringField(gen, ERROR_CODE, response.getErrorCode());
+        gen.writeFieldName(DATA);
+        provider.defaultSerializeValue(response.getData(), gen);
+        // dictionaries are only present in normalized responses
+        if (response.getProjects() != null) {
+            gen.writeFieldName(PROJECTS);
+            provider.defaultSerializeValue(response.getProjects(), gen);
+        }
+        if (response.getDepartments() != null) {
+            gen.writeFieldName(DEPARTMENTS);
+            provider.defaultSerializeValue(response.getDepartments(), gen);
+        }
+        if (response.getManagers() != null) {
+            gen.writeFieldName(MANAGERS);
+            provider.defaultSerializeValue(response.getManagers(), gen);
+        }
+        gen.writeEndObject();
+    }
+
+}
@@ -0,0 +1,38 @@
+package com.crm.json;
+
+import java.io.IOException;
+
+import com.crm.dto.ReviewDto;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+/**
+ * Writes {@link ReviewDto} field by field, in the same order and format as
+ * the bean serializer Jackson would build for it.
+ */
+public class ReviewDtoSerializer extends StdSerializer<ReviewDto> {
+
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString REVIEW_DATE = new SerializedString("reviewDate");
+    private static final SerializedString SCORE = new SerializedString("score");
+    private static final SerializedString COMMENTS = new SerializedString("comments");
+
+    static final ReviewDtoSerializer INSTANCE = new ReviewDtoSerializer();
+
+    public ReviewDtoSerializer() {
+        super(ReviewDto.class);
+    }
+
+    @Override
+    public void serialize(ReviewDto review, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(review);
+        JsonWriters.writeNumberField(gen, ID, review.getId());
+        JsonWriters.writeStringField(gen, REVIEW_DATE, review.getReviewDate());
+        JsonWriters.writeNumberField(gen, SCORE, review.getScore());
+        JsonWriters.writeStringField(gen, COMMENTS, review.getComments());
+        gen.writeEndObject();
+    }
+
+}
@@ -0,0 +1,60 @@
+package com.crm.json;
+
+import java.io.IOException;
+import java.util.List;
+
+import com.crm.dto.ReviewSummaryDto;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+/**
+ * Writes {@link ReviewSummaryDto} field by field, in the same order and
+ * format as the bean serializer Jackson would build for it.
+ */
+public class ReviewSummaryDtoSerializer extends StdSerializer<ReviewSummaryDto> {
+
+    private static final SerializedString REVIEW_COUNT = new SerializedString("reviewCount");
+    private static final SerializedString AVERAGE_SCORE = new SerializedString("averageScore");
+    private static final SerializedString MIN_SCORE = new SerializedString("minScore");
+    private static final SerializedString MAX_SCORE = new SerializedString("maxScore");
+    private static final SerializedString LATEST_SCORE = new SerializedString("latestScore");
+    private static final SerializedString LATEST_REVIEW_DATE = new SerializedString("latestReviewDate");
+    private static final SerializedString RECENT_REVIEW_IDS = new SerializedString("recentReviewIds");
+
+    static final ReviewSummaryDtoSerializer INSTANCE = new ReviewSummaryDtoSerializer();
+
+    public ReviewSummaryDtoSerializer() {
+        super(ReviewSummaryDto.class);
+    }
+
+    @Override
+    public void serialize(ReviewSummaryDto summary, JsonGenerator gen, SerializerProvider provider)
+            throws IOException {
+        gen.writeStartObject(summary);
+        JsonWriters.writeNumberField(gen, REVIEW_COUNT, summary.getReviewCount());
+        JsonWriters.writeNumberField(gen, AVERAGE_SCORE, summary.getAverageScore());
+        JsonWriters.writeNumberField(gen, MIN_SCORE, summary.getMinScore());
+        JsonWriters.writeNumberField(gen, MAX_SCORE, summary.getMaxScore());
+        JsonWriters.writeNumberField(gen, LATEST_SCORE, summary.getLatestScore());
+        JsonWriters.writeStringField(gen, LATEST_REVIEW_DATE, summary.getLatestReviewDate());
+        gen.writeFieldName(RECENT_REVIEW_IDS);
+        List<Long> ids = summary.getRecentReviewIds();
+        if (ids == null) {
+            gen.writeNull();
+        } else {
+            gen.writeStartArray(ids, ids.size());
+            for (Long id : ids) {
+                if (id == null) {
+                    gen.writeNull();
+                } else {
+                    gen.writeNumber(id.longValue());
+                }
+            }
+            gen.writeEndArray();
+        }
+        gen.writeEndObject();
+    }
+
+}
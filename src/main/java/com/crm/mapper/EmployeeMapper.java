@@ -1,5 +1,7 @@
 package com.crm.mapper;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Date;
@@ -10,13 +12,22 @@ import java.util.stream.Collectors;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import com.crm.diagnostics.RequestTimings;
+import com.crm.diagnostics.StatementBudgetExceededException;
+import com.crm.diagnostics.jfr.EmployeeMappingEvent;
+import com.crm.dto.EmployeeDictionaries;
 import com.crm.dto.EmployeeDto;
+import com.crm.dto.EmployeeFields;
 import com.crm.dto.ProjectDto;
 import com.crm.dto.ReviewDto;
+import com.crm.dto.ReviewSummaryDto;
+import com.crm.entity.Department;
 import com.crm.entity.Employee;
 import com.crm.entity.EmployeeProject;
+import com.crm.entity.EmployeeReviewSummary;
 import com.crm.entity.PerformanceReview;
 import com.crm.entity.Project;
+import com.crm.reviews.ReviewSummary;
 
 public class EmployeeMapper {
 
@@ -79,44 +90,162 @@ public class EmployeeMapper {
         return reviewDto;
     }
 
+    /**
+     * Maps an employee's stored review summary to ReviewSummaryDto
+     * @param summary the summary row, or null for an employee without reviews
+     * @return mapped ReviewSummaryDto, with a count of 0 when there is no row
+     */
+    public static ReviewSummaryDto mapToReviewSummaryDto(EmployeeReviewSummary summary) {
+        if (summary == null || summary.getReviewCount() == 0) {
+            return new ReviewSummaryDto(0, null, null, null, null, null, List.of());
+        }
+        ReviewSummaryDto summaryDto = new ReviewSummaryDto();
+        summaryDto.setReviewCount(summary.getReviewCount());
+        summaryDto.setAverageScore(summary.getScoreSum()
+                .divide(BigDecimal.valueOf(summary.getReviewCount()), 4, RoundingMode.HALF_UP));
+        summaryDto.setMinScore(summary.getMinScore());
+        summaryDto.setMaxScore(summary.getMaxScore());
+        summaryDto.setLatestScore(summary.getLatestScore());
+        summaryDto.setLatestReviewDate(formatDate(summary.getLatestReviewDate()));
+        summaryDto.setRecentReviewIds(ReviewSummary.parseIds(summary.getRecentReviewIds()));
+        return summaryDto;
+    }
+
+    /**
+     * Maps an employee with its projects and reviews to a self-contained EmployeeDto.
+     */
     public static EmployeeDto mapToEmployeeDto(Employee employee, Set<EmployeeProject> employeeProjects,
             Set<PerformanceReview> reviews) {
+        return mapToEmployeeDto(employee, employeeProjects, reviews, null, EmployeeFields.all());
+    }
+
+    /**
+     * Maps an employee as part of a multi-employee response. Projects already
+     * mapped for an earlier employee are shared rather than mapped again; in a
+     * normalized response the employee references projects, department and
+     * manager by id and their details are collected in the dictionaries.
+     * Only the requested fields are set, and associations backing fields that
+     * were not requested are never touched, so they are not loaded.
+     *
+     * @param dictionaries per-response dictionaries, or null to map standalone
+     * @param fields the properties to set
+     */
+    public static EmployeeDto mapToEmployeeDto(Employee employee, Set<EmployeeProject> employeeProjects,
+            Set<PerformanceReview> reviews, EmployeeDictionaries dictionaries, EmployeeFields fields) {
         LOG.debug("Mapping Employee to EmployeeDto for employee ID: {}", employee.getId());
+        long timingStart = RequestTimings.enterMapper();
+        EmployeeMappingEvent event = new EmployeeMappingEvent();
+        event.begin();
         EmployeeDto employeeDto = new EmployeeDto();
         try {
             employeeDto.setId(employee.getId());
-            employeeDto.setName(employee.getName());
-            employeeDto.setEmail(employee.getEmail());
-            employeeDto.setDateOfJoining(formatDate(employee.getDateOfJoining()));
-            employeeDto.setSalary(employee.getSalary());
-            employeeDto.setManagerName(getNameOrDefault(employee.getManager(), "No Manager"));
-            employeeDto.setDepartmentName(getNameOrDefault(employee.getDepartment(), "No Department"));
-
-            // Map projects
-            if (employeeProjects != null && !employeeProjects.isEmpty()) {
-                LOG.debug("Mapping {} projects for employee ID: {}", employeeProjects.size(), employee.getId());
-                List<ProjectDto> projectDtos = employeeProjects.stream()
-                        .map(ep -> mapToProjectDto(ep.getProject()))
-                        .collect(Collectors.toList());
-                employeeDto.setProjects(projectDtos);
+            employeeDto.setVersion(employee.getVersion());
+            if (fields.includes(EmployeeFields.NAME)) {
+                employeeDto.setName(employee.getName());
+            }
+            if (fields.includes(EmployeeFields.EMAIL)) {
+                employeeDto.setEmail(employee.getEmail());
+            }
+            if (fields.includes(EmployeeFields.DATE_OF_JOINING)) {
+                employeeDto.setDateOfJoining(formatDate(employee.getDateOfJoining()));
+            }
+            if (fields.includes(EmployeeFields.SALARY)) {
+                employeeDto.setSalary(employee.getSalary());
+            }
+            if (dictionaries != null && dictionaries.isNormalized()) {
+                mapReferences(employee, employeeProjects, dictionaries, fields, employeeDto);
             } else {
-                employeeDto.setProjects(List.of());
+                if (fields.needsManager()) {
+                    employeeDto.setManagerName(getNameOrDefault(employee.getManager(), "No Manager"));
+                }
+                if (fields.needsDepartment()) {
+                    employeeDto.setDepartmentName(getNameOrDefault(employee.getDepartment(), "No Department"));
+                }
+
+                // Map projects
+                if (!fields.needsProjects()) {
+                    LOG.debug("Projects not requested for employee ID: {}", employee.getId());
+                } else if (employeeProjects != null && !employeeProjects.isEmpty()) {
+                    LOG.debug("Mapping {} projects for employee ID: {}", employeeProjects.size(), employee.getId());
+                    List<ProjectDto> projectDtos = employeeProjects.stream()
+                            .map(ep -> projectDto(ep.getProject(), dictionaries))
+                            .collect(Collectors.toList());
+                    employeeDto.setProjects(projectDtos);
+                } else {
+                    employeeDto.setProjects(List.of());
+                }
             }
 
             // Map performance reviews
-            List<ReviewDto> reviewDtos = new ArrayList<>();
-            if (reviews != null && !reviews.isEmpty()) {
-                LOG.debug("Mapping {} performance reviews for employee ID: {}", reviews.size(), employee.getId());
-                reviewDtos = reviews.stream()
-                        .map(EmployeeMapper::mapToReviewDto)
-                        .collect(Collectors.toList());
+            if (fields.needsReviews()) {
+                List<ReviewDto> reviewDtos = new ArrayList<>();
+                if (reviews != null && !reviews.isEmpty()) {
+                    LOG.debug("Mapping {} performance reviews for employee ID: {}", reviews.size(),
+                            employee.getId());
+                    reviewDtos = reviews.stream()
+                            .map(EmployeeMapper::mapToReviewDto)
+                            .collect(Collectors.toList());
+                }
+                employeeDto.setPerformanceReviews(reviewDtos);
             }
-            employeeDto.setPerformanceReviews(reviewDtos);
+        } catch (StatementBudgetExceededException e) {
+            // an enforced budget must fail the request, not just this employee
+            throw e;
         } catch (Exception e) {
             LOG.error("Error mapping Employee to EmployeeDto for employee ID: {} :: {}", employee.getId(),
                     e.getMessage(), e);
+        } finally {
+            RequestTimings.exitMapper(timingStart);
+            if (event.shouldCommit()) {
+                event.employeeId = employee.getId() != null ? employee.getId() : 0;
+                event.projectCount = employeeDto.getProjects() != null ? employeeDto.getProjects().size()
+                        : employeeDto.getProjectIds() != null ? employeeDto.getProjectIds().size() : 0;
+                event.reviewCount = employeeDto.getPerformanceReviews() != null
+                        ? employeeDto.getPerformanceReviews().size()
+                        : 0;
+                event.commit();
+            }
         }
         return employeeDto;
     }
 
+    /**
+     * Returns the project's DTO, mapping it only the first time it is seen in
+     * the response.
+     */
+    private static ProjectDto projectDto(Project project, EmployeeDictionaries dictionaries) {
+        if (dictionaries == null) {
+            return mapToProjectDto(project);
+        }
+        return dictionaries.getProjects().computeIfAbsent(Long.valueOf(project.getId()),
+                id -> mapToProjectDto(project));
+    }
+
+    /**
+     * Sets the id references of a normalized employee and records the
+     * referenced project, department and manager in the dictionaries.
+     */
+    private static void mapReferences(Employee employee, Set<EmployeeProject> employeeProjects,
+            EmployeeDictionaries dictionaries, EmployeeFields fields, EmployeeDto employeeDto) {
+        Employee manager = employee.getManager();
+        if (fields.needsManager() && manager != null) {
+            employeeDto.setManagerId(manager.getId());
+            dictionaries.getManagers().computeIfAbsent(manager.getId(), id -> manager.getName());
+        }
+        Department department = employee.getDepartment();
+        if (fields.needsDepartment() && department != null) {
+            employeeDto.setDepartmentId(department.getId());
+            dictionaries.getDepartments().computeIfAbsent(department.getId(), id -> department.getName());
+        }
+        if (fields.needsProjects()) {
+            List<Long> projectIds = new ArrayList<>();
+            if (employeeProjects != null) {
+                for (EmployeeProject employeeProject : employeeProjects) {
+                    projectIds.add(projectDto(employeeProject.getProject(), dictionaries).getId());
+                }
+            }
+            employeeDto.setProjectIds(projectIds);
+        }
+    }
+
 }
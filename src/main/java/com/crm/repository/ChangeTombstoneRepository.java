@@ -0,0 +1,36 @@
+package com.crm.repository;
+
+import java.util.Date;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.crm.entity.ChangeTombstone;
+
+@Repository
+public interface ChangeTombstoneRepository extends JpaRepository<ChangeTombstone, Long> {
+
+    /**
+     * Ids of the employees deleted after the given time.
+     */
+    @Query("select distinct t.employeeId from ChangeTombstone t "
+            + "where t.entityType = '" + ChangeTombstone.EMPLOYEE + "' and t.deletedAt > :since")
+    List<Long> findDeletedEmployeeIds(@Param("since") Date since);
+
+    /**
+     * Ids of the employees that lost a project assignment or review after the
+     * given time.
+     */
+    @Query("select distinct t.employeeId from ChangeTombstone t "
+            + "where t.entityType <> '" + ChangeTombstone.EMPLOYEE + "' and t.deletedAt > :since")
+    List<Long> findEmployeeIdsWithDeletedChildren(@Param("since") Date since);
+
+    @Modifying
+    @Query("delete from ChangeTombstone t where t.deletedAt < :before")
+    int deleteByDeletedAtBefore(@Param("before") Date before);
+
+}
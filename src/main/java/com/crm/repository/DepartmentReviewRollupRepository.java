@@ -0,0 +1,35 @@
+package com.crm.repository;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.crm.entity.DepartmentReviewRollup;
+import com.crm.entity.DepartmentReviewRollupId;
+
+@Repository
+public interface DepartmentReviewRollupRepository
+        extends JpaRepository<DepartmentReviewRollup, DepartmentReviewRollupId> {
+
+    /**
+     * The rollups of all departments for the months from {@code from} to
+     * {@code to}, both first days of a month, by department and month.
+     */
+    @Query("select r from DepartmentReviewRollup r where r.id.bucketMonth between :from and :to"
+            + " order by r.id.departmentId, r.id.bucketMonth")
+    List<DepartmentReviewRollup> findByMonthRange(@Param("from") Date from, @Param("to") Date to);
+
+    /**
+     * As {@link #findByMonthRange}, restricted to the given departments.
+     */
+    @Query("select r from DepartmentReviewRollup r where r.id.bucketMonth between :from and :to"
+            + " and r.id.departmentId in :departmentIds order by r.id.departmentId, r.id.bucketMonth")
+    List<DepartmentReviewRollup> findByMonthRange(@Param("from") Date from, @Param("to") Date to,
+            @Param("departmentIds") Collection<Integer> departmentIds);
+
+}
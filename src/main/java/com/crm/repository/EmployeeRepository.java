@@ -1,8 +1,13 @@
 package com.crm.repository;
 
 
+import java.util.Optional;
+import java.util.stream.Stream;
+
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.crm.entity.Employee;
@@ -10,6 +15,28 @@ import com.crm.entity.Employee;
 @Repository
 public interface EmployeeRepository extends JpaRepository<Employee, Long>, JpaSpecificationExecutor<Employee> {
 
+    /**
+     * The employee's version, read by primary key without loading the entity.
+     */
+    @Query("select e.version from Employee e where e.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    /**
+     * Id, department id, salary, date of joining and manager id of every
+     * employee, by id, without loading entities. Must be consumed inside a
+     * transaction.
+     */
+    @Query("select e.id, d.id, e.salary, e.dateOfJoining, m.id from Employee e"
+            + " left join e.department d left join e.manager m order by e.id")
+    Stream<Object[]> streamAnalyticsColumns();
+
+    /**
+     * Employee id and project id of every project assignment, by employee id.
+     * Must be consumed inside a transaction.
+     */
+    @Query("select e.id, p.id from Employee e join e.projects p order by e.id, p.id")
+    Stream<Object[]> streamProjectAssignments();
+
     // We can define any custom query methods here
     // For example:
     // List<Employee> findbyName(String name);
@@ -0,0 +1,11 @@
+package com.crm.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.crm.entity.EmployeeReviewSummary;
+
+@Repository
+public interface EmployeeReviewSummaryRepository extends JpaRepository<EmployeeReviewSummary, Long> {
+
+}
@@ -0,0 +1,20 @@
+package com.crm.reviews;
+
+/**
+ * When a review submission is acknowledged.
+ */
+public enum AckMode {
+
+    /**
+     * Once the review is validated and queued. Fast, but the review is lost if
+     * the process dies before its batch is written.
+     */
+    ACCEPTED,
+
+    /**
+     * Once the batch holding the review has committed; the acknowledgement
+     * carries the review id.
+     */
+    FLUSHED
+
+}
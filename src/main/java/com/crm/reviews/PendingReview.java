@@ -0,0 +1,57 @@
+package com.crm.reviews;
+
+import java.math.BigDecimal;
+import java.util.Date;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A validated review waiting in the {@link ReviewWriteQueue}. The future
+ * completes with the generated review id once the batch holding the review
+ * has committed, or exceptionally when it could not be written.
+ */
+public class PendingReview {
+
+    private final Long employeeId;
+    private final Date reviewDate;
+    private final BigDecimal score;
+    private final String comments;
+    private final long enqueuedNanos = System.nanoTime();
+    private final CompletableFuture<Long> written = new CompletableFuture<>();
+
+    public PendingReview(Long employeeId, Date reviewDate, BigDecimal score, String comments) {
+        this.employeeId = employeeId;
+        this.reviewDate = reviewDate;
+        this.score = score;
+        this.comments = comments;
+    }
+
+    public Long getEmployeeId() {
+        return employeeId;
+    }
+
+    public Date getReviewDate() {
+        return reviewDate;
+    }
+
+    public BigDecimal getScore() {
+        return score;
+    }
+
+    public String getComments() {
+        return comments;
+    }
+
+    public long getEnqueuedNanos() {
+        return enqueuedNanos;
+    }
+
+    public CompletableFuture<Long> getWritten() {
+        return written;
+    }
+
+    @Override
+    public String toString() {
+        return "PendingReview [employeeId=" + employeeId + ", reviewDate=" + reviewDate + ", score=" + score + "]";
+    }
+
+}
@@ -0,0 +1,121 @@
+package com.crm.reviews;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.crm.changes.ChangeBroadcaster;
+import com.crm.dto.ChangeNotificationDto;
+import com.crm.entity.ChangeTombstone;
+
+/**
+ * Inserts a batch of reviews with one JDBC batch in one transaction.
+ *
+ * These writes bypass Hibernate, so the batch does itself what the entity
+ * listeners do for entity writes: in the same transaction it increments the
+ * version of each employee that received a review, with a second batch,
+ * folds the reviews into the employees' review summaries and adds them to
+ * their departments' monthly rollups; once the transaction has committed it
+ * publishes the new reviews on the change stream. Rows are stamped with the
+ * flush time, which is also the version carried by their notifications.
+ */
+@Component
+public class ReviewBatchWriter {
+
+    static final String INSERT_REVIEW = "insert into performance_review "
+            + "(employee_id, review_date, score, review_comments, updated_at) values (?, ?, ?, ?, ?)";
+
+    static final String INCREMENT_EMPLOYEE_VERSION = "update employee set version = version + 1 where id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ChangeBroadcaster changeBroadcaster;
+    private final ReviewSummaryStore reviewSummaryStore;
+    private final ReviewRollupStore reviewRollupStore;
+
+    public ReviewBatchWriter(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+            ChangeBroadcaster changeBroadcaster, ReviewSummaryStore reviewSummaryStore,
+            ReviewRollupStore reviewRollupStore) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.changeBroadcaster = changeBroadcaster;
+        this.reviewSummaryStore = reviewSummaryStore;
+        this.reviewRollupStore = reviewRollupStore;
+    }
+
+    /**
+     * Writes the batch and completes each review's future with its generated
+     * id. If the transaction fails, nothing is written, no future is completed
+     * and the exception is thrown.
+     */
+    public void write(List<PendingReview> batch) {
+        Timestamp flushedAt = new Timestamp(System.currentTimeMillis());
+        List<Long> reviewIds = transactionTemplate.execute(status -> {
+            GeneratedKeyHolder keys = new GeneratedKeyHolder();
+            jdbcTemplate.batchUpdate(con -> con.prepareStatement(INSERT_REVIEW, new String[] { "id" }),
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            PendingReview review = batch.get(i);
+                            ps.setLong(1, review.getEmployeeId());
+                            ps.setTimestamp(2, new Timestamp(review.getReviewDate().getTime()));
+                            ps.setBigDecimal(3, review.getScore());
+                            ps.setString(4, review.getComments());
+                            ps.setTimestamp(5, flushedAt);
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return batch.size();
+                        }
+                    }, keys);
+            // in id order, so that concurrent writers lock employee rows in the same order
+            List<Long> employeeIds = batch.stream().map(PendingReview::getEmployeeId).distinct().sorted().toList();
+            jdbcTemplate.batchUpdate(INCREMENT_EMPLOYEE_VERSION, employeeIds, employeeIds.size(),
+                    (ps, employeeId) -> ps.setLong(1, employeeId));
+            List<Long> ids = generatedIds(keys);
+            List<ReviewSummaryStore.AddedReview> added = new ArrayList<>(batch.size());
+            List<ReviewRollupStore.ScoreChange> scores = new ArrayList<>(batch.size());
+            for (int i = 0; i < batch.size(); i++) {
+                PendingReview review = batch.get(i);
+                added.add(new ReviewSummaryStore.AddedReview(review.getEmployeeId(), ids.get(i),
+                        review.getReviewDate(), review.getScore()));
+                scores.add(ReviewRollupStore.ScoreChange.added(review.getEmployeeId(), review.getReviewDate(),
+                        review.getScore()));
+            }
+            reviewSummaryStore.reviewsAdded(added);
+            reviewRollupStore.apply(scores);
+            return ids;
+        });
+        for (int i = 0; i < batch.size(); i++) {
+            PendingReview review = batch.get(i);
+            Long reviewId = reviewIds.get(i);
+            review.getWritten().complete(reviewId);
+            changeBroadcaster.publish(new ChangeNotificationDto(ChangeTombstone.PERFORMANCE_REVIEW,
+                    String.valueOf(reviewId), review.getEmployeeId(), flushedAt.getTime(), null));
+        }
+    }
+
+    /**
+     * The generated ids in batch order. Drivers name the key column
+     * differently (MySQL reports GENERATED_KEY), so the single value of each
+     * row is taken.
+     */
+    private static List<Long> generatedIds(GeneratedKeyHolder keys) {
+        List<Long> ids = new ArrayList<>();
+        for (Map<String, Object> row : keys.getKeyList()) {
+            ids.add(((Number) row.values().iterator().next()).longValue());
+        }
+        return ids;
+    }
+
+}
@@ -0,0 +1,59 @@
+package com.crm.reviews;
+
+import java.util.List;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import com.crm.entity.PerformanceReview;
+
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * JPA entity listener keeping department_review_rollup current for reviews
+ * written through the entity manager, in the flushing transaction. An update
+ * or delete needs the values the row held before, which the entity records
+ * when it is loaded and after each write. Reviews written by
+ * {@link ReviewBatchWriter} bypass it and are rolled up by the writer.
+ */
+@Component
+public class ReviewRollupListener {
+
+    private final ObjectProvider<ReviewRollupStore> reviewRollupStore;
+
+    public ReviewRollupListener(ObjectProvider<ReviewRollupStore> reviewRollupStore) {
+        this.reviewRollupStore = reviewRollupStore;
+    }
+
+    @PostLoad
+    public void afterLoad(PerformanceReview review) {
+        review.markStored();
+    }
+
+    @PostPersist
+    public void afterInsert(PerformanceReview review) {
+        reviewRollupStore.getObject().apply(List.of(ReviewRollupStore.ScoreChange.added(
+                review.getEmployee().getId(), review.getReviewDate(), review.getScore())));
+        review.markStored();
+    }
+
+    @PostUpdate
+    public void afterUpdate(PerformanceReview review) {
+        Long employeeId = review.getEmployee().getId();
+        reviewRollupStore.getObject().apply(List.of(
+                ReviewRollupStore.ScoreChange.removed(employeeId, review.getStoredReviewDate(),
+                        review.getStoredScore()),
+                ReviewRollupStore.ScoreChange.added(employeeId, review.getReviewDate(), review.getScore())));
+        review.markStored();
+    }
+
+    @PostRemove
+    public void afterDelete(PerformanceReview review) {
+        reviewRollupStore.getObject().apply(List.of(ReviewRollupStore.ScoreChange.removed(
+                review.getEmployee().getId(), review.getStoredReviewDate(), review.getStoredScore())));
+    }
+
+}
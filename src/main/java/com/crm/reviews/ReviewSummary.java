@@ -0,0 +1,169 @@
+package com.crm.reviews;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * The aggregates of one employee's reviews, as stored in
+ * employee_review_summary, while they are being updated.
+ *
+ * A summary can absorb a review that is newer than every review it holds:
+ * count, sum, minimum and maximum are plain folds and the review becomes the
+ * latest one, ahead of the recent ids. An older review would have to be
+ * placed among reviews whose dates the summary no longer has, so
+ * {@link #addIfNewest} refuses it and the summary is recomputed instead.
+ */
+public class ReviewSummary {
+
+    private final Long employeeId;
+    private final int recentCapacity;
+    private int count;
+    private BigDecimal scoreSum = BigDecimal.ZERO;
+    private BigDecimal minScore;
+    private BigDecimal maxScore;
+    private Long latestReviewId;
+    private Date latestReviewDate;
+    private BigDecimal latestScore;
+    // newest first
+    private final List<Long> recentReviewIds = new ArrayList<>();
+
+    public ReviewSummary(Long employeeId, int recentCapacity) {
+        this.employeeId = employeeId;
+        this.recentCapacity = recentCapacity;
+    }
+
+    /**
+     * Restores a stored summary.
+     */
+    public ReviewSummary(Long employeeId, int recentCapacity, int count, BigDecimal scoreSum, BigDecimal minScore,
+            BigDecimal maxScore, Long latestReviewId, Date latestReviewDate, BigDecimal latestScore,
+            String recentReviewIds) {
+        this(employeeId, recentCapacity);
+        this.count = count;
+        this.scoreSum = scoreSum;
+        this.minScore = minScore;
+        this.maxScore = maxScore;
+        this.latestReviewId = latestReviewId;
+        this.latestReviewDate = latestReviewDate;
+        this.latestScore = latestScore;
+        this.recentReviewIds.addAll(parseIds(recentReviewIds));
+    }
+
+    /**
+     * Adds a review newer than all reviews in the summary.
+     *
+     * @return false, leaving the summary unchanged, if the review is older
+     *         than the latest one
+     */
+    public boolean addIfNewest(Long reviewId, Date reviewDate, BigDecimal score) {
+        if (count > 0 && !isNewer(reviewId, reviewDate, latestReviewId, latestReviewDate)) {
+            return false;
+        }
+        fold(score);
+        latestReviewId = reviewId;
+        latestReviewDate = reviewDate;
+        latestScore = score;
+        recentReviewIds.add(0, reviewId);
+        if (recentReviewIds.size() > recentCapacity) {
+            recentReviewIds.remove(recentReviewIds.size() - 1);
+        }
+        return true;
+    }
+
+    /**
+     * Adds the next review of a scan that visits an employee's reviews newest
+     * first.
+     */
+    public void addInScanOrder(Long reviewId, Date reviewDate, BigDecimal score) {
+        if (count == 0) {
+            latestReviewId = reviewId;
+            latestReviewDate = reviewDate;
+            latestScore = score;
+        }
+        fold(score);
+        if (recentReviewIds.size() < recentCapacity) {
+            recentReviewIds.add(reviewId);
+        }
+    }
+
+    private void fold(BigDecimal score) {
+        count++;
+        scoreSum = scoreSum.add(score);
+        minScore = minScore == null || score.compareTo(minScore) < 0 ? score : minScore;
+        maxScore = maxScore == null || score.compareTo(maxScore) > 0 ? score : maxScore;
+    }
+
+    /**
+     * Review order: by date, then by id for reviews of the same date.
+     */
+    private static boolean isNewer(Long reviewId, Date reviewDate, Long otherId, Date otherDate) {
+        int byDate = reviewDate.compareTo(otherDate);
+        return byDate > 0 || byDate == 0 && reviewId > otherId;
+    }
+
+    public static List<Long> parseIds(String ids) {
+        List<Long> parsed = new ArrayList<>();
+        if (ids != null && !ids.isEmpty()) {
+            for (String id : ids.split(",")) {
+                parsed.add(Long.valueOf(id));
+            }
+        }
+        return parsed;
+    }
+
+    public Long getEmployeeId() {
+        return employeeId;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public BigDecimal getScoreSum() {
+        return scoreSum;
+    }
+
+    public BigDecimal getMinScore() {
+        return minScore;
+    }
+
+    public BigDecimal getMaxScore() {
+        return maxScore;
+    }
+
+    public Long getLatestReviewId() {
+        return latestReviewId;
+    }
+
+    public Date getLatestReviewDate() {
+        return latestReviewDate;
+    }
+
+    public BigDecimal getLatestScore() {
+        return latestScore;
+    }
+
+    public List<Long> getRecentReviewIds() {
+        return recentReviewIds;
+    }
+
+    public String getRecentReviewIdsColumn() {
+        StringBuilder column = new StringBuilder();
+        for (Long id : recentReviewIds) {
+            if (column.length() > 0) {
+                column.append(',');
+            }
+            column.append(id);
+        }
+        return column.toString();
+    }
+
+    @Override
+    public String toString() {
+        return "ReviewSummary [employeeId=" + employeeId + ", count=" + count + ", scoreSum=" + scoreSum
+                + ", latestReviewId=" + latestReviewId + ", recentReviewIds=" + recentReviewIds + "]";
+    }
+
+}
@@ -0,0 +1,45 @@
+package com.crm.reviews;
+
+import java.sql.Date;
+import java.util.List;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import com.crm.entity.PerformanceReview;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * JPA entity listener keeping employee_review_summary current for reviews
+ * written through the entity manager. The callbacks run during the flush,
+ * right after the review's own statement, so the summary is written in the
+ * same transaction. Reviews written by {@link ReviewBatchWriter} bypass it and
+ * are folded in by the writer.
+ */
+@Component
+public class ReviewSummaryListener {
+
+    private final ObjectProvider<ReviewSummaryStore> reviewSummaryStore;
+
+    public ReviewSummaryListener(ObjectProvider<ReviewSummaryStore> reviewSummaryStore) {
+        this.reviewSummaryStore = reviewSummaryStore;
+    }
+
+    @PostPersist
+    public void afterInsert(PerformanceReview review) {
+        // the column keeps the day only, as the entity maps it
+        Date reviewDay = Date.valueOf(new Date(review.getReviewDate().getTime()).toLocalDate());
+        reviewSummaryStore.getObject().reviewsAdded(List.of(new ReviewSummaryStore.AddedReview(
+                review.getEmployee().getId(), review.getId(), reviewDay, review.getScore())));
+    }
+
+    @PostUpdate
+    @PostRemove
+    public void afterChange(PerformanceReview review) {
+        reviewSummaryStore.getObject().reviewChanged(review.getEmployee().getId());
+    }
+
+}
@@ -0,0 +1,253 @@
+package com.crm.reviews;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Maintains employee_review_summary.
+ *
+ * Every method runs in the transaction that wrote the reviews, so a summary
+ * commits or rolls back with them. The employee rows are locked first, which
+ * serializes summary maintenance per employee (and creating an employee's
+ * first summary row) across transactions.
+ *
+ * Inserted reviews are normally newer than everything the summary holds and
+ * are folded in without reading the reviews table. Backdated inserts,
+ * updates and deletes recompute the employee's summary from its reviews,
+ * which is one indexed read of that employee's rows: minimum, maximum and
+ * latest review cannot be taken back incrementally.
+ */
+@Component
+public class ReviewSummaryStore {
+
+    private static final Logger LOG = LogManager.getLogger(ReviewSummaryStore.class);
+
+    private static final String SUMMARY_COLUMNS = "employee_id, review_count, score_sum, min_score, max_score, "
+            + "latest_review_id, latest_review_date, latest_score, recent_review_ids";
+
+    private static final String SELECT_SUMMARIES = "select " + SUMMARY_COLUMNS
+            + " from employee_review_summary where employee_id in (%s)";
+
+    private static final String LOCK_EMPLOYEES = "select id from employee where id in (%s) order by id for update";
+
+    private static final String SELECT_REVIEWS = "select id, review_date, score from performance_review "
+            + "where employee_id = ? order by review_date desc, id desc";
+
+    private static final String SELECT_ALL_REVIEWS = "select employee_id, id, review_date, score "
+            + "from performance_review order by employee_id, review_date desc, id desc";
+
+    private static final String INSERT_SUMMARY = "insert into employee_review_summary (" + SUMMARY_COLUMNS
+            + ") values (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String UPDATE_SUMMARY = "update employee_review_summary set review_count = ?, "
+            + "score_sum = ?, min_score = ?, max_score = ?, latest_review_id = ?, latest_review_date = ?, "
+            + "latest_score = ?, recent_review_ids = ? where employee_id = ?";
+
+    private static final String DELETE_SUMMARY = "delete from employee_review_summary where employee_id = ?";
+
+    private static final String DELETE_ALL_SUMMARIES = "delete from employee_review_summary";
+
+    private static final int REBUILD_BATCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int recentCapacity;
+
+    public ReviewSummaryStore(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+            @Value("${config.maximumReviewsCount}") int recentCapacity) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.recentCapacity = recentCapacity;
+    }
+
+    /**
+     * Folds newly inserted reviews into their employees' summaries.
+     */
+    public void reviewsAdded(List<AddedReview> reviews) {
+        if (reviews.isEmpty()) {
+            return;
+        }
+        Map<Long, List<AddedReview>> byEmployee = new TreeMap<>();
+        for (AddedReview review : reviews) {
+            byEmployee.computeIfAbsent(review.employeeId, id -> new ArrayList<>()).add(review);
+        }
+        List<Long> employeeIds = new ArrayList<>(byEmployee.keySet());
+        lockEmployees(employeeIds);
+        Map<Long, ReviewSummary> stored = load(employeeIds);
+
+        List<ReviewSummary> inserts = new ArrayList<>();
+        List<ReviewSummary> updates = new ArrayList<>();
+        List<Long> recompute = new ArrayList<>();
+        for (Map.Entry<Long, List<AddedReview>> entry : byEmployee.entrySet()) {
+            ReviewSummary summary = stored.get(entry.getKey());
+            boolean isNew = summary == null;
+            if (isNew) {
+                summary = new ReviewSummary(entry.getKey(), recentCapacity);
+            }
+            List<AddedReview> added = entry.getValue();
+            added.sort(Comparator.comparing((AddedReview review) -> review.reviewDate)
+                    .thenComparing(review -> review.reviewId));
+            boolean folded = true;
+            for (AddedReview review : added) {
+                if (!summary.addIfNewest(review.reviewId, review.reviewDate, review.score)) {
+                    folded = false;
+                    break;
+                }
+            }
+            if (!folded) {
+                recompute.add(entry.getKey());
+            } else if (isNew) {
+                inserts.add(summary);
+            } else {
+                updates.add(summary);
+            }
+        }
+        insert(inserts);
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_SUMMARY, updates, updates.size(), (ps, summary) -> {
+                ps.setInt(1, summary.getCount());
+                ps.setBigDecimal(2, summary.getScoreSum());
+                ps.setBigDecimal(3, summary.getMinScore());
+                ps.setBigDecimal(4, summary.getMaxScore());
+                ps.setLong(5, summary.getLatestReviewId());
+                ps.setTimestamp(6, new Timestamp(summary.getLatestReviewDate().getTime()));
+                ps.setBigDecimal(7, summary.getLatestScore());
+                ps.setString(8, summary.getRecentReviewIdsColumn());
+                ps.setLong(9, summary.getEmployeeId());
+            });
+        }
+        for (Long employeeId : recompute) {
+            LOG.debug("Backdated review for employee {}, recomputing its summary", employeeId);
+            recompute(employeeId);
+        }
+    }
+
+    /**
+     * Recomputes the summary of an employee after one of its reviews was
+     * updated or deleted.
+     */
+    public void reviewChanged(Long employeeId) {
+        lockEmployees(List.of(employeeId));
+        recompute(employeeId);
+    }
+
+    /**
+     * Rebuilds every summary from the reviews table in one transaction, e.g.
+     * after the table was added to an existing database. Review writes
+     * committing meanwhile may be missed, so run it while reviews are quiet.
+     *
+     * @return the number of summaries written
+     */
+    public int rebuild() {
+        return transactionTemplate.execute(status -> {
+            jdbcTemplate.update(DELETE_ALL_SUMMARIES);
+            List<ReviewSummary> pending = new ArrayList<>();
+            ReviewSummary[] current = new ReviewSummary[1];
+            int[] written = new int[1];
+            jdbcTemplate.query(SELECT_ALL_REVIEWS, rs -> {
+                long employeeId = rs.getLong("employee_id");
+                if (current[0] == null || current[0].getEmployeeId() != employeeId) {
+                    current[0] = new ReviewSummary(employeeId, recentCapacity);
+                    pending.add(current[0]);
+                    if (pending.size() > REBUILD_BATCH_SIZE) {
+                        // all but the summary still being scanned are complete
+                        ReviewSummary scanning = pending.remove(pending.size() - 1);
+                        insert(pending);
+                        written[0] += pending.size();
+                        pending.clear();
+                        pending.add(scanning);
+                    }
+                }
+                current[0].addInScanOrder(rs.getLong("id"), rs.getTimestamp("review_date"),
+                        rs.getBigDecimal("score"));
+            });
+            insert(pending);
+            written[0] += pending.size();
+            LOG.info("Rebuilt {} employee review summaries", written[0]);
+            return written[0];
+        });
+    }
+
+    private void recompute(Long employeeId) {
+        ReviewSummary summary = new ReviewSummary(employeeId, recentCapacity);
+        jdbcTemplate.query(SELECT_REVIEWS, rs -> {
+            summary.addInScanOrder(rs.getLong("id"), rs.getTimestamp("review_date"), rs.getBigDecimal("score"));
+        }, employeeId);
+        jdbcTemplate.update(DELETE_SUMMARY, employeeId);
+        insert(summary.getCount() > 0 ? List.of(summary) : Collections.emptyList());
+    }
+
+    private void lockEmployees(List<Long> employeeIds) {
+        jdbcTemplate.queryForList(String.format(LOCK_EMPLOYEES, placeholders(employeeIds.size())), Long.class,
+                employeeIds.toArray());
+    }
+
+    private Map<Long, ReviewSummary> load(List<Long> employeeIds) {
+        Map<Long, ReviewSummary> summaries = new HashMap<>();
+        jdbcTemplate.query(String.format(SELECT_SUMMARIES, placeholders(employeeIds.size())), rs -> {
+            ReviewSummary summary = new ReviewSummary(rs.getLong("employee_id"), recentCapacity,
+                    rs.getInt("review_count"), rs.getBigDecimal("score_sum"), rs.getBigDecimal("min_score"),
+                    rs.getBigDecimal("max_score"), rs.getLong("latest_review_id"),
+                    rs.getTimestamp("latest_review_date"), rs.getBigDecimal("latest_score"),
+                    rs.getString("recent_review_ids"));
+            summaries.put(summary.getEmployeeId(), summary);
+        }, employeeIds.toArray());
+        return summaries;
+    }
+
+    private void insert(List<ReviewSummary> summaries) {
+        if (summaries.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SUMMARY, summaries, summaries.size(), (ps, summary) -> {
+            ps.setLong(1, summary.getEmployeeId());
+            ps.setInt(2, summary.getCount());
+            ps.setBigDecimal(3, summary.getScoreSum());
+            ps.setBigDecimal(4, summary.getMinScore());
+            ps.setBigDecimal(5, summary.getMaxScore());
+            ps.setLong(6, summary.getLatestReviewId());
+            ps.setTimestamp(7, new Timestamp(summary.getLatestReviewDate().getTime()));
+            ps.setBigDecimal(8, summary.getLatestScore());
+            ps.setString(9, summary.getRecentReviewIdsColumn());
+        });
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    /**
+     * A review that was just inserted.
+     */
+    public static final class AddedReview {
+
+        private final Long employeeId;
+        private final Long reviewId;
+        private final Date reviewDate;
+        private final BigDecimal score;
+
+        public AddedReview(Long employeeId, Long reviewId, Date reviewDate, BigDecimal score) {
+            this.employeeId = employeeId;
+            this.reviewId = reviewId;
+            this.reviewDate = reviewDate;
+            this.score = score;
+        }
+
+    }
+
+}
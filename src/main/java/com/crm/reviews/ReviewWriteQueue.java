@@ -0,0 +1,255 @@
+package com.crm.reviews;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+import com.crm.exception.ServiceOverloadedException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Write-behind queue absorbing bursts of review submissions.
+ *
+ * Submissions are validated by the caller and offered to a bounded queue; a
+ * full queue rejects the submission with {@link ServiceOverloadedException}
+ * (503 with Retry-After) instead of growing without bound. A single worker
+ * takes the first waiting review, keeps collecting for up to
+ * {@code config.reviewWrites.lingerMillis} or until
+ * {@code config.reviewWrites.batchSize} reviews are waiting, and writes them
+ * with {@link ReviewBatchWriter}. When a batch fails, its reviews are retried
+ * one by one so that a single bad row only fails its own submission.
+ *
+ * Queued reviews live only in memory. The queue stops after the web server
+ * (its lifecycle phase is lower), refuses new submissions and writes what is
+ * still queued before the datasource is closed; reviews queued when the
+ * process is killed are lost.
+ */
+@Component
+public class ReviewWriteQueue implements SmartLifecycle {
+
+    private static final Logger LOG = LogManager.getLogger(ReviewWriteQueue.class);
+
+    static final String BATCH_SIZE_NAME = "crm.reviews.batch.size";
+    static final String FLUSH_LATENCY_NAME = "crm.reviews.flush.latency";
+    static final String WRITE_DELAY_NAME = "crm.reviews.write.delay";
+    static final String QUEUE_DEPTH_NAME = "crm.reviews.queue.depth";
+    static final String REJECTED_NAME = "crm.reviews.rejected";
+
+    private final ReviewBatchWriter writer;
+    private final ArrayBlockingQueue<PendingReview> queue;
+    private final int batchSize;
+    private final long lingerNanos;
+    private final long shutdownTimeoutMillis;
+    private final long retryAfterSeconds;
+
+    private final DistributionSummary batchSizes;
+    private final Timer flushSuccess;
+    private final Timer flushFailure;
+    private final Timer writeDelay;
+    private final Counter rejectedFull;
+    private final Counter rejectedFailed;
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public ReviewWriteQueue(ReviewBatchWriter writer, MeterRegistry registry,
+            @Value("${config.reviewWrites.queueCapacity}") int queueCapacity,
+            @Value("${config.reviewWrites.batchSize}") int batchSize,
+            @Value("${config.reviewWrites.lingerMillis}") long lingerMillis,
+            @Value("${config.reviewWrites.shutdownTimeoutMillis}") long shutdownTimeoutMillis,
+            @Value("${config.reviewWrites.retryAfterSeconds}") long retryAfterSeconds) {
+        this.writer = writer;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.lingerNanos = TimeUnit.MILLISECONDS.toNanos(lingerMillis);
+        this.shutdownTimeoutMillis = shutdownTimeoutMillis;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.batchSizes = DistributionSummary.builder(BATCH_SIZE_NAME)
+                .description("Reviews written per JDBC batch")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(registry);
+        this.flushSuccess = flushTimer(registry, "success");
+        this.flushFailure = flushTimer(registry, "error");
+        this.writeDelay = Timer.builder(WRITE_DELAY_NAME)
+                .description("Time from submission until the review is committed")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(registry);
+        this.rejectedFull = rejectedCounter(registry, "queue_full");
+        this.rejectedFailed = rejectedCounter(registry, "write_failed");
+        Gauge.builder(QUEUE_DEPTH_NAME, queue, ArrayBlockingQueue::size)
+                .description("Reviews waiting to be written")
+                .register(registry);
+    }
+
+    /**
+     * Queues a validated review.
+     *
+     * @throws ServiceOverloadedException if the queue is full or shutting down
+     */
+    public void submit(PendingReview review) {
+        if (!running || !queue.offer(review)) {
+            rejectedFull.increment();
+            throw new ServiceOverloadedException("Review write queue", retryAfterSeconds);
+        }
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        worker = new Thread(this::run, "review-writer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * Refuses new submissions and waits for the worker to write what is
+     * queued. Reviews the worker could not reach in time are written here.
+     */
+    @Override
+    public void stop() {
+        running = false;
+        try {
+            worker.join(shutdownTimeoutMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (worker.isAlive()) {
+            LOG.warn("Review writer did not finish within {} ms, {} reviews still queued", shutdownTimeoutMillis,
+                    queue.size());
+            return;
+        }
+        // a submission may have passed the running check just before it was cleared
+        List<PendingReview> remaining = new ArrayList<>();
+        while (queue.drainTo(remaining, batchSize) > 0) {
+            flush(remaining);
+            remaining.clear();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Stops after the web server, so that requests in flight can still queue
+     * their reviews before the queue is drained.
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private void run() {
+        List<PendingReview> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                collect(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (!batch.isEmpty()) {
+                flush(batch);
+                batch.clear();
+            }
+        }
+        LOG.info("Review writer stopped");
+    }
+
+    /**
+     * Waits for a first review, then collects more until the batch is full or
+     * the linger time has passed. Returns with an empty batch now and then so
+     * that the worker notices a shutdown.
+     */
+    private void collect(List<PendingReview> batch) throws InterruptedException {
+        PendingReview first = queue.poll(100, TimeUnit.MILLISECONDS);
+        if (first == null) {
+            return;
+        }
+        batch.add(first);
+        long deadline = System.nanoTime() + lingerNanos;
+        while (batch.size() < batchSize) {
+            queue.drainTo(batch, batchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= batchSize || remaining <= 0 || !running) {
+                return;
+            }
+            PendingReview next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void flush(List<PendingReview> batch) {
+        long start = System.nanoTime();
+        try {
+            writer.write(batch);
+            flushSuccess.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            batchSizes.record(batch.size());
+            recordWriteDelay(batch);
+        } catch (DataAccessException e) {
+            flushFailure.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            if (batch.size() == 1) {
+                fail(batch.get(0), e);
+                return;
+            }
+            LOG.warn("Batch of {} reviews failed, writing them one by one: {}", batch.size(), e.getMessage());
+            for (PendingReview review : batch) {
+                flush(List.of(review));
+            }
+        } catch (RuntimeException e) {
+            flushFailure.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            LOG.error("Batch of {} reviews failed", batch.size(), e);
+            batch.forEach(review -> fail(review, e));
+        }
+    }
+
+    private void fail(PendingReview review, RuntimeException e) {
+        LOG.error("Could not write {}: {}", review, e.getMessage());
+        rejectedFailed.increment();
+        review.getWritten().completeExceptionally(e);
+    }
+
+    private void recordWriteDelay(List<PendingReview> batch) {
+        long now = System.nanoTime();
+        for (PendingReview review : batch) {
+            writeDelay.record(now - review.getEnqueuedNanos(), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static Timer flushTimer(MeterRegistry registry, String outcome) {
+        return Timer.builder(FLUSH_LATENCY_NAME)
+                .description("Duration of review batch transactions")
+                .tag("outcome", outcome)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(registry);
+    }
+
+    private static Counter rejectedCounter(MeterRegistry registry, String reason) {
+        return Counter.builder(REJECTED_NAME)
+                .description("Review submissions that were not written")
+                .tag("reason", reason)
+                .register(registry);
+    }
+
+}
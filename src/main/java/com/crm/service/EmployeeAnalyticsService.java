@@ -0,0 +1,8 @@
+package com.crm.service;
+
+import com.crm.dto.EmployeeAnalyticsDto;
+
+public interface EmployeeAnalyticsService {
+
+    public EmployeeAnalyticsDto getEmployeeAnalytics(String groupBy, Integer bins);
+}
@@ -4,11 +4,23 @@ import java.util.List;
 
 import org.json.simple.JSONObject;
 
+import com.crm.dto.EmployeeChangesDto;
+import com.crm.dto.EmployeeDictionaries;
 import com.crm.dto.EmployeeDto;
+import com.crm.dto.EmployeeFields;
 
 public interface EmployeeService {
     
     public EmployeeDto getEmployeesData(Long id);
 
+    public EmployeeDto getEmployeesData(Long id, EmployeeFields fields);
+
+    public Long getEmployeeVersion(Long id);
+
     public List<EmployeeDto> getAllEmployeesData(JSONObject filterCriteria);
+
+    public List<EmployeeDto> getAllEmployeesData(JSONObject filterCriteria, EmployeeDictionaries dictionaries,
+            EmployeeFields fields);
+
+    public EmployeeChangesDto getEmployeeChanges(String token, EmployeeFields fields);
 }
@@ -0,0 +1,31 @@
+package com.crm.service;
+
+import com.crm.dto.JfrRecordingDto;
+
+/**
+ * Starts and stops on-demand Java Flight Recorder recordings that include the
+ * application's custom {@code com.crm.*} events. At most one recording is
+ * active at a time.
+ */
+public interface JfrRecordingService {
+
+    /**
+     * Starts a bounded recording.
+     *
+     * @param durationSeconds requested duration, clamped to the configured maximum
+     * @return the started recording, or null if one is already running
+     */
+    public JfrRecordingDto start(long durationSeconds);
+
+    /**
+     * Stops the active recording and writes it to its file.
+     *
+     * @return the stopped recording, or null if none was running
+     */
+    public JfrRecordingDto stop();
+
+    /**
+     * @return the active or most recently finished recording, or null if none
+     */
+    public JfrRecordingDto status();
+}
@@ -0,0 +1,16 @@
+package com.crm.service;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import com.crm.dto.ReviewReceiptDto;
+import com.crm.dto.ReviewSubmissionDto;
+import com.crm.dto.ReviewTrendDto;
+import com.crm.reviews.AckMode;
+
+public interface ReviewService {
+
+    public CompletableFuture<ReviewReceiptDto> submitReview(ReviewSubmissionDto review, AckMode ack);
+
+    public ReviewTrendDto getReviewTrend(String from, String to, List<Integer> departmentIds);
+}
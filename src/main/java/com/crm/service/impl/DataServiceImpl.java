@@ -5,6 +5,7 @@ import java.util.Comparator;
 import java.util.List;
 
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.crm.dto.DropDownDto;
 import com.crm.entity.Department;
@@ -20,6 +21,7 @@ import com.crm.service.DataService;
  * for UI dropdown components.
  */
 @Service
+@Transactional(readOnly = true)
 public class DataServiceImpl implements DataService {
 
     private DepartmentRepository departmentRepository;
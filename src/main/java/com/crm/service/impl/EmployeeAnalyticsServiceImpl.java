@@ -0,0 +1,74 @@
+package com.crm.service.impl;
+
+import java.time.LocalDate;
+import java.util.Locale;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.crm.analytics.EmployeeAnalytics;
+import com.crm.analytics.EmployeeColumns;
+import com.crm.analytics.EmployeeColumnsStore;
+import com.crm.analytics.GroupBy;
+import com.crm.dto.EmployeeAnalyticsDto;
+import com.crm.service.EmployeeAnalyticsService;
+
+/**
+ * Implementation of the EmployeeAnalyticsService interface that computes
+ * statistics on the in-memory {@link EmployeeColumns} snapshot rather than
+ * with SQL aggregates, so analytics cost CPU on this node only and see data
+ * as of the last snapshot refresh. Snapshots with at least
+ * config.analytics.parallelThreshold employees are processed in parallel.
+ */
+@Service
+public class EmployeeAnalyticsServiceImpl implements EmployeeAnalyticsService {
+
+    private EmployeeColumnsStore employeeColumnsStore;
+    private int defaultBins;
+    private int maxBins;
+    private int parallelThreshold;
+
+    /**
+     * Constructs a new EmployeeAnalyticsServiceImpl.
+     * 
+     * @param employeeColumnsStore Store holding the current snapshot
+     * @param defaultBins Salary histogram bins when none are requested
+     * @param maxBins Most salary histogram bins a request may ask for
+     * @param parallelThreshold Snapshot size from which work is parallelized
+     */
+    public EmployeeAnalyticsServiceImpl(EmployeeColumnsStore employeeColumnsStore,
+            @Value("${config.analytics.defaultBins}") int defaultBins,
+            @Value("${config.analytics.maxBins}") int maxBins,
+            @Value("${config.analytics.parallelThreshold}") int parallelThreshold) {
+        this.employeeColumnsStore = employeeColumnsStore;
+        this.defaultBins = defaultBins;
+        this.maxBins = maxBins;
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    /**
+     * Headcount, salary and tenure statistics, in total and per group.
+     * 
+     * @param groupBy department, manager or project; department by default
+     * @param bins Number of salary histogram bins, 1 to config.analytics.maxBins
+     * @return The statistics, with the time of the snapshot they were computed on
+     * @throws IllegalArgumentException if the grouping or bin count is invalid
+     */
+    @Override
+    public EmployeeAnalyticsDto getEmployeeAnalytics(String groupBy, Integer bins) {
+        GroupBy grouping;
+        try {
+            grouping = groupBy != null ? GroupBy.valueOf(groupBy.toUpperCase(Locale.ROOT)) : GroupBy.DEPARTMENT;
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("groupBy must be department, manager or project");
+        }
+        int binCount = bins != null ? bins : defaultBins;
+        if (binCount < 1 || binCount > maxBins) {
+            throw new IllegalArgumentException("bins must be between 1 and " + maxBins);
+        }
+        EmployeeColumns columns = employeeColumnsStore.get();
+        return EmployeeAnalytics.compute(columns, grouping, binCount, columns.size() >= parallelThreshold,
+                (int) LocalDate.now().toEpochDay());
+    }
+
+}
@@ -1,9 +1,11 @@
 package com.crm.service.impl;
 
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -11,36 +13,71 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.json.simple.JSONObject;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.crm.changes.ChangeTokens;
+import com.crm.diagnostics.FilterShapes;
+import com.crm.diagnostics.jfr.EmployeeFetchEvent;
+import com.crm.diagnostics.jfr.EmployeeFilterEvent;
+import com.crm.diagnostics.jfr.FilterPredicateEvent;
+import com.crm.dto.EmployeeChangesDto;
+import com.crm.dto.EmployeeDictionaries;
 import com.crm.dto.EmployeeDto;
+import com.crm.dto.EmployeeFields;
 import com.crm.entity.Employee;
+import com.crm.entity.EmployeeProject;
+import com.crm.entity.EmployeeReviewSummary;
 import com.crm.entity.PerformanceReview;
 import com.crm.exception.ResourceNotFoundException;
 import com.crm.mapper.EmployeeMapper;
+import com.crm.repository.ChangeTombstoneRepository;
 import com.crm.repository.EmployeeRepository;
+import com.crm.repository.EmployeeReviewSummaryRepository;
 import com.crm.service.EmployeeService;
 
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.JoinType;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
-import jakarta.transaction.Transactional;
+import jakarta.persistence.criteria.Subquery;
 
+/**
+ * Read-only employee queries. Every public method returns fully assembled
+ * DTOs so that all lazy associations are loaded inside the transaction and the
+ * JDBC connection is released before the response is serialized (open
+ * session in view is disabled).
+ */
 @Service
-@Transactional
+@Transactional(readOnly = true)
 public class EmployeeServiceImpl implements EmployeeService {
 
   private EmployeeRepository employeeRepository;
 
+  private ChangeTombstoneRepository changeTombstoneRepository;
+
+  private EmployeeReviewSummaryRepository employeeReviewSummaryRepository;
+
   private static final Logger LOG = LogManager.getLogger(EmployeeServiceImpl.class);
 
   @Value("${config.maximumReviewsCount}")
   private Integer maxReviewsCount;
 
-  public EmployeeServiceImpl(EmployeeRepository employeeRepository) {
+  @Value("${config.deltaSync.overlapMillis}")
+  private long changeOverlapMillis;
+
+  @Value("${config.deltaSync.tombstoneRetentionMillis}")
+  private long tombstoneRetentionMillis;
+
+  public EmployeeServiceImpl(EmployeeRepository employeeRepository,
+      ChangeTombstoneRepository changeTombstoneRepository,
+      EmployeeReviewSummaryRepository employeeReviewSummaryRepository) {
     this.employeeRepository = employeeRepository;
+    this.changeTombstoneRepository = changeTombstoneRepository;
+    this.employeeReviewSummaryRepository = employeeReviewSummaryRepository;
   }
 
   /**
@@ -56,34 +93,80 @@ public class EmployeeServiceImpl implements EmployeeService {
    */
   @Override
   public EmployeeDto getEmployeesData(Long id) {
-    LOG.info("Fetching employee data for ID: {}", id);
+    return getEmployeesData(id, EmployeeFields.all());
+  }
+
+  /**
+   * Retrieves the requested fields of an employee. The department and manager
+   * are joined, and projects and performance reviews loaded, only when a
+   * requested field needs them.
+   * 
+   * @param id     The unique identifier of the employee
+   * @param fields The EmployeeDto properties to populate
+   * @return EmployeeDto with only the requested properties set
+   * @throws ResourceNotFoundException if employee is not found
+   */
+  @Override
+  public EmployeeDto getEmployeesData(Long id, EmployeeFields fields) {
+    LOG.debug("Fetching employee data for ID: {} with fields: {}", id, fields);
+    EmployeeFetchEvent event = new EmployeeFetchEvent();
+    event.begin();
 
     // Step 1: Retrieve employee details from database
-    Employee employee = fetchEmployeeById(id);
+    Employee employee = fetchEmployeeById(id, fields);
 
     // Step 2: Process and filter performance reviews based on configuration
-    Set<PerformanceReview> filteredReviews = processEmployeeReviews(employee, id);
+    Set<PerformanceReview> filteredReviews = fields.needsReviews() ? processEmployeeReviews(employee, id) : null;
 
     // Step 3: Transform entity data to DTO for client response
-    return EmployeeMapper.mapToEmployeeDto(
+    EmployeeDto employeeDto = EmployeeMapper.mapToEmployeeDto(
         employee,
-        employee.getEmployeeProjects(),
-        filteredReviews);
+        fields.needsProjects() ? employee.getEmployeeProjects() : null,
+        filteredReviews,
+        null,
+        fields);
+    if (fields.needsReviewSummary()) {
+      employeeDto.setReviewSummary(EmployeeMapper.mapToReviewSummaryDto(
+          employeeReviewSummaryRepository.findById(id).orElse(null)));
+    }
+
+    if (event.shouldCommit()) {
+      event.employeeId = id;
+      event.projectCount = employeeDto.getProjects() != null ? employeeDto.getProjects().size() : 0;
+      event.reviewCount = employeeDto.getPerformanceReviews() != null ? employeeDto.getPerformanceReviews().size() : 0;
+      event.commit();
+    }
+    return employeeDto;
   }
 
   /**
-   * Retrieves an employee by their ID from the repository.
+   * Looks up only the version of an employee, by primary key, so that
+   * conditional requests can be answered without loading the aggregate.
    * 
    * @param id The employee's unique identifier
+   * @return the version, or null if the employee does not exist
+   */
+  @Override
+  public Long getEmployeeVersion(Long id) {
+    return employeeRepository.findVersionById(id).orElse(null);
+  }
+
+  /**
+   * Retrieves an employee by their ID from the repository.
+   * 
+   * @param id     The employee's unique identifier
+   * @param fields The requested fields, deciding which references are joined
    * @return Employee entity if found
    * @throws ResourceNotFoundException if employee doesn't exist
    * @throws RuntimeException          for database access issues
    */
-  private Employee fetchEmployeeById(Long id) {
+  private Employee fetchEmployeeById(Long id, EmployeeFields fields) {
     try {
       // Attempt to find employee, throw custom exception if not found
-      return employeeRepository.findById(id)
-          .orElseThrow(() -> new ResourceNotFoundException("Employee", "id", String.valueOf(id)));
+      return employeeRepository.findOne((Root<Employee> root, CriteriaQuery<?> query, CriteriaBuilder cb) -> {
+        fetchReferences(root, query, fields);
+        return cb.equal(root.get("id"), id);
+      }).orElseThrow(() -> new ResourceNotFoundException("Employee", "id", String.valueOf(id)));
     } catch (EntityNotFoundException e) {
       // Handle specific case where entity is not found
       LOG.error("Employee not found with ID: {}", id);
@@ -118,7 +201,7 @@ public class EmployeeServiceImpl implements EmployeeService {
     }
 
     // Filter to get only the most recent reviews up to maxReviewsCount
-    LOG.info("Filtering to most recent {} reviews for employee ID: {}", maxReviewsCount, id);
+    LOG.debug("Filtering to most recent {} reviews for employee ID: {}", maxReviewsCount, id);
     return reviews.stream()
         // Sort in descending order (newest first)
         .sorted((r1, r2) -> r2.getReviewDate().compareTo(r1.getReviewDate()))
@@ -135,26 +218,55 @@ public class EmployeeServiceImpl implements EmployeeService {
    * @return List of EmployeeDto objects matching the criteria
    * @throws ResourceNotFoundException if no employees match the criteria
    */
-  @SuppressWarnings("unchecked")
   @Override
   public List<EmployeeDto> getAllEmployeesData(JSONObject filterCriteria) {
-    LOG.info("Initiating employee search with filters: {}", filterCriteria);
+    return getAllEmployeesData(filterCriteria, new EmployeeDictionaries(false), EmployeeFields.all());
+  }
+
+  /**
+   * Retrieves all employees based on the provided filter criteria, sharing
+   * projects, departments and managers through the given dictionaries.
+   * 
+   * @param filterCriteria JSON object containing filter parameters
+   * @param dictionaries Per-response dictionaries; when normalized, employees
+   *                     reference their projects, department and manager by id
+   * @param fields       The EmployeeDto properties to populate; associations
+   *                     are only joined or loaded when a requested field needs them
+   * @return List of EmployeeDto objects matching the criteria
+   * @throws ResourceNotFoundException if no employees match the criteria
+   */
+  @Override
+  public List<EmployeeDto> getAllEmployeesData(JSONObject filterCriteria, EmployeeDictionaries dictionaries,
+      EmployeeFields fields) {
+    LOG.debug("Initiating employee search with filters: {} and fields: {}", filterCriteria, fields);
+    EmployeeFilterEvent event = new EmployeeFilterEvent();
+    event.begin();
 
     // Apply filters and retrieve matching employees
-    List<Employee> employees = findEmployeesWithFilters(filterCriteria);
+    List<Employee> employees = findEmployeesWithFilters(filterCriteria, fields);
 
     // Validate and process results
     validateSearchResults(employees, filterCriteria);
 
     // Transform to DTOs
-    return mapEmployeesToDtos(employees);
+    List<EmployeeDto> employeeDtos = mapEmployeesToDtos(employees, dictionaries, fields);
+
+    if (event.shouldCommit()) {
+      event.filterShape = FilterShapes.describe(filterCriteria);
+      event.rowCount = employeeDtos.size();
+      event.commit();
+    }
+    return employeeDtos;
   }
 
   /**
    * Applies the specified filters to find matching employees.
    */
-  private List<Employee> findEmployeesWithFilters(JSONObject filterCriteria) {
+  private List<Employee> findEmployeesWithFilters(JSONObject filterCriteria, EmployeeFields fields) {
     return employeeRepository.findAll((Root<Employee> root, CriteriaQuery<?> query, CriteriaBuilder cb) -> {
+      FilterPredicateEvent event = new FilterPredicateEvent();
+      event.begin();
+      fetchReferences(root, query, fields);
       List<Predicate> predicates = new ArrayList<>();
       
       // Apply each type of filter
@@ -162,12 +274,92 @@ public class EmployeeServiceImpl implements EmployeeService {
       applyProjectFilter(filterCriteria, root, predicates);
       applyReviewDateFilter(filterCriteria, root, cb, predicates);
 
+      if (event.shouldCommit()) {
+        event.filterShape = FilterShapes.describe(filterCriteria);
+        event.predicateCount = predicates.size();
+        event.commit();
+      }
+
       // Return combined predicates or default conjunction
       return predicates.isEmpty() ? cb.conjunction() 
                                 : cb.and(predicates.toArray(new Predicate[0]));
     });
   }
 
+  /**
+   * Retrieves the employees changed or deleted since a delta-sync token. An
+   * employee has changed when its own row, one of its project assignments or
+   * one of its reviews was written or deleted. The window starts
+   * config.deltaSync.overlapMillis before the token so that rows stamped by
+   * transactions that committed late are not missed; clients apply changes
+   * idempotently, so the overlap only costs a few repeated employees.
+   * 
+   * @param token  Token returned by the previous call, or null for none
+   * @param fields The EmployeeDto properties to populate
+   * @return Changed employees and deleted ids, or a reset when the token is
+   *         missing or older than the tombstone retention
+   * @throws IllegalArgumentException if the token is malformed
+   */
+  @Override
+  public EmployeeChangesDto getEmployeeChanges(String token, EmployeeFields fields) {
+    Date now = new Date();
+    String nextToken = ChangeTokens.encode(now);
+    Date since = token != null ? ChangeTokens.decode(token) : null;
+    if (since == null || since.getTime() < now.getTime() - tombstoneRetentionMillis) {
+      LOG.debug("Change token {} is missing or expired, client has to reload", token);
+      return new EmployeeChangesDto(nextToken, true, List.of(), List.of());
+    }
+
+    Date from = new Date(since.getTime() - changeOverlapMillis);
+    List<Long> deleted = changeTombstoneRepository.findDeletedEmployeeIds(from);
+    List<Long> lostChildren = changeTombstoneRepository.findEmployeeIdsWithDeletedChildren(from);
+    List<Employee> employees = employeeRepository.findAll(
+        (Root<Employee> root, CriteriaQuery<?> query, CriteriaBuilder cb) -> {
+          fetchReferences(root, query, fields);
+          List<Predicate> changed = new ArrayList<>();
+          changed.add(cb.greaterThan(root.<Date>get("updatedAt"), from));
+          changed.add(cb.exists(childChangedSince(query, cb, root, EmployeeProject.class, from)));
+          changed.add(cb.exists(childChangedSince(query, cb, root, PerformanceReview.class, from)));
+          if (!lostChildren.isEmpty()) {
+            changed.add(root.get("id").in(lostChildren));
+          }
+          return cb.or(changed.toArray(new Predicate[0]));
+        }, Sort.by("id"));
+    LOG.debug("Found {} changed and {} deleted employees since {}", employees.size(), deleted.size(), from);
+
+    List<EmployeeDto> modified = mapEmployeesToDtos(employees, new EmployeeDictionaries(false), fields);
+    return new EmployeeChangesDto(nextToken, false, modified, deleted);
+  }
+
+  /**
+   * Selects the project assignments or reviews of an employee written after
+   * the given time.
+   */
+  private static Subquery<Integer> childChangedSince(CriteriaQuery<?> query, CriteriaBuilder cb,
+      Root<Employee> employee, Class<?> childType, Date since) {
+    Subquery<Integer> subquery = query.subquery(Integer.class);
+    Root<?> child = subquery.from(childType);
+    return subquery.select(cb.literal(1))
+        .where(cb.equal(child.get("employee"), employee), cb.greaterThan(child.<Date>get("updatedAt"), since));
+  }
+
+  /**
+   * Fetch-joins the department and manager when the requested fields need
+   * them. Both associations are lazy, so they are never loaded otherwise.
+   */
+  private static void fetchReferences(Root<Employee> root, CriteriaQuery<?> query, EmployeeFields fields) {
+    // count queries select no entity to fetch into
+    if (Long.class == query.getResultType() || long.class == query.getResultType()) {
+      return;
+    }
+    if (fields.needsDepartment()) {
+      root.fetch("department", JoinType.LEFT);
+    }
+    if (fields.needsManager()) {
+      root.fetch("manager", JoinType.LEFT);
+    }
+  }
+
   /**
    * Applies department-based filtering if specified in criteria.
    */
@@ -176,7 +368,7 @@ public class EmployeeServiceImpl implements EmployeeService {
     if (criteria.containsKey("department")) {
       List<String> departments = (List<String>) criteria.get("department");
       if (departments != null && !departments.isEmpty()) {
-        LOG.info("Applying department filter: {}", departments);
+        LOG.debug("Applying department filter: {}", departments);
         predicates.add(root.get("department").get("name").in(departments));
       }
     }
@@ -190,7 +382,7 @@ public class EmployeeServiceImpl implements EmployeeService {
     if (criteria.containsKey("projects")) {
       List<String> projects = (List<String>) criteria.get("projects");
       if (projects != null && !projects.isEmpty()) {
-        LOG.info("Applying project filter: {}", projects);
+        LOG.debug("Applying project filter: {}", projects);
         predicates.add(root.join("employeeProjects").join("project").get("name").in(projects));
       }
     }
@@ -204,7 +396,7 @@ public class EmployeeServiceImpl implements EmployeeService {
     if (criteria.containsKey("reviewDate")) {
       String dateStr = (String) criteria.get("reviewDate");
       if (dateStr != null && !dateStr.isEmpty()) {
-        LOG.info("Applying review date filter: {}", dateStr);
+        LOG.debug("Applying review date filter: {}", dateStr);
         java.sql.Date reviewDate = java.sql.Date.valueOf(dateStr);
         predicates.add(cb.equal(root.join("performanceReviews").get("reviewDate"), reviewDate));
       }
@@ -219,19 +411,34 @@ public class EmployeeServiceImpl implements EmployeeService {
       LOG.warn("Search returned no results for criteria: {}", filterCriteria);
       throw new ResourceNotFoundException("Employee", "filterCriteria", filterCriteria.toString());
     }
-    LOG.info("Found {} matching employees", employees.size());
+    LOG.debug("Found {} matching employees", employees.size());
   }
 
   /**
-   * Maps employee entities to DTOs.
+   * Maps employee entities to DTOs, touching only the collections the
+   * requested fields need. Review summaries are read with one query for all
+   * employees.
    */
-  private List<EmployeeDto> mapEmployeesToDtos(List<Employee> employees) {
+  private List<EmployeeDto> mapEmployeesToDtos(List<Employee> employees, EmployeeDictionaries dictionaries,
+      EmployeeFields fields) {
+    Map<Long, EmployeeReviewSummary> summaries = fields.needsReviewSummary() && !employees.isEmpty()
+        ? employeeReviewSummaryRepository.findAllById(employees.stream().map(Employee::getId).toList()).stream()
+            .collect(Collectors.toMap(EmployeeReviewSummary::getEmployeeId, summary -> summary))
+        : Map.of();
     return employees.stream()
-        .map(employee -> EmployeeMapper.mapToEmployeeDto(
-            employee,
-            employee.getEmployeeProjects(),
-            employee.getPerformanceReviews()))
+        .map(employee -> {
+          EmployeeDto employeeDto = EmployeeMapper.mapToEmployeeDto(
+              employee,
+              fields.needsProjects() ? employee.getEmployeeProjects() : null,
+              fields.needsReviews() ? employee.getPerformanceReviews() : null,
+              dictionaries,
+              fields);
+          if (fields.needsReviewSummary()) {
+            employeeDto.setReviewSummary(EmployeeMapper.mapToReviewSummaryDto(summaries.get(employee.getId())));
+          }
+          return employeeDto;
+        })
         .collect(Collectors.toList());
 
   }
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -0,0 +1,150 @@
+package com.crm.service.impl;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.time.Duration;
+import java.util.Date;
+import java.util.Map;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.crm.dto.JfrRecordingDto;
+import com.crm.service.JfrRecordingService;
+
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+
+/**
+ * Implementation of JfrRecordingService backed by the in-process
+ * {@link Recording} API. Recordings use the JDK "profile" settings plus the
+ * custom {@code com.crm.*} events and are bounded in duration, age and size
+ * so a forgotten recording cannot fill the disk.
+ */
+@Service
+public class JfrRecordingServiceImpl implements JfrRecordingService {
+
+    private static final Logger LOG = LogManager.getLogger(JfrRecordingServiceImpl.class);
+
+    private static final String[] CUSTOM_EVENTS = {
+        "com.crm.EmployeeFetch",
+        "com.crm.EmployeeFilter",
+        "com.crm.FilterPredicate",
+        "com.crm.EmployeeMapping"
+    };
+
+    private final Path directory;
+    private final long maxDurationSeconds;
+    private final long maxSizeBytes;
+    private final String settings;
+
+    private Recording recording;
+    private JfrRecordingDto last;
+
+    /**
+     * Constructs the service with its recording bounds.
+     *
+     * @param directory Directory recordings are written to
+     * @param maxDurationSeconds Upper bound for a single recording's duration
+     * @param maxSizeBytes Upper bound for the recording's in-memory and on-disk size
+     * @param settings Name of the JDK event settings to start from ("profile" or "default")
+     */
+    public JfrRecordingServiceImpl(
+            @Value("${config.jfr.directory}") String directory,
+            @Value("${config.jfr.maxDurationSeconds}") long maxDurationSeconds,
+            @Value("${config.jfr.maxSizeBytes}") long maxSizeBytes,
+            @Value("${config.jfr.settings}") String settings) {
+        this.directory = Paths.get(directory);
+        this.maxDurationSeconds = maxDurationSeconds;
+        this.maxSizeBytes = maxSizeBytes;
+        this.settings = settings;
+    }
+
+    @Override
+    public synchronized JfrRecordingDto start(long durationSeconds) {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            LOG.warn("JFR recording {} is already running", recording.getId());
+            return null;
+        }
+        if (recording != null) {
+            // the previous recording reached its duration and was written on its own
+            recording.close();
+            recording = null;
+        }
+        long duration = durationSeconds <= 0 ? maxDurationSeconds : Math.min(durationSeconds, maxDurationSeconds);
+        Path file = directory.resolve("crm-" + new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date()) + ".jfr");
+        try {
+            Files.createDirectories(directory);
+            Map<String, String> eventSettings = Configuration.getConfiguration(settings).getSettings();
+            Recording started = new Recording(eventSettings);
+            for (String event : CUSTOM_EVENTS) {
+                started.enable(event);
+            }
+            started.setName("crm-on-demand");
+            started.setToDisk(true);
+            started.setDestination(file);
+            started.setDuration(Duration.ofSeconds(duration));
+            started.setMaxAge(Duration.ofSeconds(duration));
+            started.setMaxSize(maxSizeBytes);
+            started.start();
+            recording = started;
+        } catch (IOException | ParseException e) {
+            throw new IllegalStateException("Unable to start JFR recording: " + e.getMessage(), e);
+        }
+        LOG.info("Started JFR recording {} for {}s to {}", recording.getId(), duration, file);
+        last = toDto(recording);
+        return last;
+    }
+
+    @Override
+    public synchronized JfrRecordingDto stop() {
+        if (recording == null || recording.getState() != RecordingState.RUNNING) {
+            return null;
+        }
+        // stop() dumps to the destination set at start
+        recording.stop();
+        last = toDto(recording);
+        LOG.info("Stopped JFR recording {}, written to {}", recording.getId(), recording.getDestination());
+        recording.close();
+        recording = null;
+        return last;
+    }
+
+    @Override
+    public synchronized JfrRecordingDto status() {
+        if (recording != null) {
+            last = toDto(recording);
+        }
+        return last;
+    }
+
+    /**
+     * Stops and writes any active recording when the application shuts down.
+     */
+    @PreDestroy
+    public void shutdown() {
+        stop();
+    }
+
+    /**
+     * Converts a recording into its API representation.
+     */
+    private JfrRecordingDto toDto(Recording source) {
+        return new JfrRecordingDto(
+            source.getId(),
+            source.getName(),
+            source.getState().name(),
+            source.getDestination() != null ? source.getDestination().toString() : null,
+            source.getStartTime() != null ? Date.from(source.getStartTime()) : null,
+            source.getDuration() != null ? source.getDuration().getSeconds() : null,
+            source.getMaxSize());
+    }
+}
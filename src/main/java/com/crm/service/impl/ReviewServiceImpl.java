@@ -0,0 +1,254 @@
+package com.crm.service.impl;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.crm.dto.DepartmentReviewTrendDto;
+import com.crm.dto.ReviewMonthDto;
+import com.crm.dto.ReviewReceiptDto;
+import com.crm.dto.ReviewSubmissionDto;
+import com.crm.dto.ReviewTrendDto;
+import com.crm.entity.Department;
+import com.crm.entity.DepartmentReviewRollup;
+import com.crm.exception.ResourceNotFoundException;
+import com.crm.repository.DepartmentRepository;
+import com.crm.repository.DepartmentReviewRollupRepository;
+import com.crm.repository.EmployeeRepository;
+import com.crm.reviews.AckMode;
+import com.crm.reviews.PendingReview;
+import com.crm.reviews.ReviewWriteQueue;
+import com.crm.service.ReviewService;
+
+/**
+ * Implementation of the ReviewService interface that validates review
+ * submissions and hands them to the {@link ReviewWriteQueue}.
+ * Validation covers everything the insert could reject, so that a queued
+ * review normally cannot fail the batch it ends up in. The service is not
+ * transactional, and a submission waiting for its batch holds no request
+ * thread either: it is answered when the batch writer completes its review.
+ * At most config.reviewWrites.maxAckWaiters submissions wait at a time;
+ * beyond that FLUSHED submissions are answered as soon as they are queued.
+ *
+ * Score trends are read from the department/month rollups, so their cost
+ * depends on the number of months and departments asked for, not on the
+ * number of reviews.
+ */
+@Service
+public class ReviewServiceImpl implements ReviewService {
+
+    // performance_review.score is DECIMAL(2, 2)
+    private static final BigDecimal MAX_SCORE = new BigDecimal("0.99");
+    private static final int MAX_SCORE_SCALE = 2;
+    private static final int MAX_COMMENTS_LENGTH = 200;
+    private static final int STATISTICS_SCALE = 4;
+
+    private EmployeeRepository employeeRepository;
+    private ReviewWriteQueue reviewWriteQueue;
+    private DepartmentReviewRollupRepository rollupRepository;
+    private DepartmentRepository departmentRepository;
+    private long ackTimeoutMillis;
+    private Semaphore ackWaiters;
+    private int maxTrendMonths;
+
+    /**
+     * Constructs a new ReviewServiceImpl.
+     * 
+     * @param employeeRepository Repository used to check that the employee exists
+     * @param reviewWriteQueue Queue writing the reviews in batches
+     * @param rollupRepository Repository reading the department review rollups
+     * @param departmentRepository Repository providing the department names
+     * @param ackTimeoutMillis How long a FLUSHED submission waits for its batch
+     * @param maxAckWaiters How many FLUSHED submissions may wait at a time
+     * @param maxTrendMonths The longest range of months a trend may cover
+     */
+    public ReviewServiceImpl(EmployeeRepository employeeRepository, ReviewWriteQueue reviewWriteQueue,
+            DepartmentReviewRollupRepository rollupRepository, DepartmentRepository departmentRepository,
+            @Value("${config.reviewWrites.ackTimeoutMillis}") long ackTimeoutMillis,
+            @Value("${config.reviewWrites.maxAckWaiters}") int maxAckWaiters,
+            @Value("${config.reviewRollups.maxTrendMonths}") int maxTrendMonths) {
+        this.employeeRepository = employeeRepository;
+        this.reviewWriteQueue = reviewWriteQueue;
+        this.rollupRepository = rollupRepository;
+        this.departmentRepository = departmentRepository;
+        this.ackTimeoutMillis = ackTimeoutMillis;
+        this.ackWaiters = new Semaphore(maxAckWaiters);
+        this.maxTrendMonths = maxTrendMonths;
+    }
+
+    /**
+     * Validates and queues a review.
+     * 
+     * @param review The submitted review
+     * @param ack ACCEPTED to return once queued, FLUSHED to wait until written
+     * @return The receipt; flushed, with the review id, when the review was
+     *         written within config.reviewWrites.ackTimeoutMillis. Completes
+     *         exceptionally if the review could not be written.
+     * @throws IllegalArgumentException if the review is invalid
+     * @throws ResourceNotFoundException if the employee does not exist
+     * @throws com.crm.exception.ServiceOverloadedException if the queue is full
+     */
+    @Override
+    public CompletableFuture<ReviewReceiptDto> submitReview(ReviewSubmissionDto review, AckMode ack) {
+        PendingReview pending = validate(review);
+        if (!employeeRepository.existsById(review.getEmployeeId())) {
+            throw new ResourceNotFoundException("Employee", "id", String.valueOf(review.getEmployeeId()));
+        }
+        reviewWriteQueue.submit(pending);
+        ReviewReceiptDto queued = new ReviewReceiptDto(review.getEmployeeId(), null, false);
+        if (ack != AckMode.FLUSHED || !ackWaiters.tryAcquire()) {
+            return CompletableFuture.completedFuture(queued);
+        }
+        // on timeout the review is still queued; it will be written, just not acknowledged as such
+        return pending.getWritten()
+                .thenApply(reviewId -> new ReviewReceiptDto(review.getEmployeeId(), reviewId, true))
+                .completeOnTimeout(queued, ackTimeoutMillis, TimeUnit.MILLISECONDS)
+                .whenComplete((receipt, error) -> ackWaiters.release());
+    }
+
+    /**
+     * Review score trend per department and month.
+     * 
+     * @param from First month, yyyy-MM
+     * @param to Last month, yyyy-MM, at most config.reviewRollups.maxTrendMonths
+     *           months after from
+     * @param departmentIds Departments to include; null or empty for all
+     * @return The trend of each department with reviews in the range, by id
+     * @throws IllegalArgumentException if the range is malformed or too long
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public ReviewTrendDto getReviewTrend(String from, String to, List<Integer> departmentIds) {
+        YearMonth first = parseMonth("from", from);
+        YearMonth last = parseMonth("to", to);
+        long months = ChronoUnit.MONTHS.between(first, last) + 1;
+        if (months < 1 || months > maxTrendMonths) {
+            throw new IllegalArgumentException("to must be between from and " + maxTrendMonths
+                    + " months after it");
+        }
+        Date firstDay = Date.valueOf(first.atDay(1));
+        Date lastBucket = Date.valueOf(last.atDay(1));
+        List<DepartmentReviewRollup> rollups = departmentIds == null || departmentIds.isEmpty()
+                ? rollupRepository.findByMonthRange(firstDay, lastBucket)
+                : rollupRepository.findByMonthRange(firstDay, lastBucket, departmentIds);
+
+        List<DepartmentReviewTrendDto> departments = new ArrayList<>();
+        Map<Integer, String> names = null;
+        DepartmentReviewTrendDto current = null;
+        BigDecimal sum = null;
+        BigDecimal sumOfSquares = null;
+        for (DepartmentReviewRollup rollup : rollups) {
+            // buckets left empty by deleted reviews are kept until a rebuild
+            if (rollup.getReviewCount() <= 0) {
+                continue;
+            }
+            Integer departmentId = rollup.getId().getDepartmentId();
+            if (current == null || !current.getDepartmentId().equals(departmentId)) {
+                if (current != null) {
+                    setTotals(current, sum, sumOfSquares);
+                }
+                if (names == null) {
+                    names = departmentNames();
+                }
+                current = new DepartmentReviewTrendDto(departmentId, names.get(departmentId), 0L, null, null,
+                        new ArrayList<>());
+                departments.add(current);
+                sum = BigDecimal.ZERO;
+                sumOfSquares = BigDecimal.ZERO;
+            }
+            long count = rollup.getReviewCount();
+            current.getMonths().add(new ReviewMonthDto(
+                    YearMonth.from(new Date(rollup.getId().getBucketMonth().getTime()).toLocalDate()).toString(),
+                    count, average(count, rollup.getScoreSum()),
+                    standardDeviation(count, rollup.getScoreSum(), rollup.getScoreSumSquares())));
+            current.setReviewCount(current.getReviewCount() + count);
+            sum = sum.add(rollup.getScoreSum());
+            sumOfSquares = sumOfSquares.add(rollup.getScoreSumSquares());
+        }
+        if (current != null) {
+            setTotals(current, sum, sumOfSquares);
+        }
+        return new ReviewTrendDto(first.toString(), last.toString(), departments);
+    }
+
+    private Map<Integer, String> departmentNames() {
+        Map<Integer, String> names = new HashMap<>();
+        for (Department department : departmentRepository.findAll()) {
+            names.put(department.getId(), department.getName());
+        }
+        return names;
+    }
+
+    private static void setTotals(DepartmentReviewTrendDto trend, BigDecimal sum, BigDecimal sumOfSquares) {
+        trend.setAverageScore(average(trend.getReviewCount(), sum));
+        trend.setScoreStdDev(standardDeviation(trend.getReviewCount(), sum, sumOfSquares));
+    }
+
+    private static BigDecimal average(long count, BigDecimal sum) {
+        return sum.divide(BigDecimal.valueOf(count), STATISTICS_SCALE, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Population standard deviation from the sums: the variance is
+     * (n * sum of squares - sum^2) / n^2, exact up to the square root.
+     */
+    private static BigDecimal standardDeviation(long count, BigDecimal sum, BigDecimal sumOfSquares) {
+        BigDecimal n = BigDecimal.valueOf(count);
+        BigDecimal variance = sumOfSquares.multiply(n).subtract(sum.multiply(sum))
+                .divide(n.multiply(n), MathContext.DECIMAL64);
+        if (variance.signum() <= 0) {
+            return BigDecimal.ZERO.setScale(STATISTICS_SCALE);
+        }
+        return variance.sqrt(MathContext.DECIMAL64).setScale(STATISTICS_SCALE, RoundingMode.HALF_UP);
+    }
+
+    private static YearMonth parseMonth(String name, String value) {
+        try {
+            if (value != null) {
+                return YearMonth.parse(value);
+            }
+        } catch (DateTimeParseException e) {
+            // reported below
+        }
+        throw new IllegalArgumentException(name + " must be a month in the format yyyy-MM");
+    }
+
+    private static PendingReview validate(ReviewSubmissionDto review) {
+        if (review == null || review.getEmployeeId() == null || review.getEmployeeId() <= 0) {
+            throw new IllegalArgumentException("employeeId must be greater than 0");
+        }
+        BigDecimal score = review.getScore();
+        if (score == null || score.signum() < 0 || score.compareTo(MAX_SCORE) > 0
+                || score.stripTrailingZeros().scale() > MAX_SCORE_SCALE) {
+            throw new IllegalArgumentException("score must be between 0.00 and " + MAX_SCORE
+                    + " with at most 2 decimals");
+        }
+        if (review.getComments() != null && review.getComments().length() > MAX_COMMENTS_LENGTH) {
+            throw new IllegalArgumentException("comments must be at most " + MAX_COMMENTS_LENGTH + " characters");
+        }
+        LocalDate reviewDate;
+        try {
+            reviewDate = review.getReviewDate() != null ? LocalDate.parse(review.getReviewDate()) : LocalDate.now();
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("reviewDate must be a date in the format yyyy-MM-dd");
+        }
+        return new PendingReview(review.getEmployeeId(), Date.valueOf(reviewDate), score, review.getComments());
+    }
+
+}
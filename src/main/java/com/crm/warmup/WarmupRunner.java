@@ -0,0 +1,155 @@
+package com.crm.warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.json.simple.JSONObject;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.task.ThreadPoolTaskExecutorBuilder;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import com.crm.dto.DropDownDto;
+import com.crm.exception.ResourceNotFoundException;
+import com.crm.hotkeys.HotKeySnapshotStore;
+import com.crm.service.DataService;
+import com.crm.service.EmployeeService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Warms the application up before it reports itself ready.
+ *
+ * Spring Boot keeps the readiness state at REFUSING_TRAFFIC until all
+ * application runners have returned, so blocking here until the warm-up
+ * finishes, or until {@code config.warmup.timeoutMillis} elapses, keeps the
+ * readiness probe down while the HTTP server, connection pool, Hibernate
+ * query plans, Jackson serializers and JIT are brought up to speed.
+ *
+ * Warm-up loads the reference data, the most requested employees recorded in
+ * the hot-key snapshot and the most requested filters (or one filter per
+ * department when there is no snapshot), in parallel on a bounded executor.
+ */
+@Component
+public class WarmupRunner implements ApplicationRunner {
+
+    private static final Logger LOGGER = LogManager.getLogger(WarmupRunner.class);
+
+    private final DataService dataService;
+    private final EmployeeService employeeService;
+    private final HotKeySnapshotStore hotKeySnapshotStore;
+    private final ObjectMapper objectMapper;
+    private final ObjectProvider<ThreadPoolTaskExecutorBuilder> executorBuilder;
+    private final boolean enabled;
+    private final int parallelism;
+    private final long timeoutMillis;
+    private final int maxEmployees;
+    private final int maxFilters;
+
+    public WarmupRunner(DataService dataService, EmployeeService employeeService,
+            HotKeySnapshotStore hotKeySnapshotStore, ObjectMapper objectMapper,
+            ObjectProvider<ThreadPoolTaskExecutorBuilder> executorBuilder,
+            @Value("${config.warmup.enabled}") boolean enabled,
+            @Value("${config.warmup.parallelism}") int parallelism,
+            @Value("${config.warmup.timeoutMillis}") long timeoutMillis,
+            @Value("${config.warmup.maxEmployees}") int maxEmployees,
+            @Value("${config.warmup.maxFilters}") int maxFilters) {
+        this.dataService = dataService;
+        this.employeeService = employeeService;
+        this.hotKeySnapshotStore = hotKeySnapshotStore;
+        this.objectMapper = objectMapper;
+        this.executorBuilder = executorBuilder;
+        this.enabled = enabled;
+        this.parallelism = parallelism;
+        this.timeoutMillis = timeoutMillis;
+        this.maxEmployees = maxEmployees;
+        this.maxFilters = maxFilters;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        ThreadPoolTaskExecutor executor = executorBuilder.getIfAvailable(ThreadPoolTaskExecutorBuilder::new)
+                .corePoolSize(parallelism)
+                .maxPoolSize(parallelism)
+                .threadNamePrefix("warmup-")
+                .build();
+        executor.setDaemon(true);
+        executor.initialize();
+        List<CompletableFuture<Void>> tasks = new ArrayList<>();
+        try {
+            tasks.add(submit(executor, "departments", () -> serialize(dataService.getDepartments())));
+            tasks.add(submit(executor, "projects", () -> serialize(dataService.getProjects())));
+            List<Long> employeeIds = hotKeySnapshotStore.loadEmployeeIds();
+            for (Long id : employeeIds.subList(0, Math.min(maxEmployees, employeeIds.size()))) {
+                tasks.add(submit(executor, "employee " + id, () -> serialize(employeeService.getEmployeesData(id))));
+            }
+            for (JSONObject filter : filtersToWarm()) {
+                tasks.add(submit(executor, "filter " + filter,
+                        () -> serialize(employeeService.getAllEmployeesData(filter))));
+            }
+            CompletableFuture.allOf(tasks.toArray(new CompletableFuture[0])).get(timeoutMillis, TimeUnit.MILLISECONDS);
+            LOGGER.info("Warm-up ran {} tasks in {} ms", tasks.size(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (TimeoutException e) {
+            long unfinished = tasks.stream().filter(task -> !task.isDone()).count();
+            LOGGER.warn("Warm-up timed out after {} ms with {} of {} tasks unfinished; accepting traffic anyway",
+                    timeoutMillis, unfinished, tasks.size());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            // individual task failures are already handled in submit()
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Persisted hot filters, or a single-department filter per department
+     * when nothing has been recorded yet.
+     */
+    @SuppressWarnings("unchecked")
+    private List<JSONObject> filtersToWarm() {
+        List<JSONObject> filters = hotKeySnapshotStore.loadFilters();
+        if (filters.isEmpty()) {
+            for (DropDownDto department : dataService.getDepartments()) {
+                JSONObject filter = new JSONObject();
+                filter.put("department", List.of(department.getName()));
+                filters.add(filter);
+            }
+        }
+        return filters.subList(0, Math.min(maxFilters, filters.size()));
+    }
+
+    private CompletableFuture<Void> submit(ThreadPoolTaskExecutor executor, String name, Runnable task) {
+        return CompletableFuture.runAsync(() -> {
+            try {
+                task.run();
+            } catch (ResourceNotFoundException e) {
+                LOGGER.debug("Warm-up {} found nothing: {}", name, e.getMessage());
+            } catch (RuntimeException e) {
+                LOGGER.warn("Warm-up {} failed: {}", name, e.getMessage());
+            }
+        }, executor);
+    }
+
+    private void serialize(Object value) {
+        try {
+            objectMapper.writeValueAsBytes(value);
+        } catch (Exception e) {
+            throw new IllegalStateException("Could not serialize warm-up result", e);
+        }
+    }
+
+}
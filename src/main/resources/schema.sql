@@ -13,10 +13,13 @@ CREATE TABLE IF NOT EXISTS  `employee` (
     `date_of_joining` DATE NOT NULL,
     `salary` DECIMAL(18, 2) NOT NULL,
     `manager_id` BIGINT DEFAULT NULL,
+    `updated_at` TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3) ON UPDATE CURRENT_TIMESTAMP(3),
+    `version` BIGINT NOT NULL DEFAULT 0,
     PRIMARY KEY (`id`),
     UNIQUE KEY `email` (`email`),
     KEY `department_id` (`department_id`),
     KEY `manager_id` (`manager_id`),
+    KEY `employee_updated_at` (`updated_at`),
     CONSTRAINT `employee_ibfk_1` FOREIGN KEY (`department_id`) REFERENCES `department` (`id`),
     CONSTRAINT `employee_ibfk_2` FOREIGN KEY (`manager_id`) REFERENCES `employee` (`id`)
 );
@@ -28,7 +31,7 @@ CREATE TABLE IF NOT EXISTS  `project` (
     `end_date` TIMESTAMP NULL DEFAULT NULL,
     `department_id` INT NOT NULL,
     PRIMARY KEY (`id`),
-    KEY `department_id` (`department_id`),
+    KEY `project_department_id` (`department_id`),
     CONSTRAINT `project_ibfk_1` FOREIGN KEY (`department_id`) REFERENCES `department` (`id`)
 );
 
@@ -38,8 +41,10 @@ CREATE TABLE IF NOT EXISTS  `performance_review` (
     `review_date` TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
     `score` DECIMAL(2, 2) NOT NULL,
     `review_comments` VARCHAR(200) DEFAULT NULL,
+    `updated_at` TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3) ON UPDATE CURRENT_TIMESTAMP(3),
     PRIMARY KEY (`id`),
     KEY `employee_id` (`employee_id`),
+    KEY `performance_review_updated_at` (`updated_at`),
     CONSTRAINT `performance_review_ibfk_1` FOREIGN KEY (`employee_id`) REFERENCES `employee` (`id`),
     CONSTRAINT `performance_review_chk_1` CHECK (
         (
@@ -55,9 +60,57 @@ CREATE TABLE IF NOT EXISTS  `employee_project` (
     `project_id` INT NOT NULL,
     `assigned_date` TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
     `role` VARCHAR(50) DEFAULT NULL,
+    `updated_at` TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3) ON UPDATE CURRENT_TIMESTAMP(3),
     PRIMARY KEY (`id`),
-    KEY `employee_id` (`employee_id`),
+    KEY `employee_project_employee_id` (`employee_id`),
     KEY `project_id` (`project_id`),
+    KEY `employee_project_updated_at` (`updated_at`),
     CONSTRAINT `employee_project_ibfk_1` FOREIGN KEY (`employee_id`) REFERENCES `employee` (`id`),
     CONSTRAINT `employee_project_ibfk_2` FOREIGN KEY (`project_id`) REFERENCES `project` (`id`)
-);
\ No newline at end of file
+);
+
+-- One row per employee with reviews: aggregates of its performance_review
+-- rows, kept current by ReviewSummaryStore on every review write so that
+-- summaries are read from one row. recent_review_ids lists the ids of the
+-- config.maximumReviewsCount most recent reviews, newest first.
+CREATE TABLE IF NOT EXISTS  `employee_review_summary` (
+    `employee_id` BIGINT NOT NULL,
+    `review_count` INT NOT NULL,
+    `score_sum` DECIMAL(14, 2) NOT NULL,
+    `min_score` DECIMAL(2, 2) NOT NULL,
+    `max_score` DECIMAL(2, 2) NOT NULL,
+    `latest_review_id` BIGINT NOT NULL,
+    `latest_review_date` TIMESTAMP NOT NULL,
+    `latest_score` DECIMAL(2, 2) NOT NULL,
+    `recent_review_ids` VARCHAR(200) NOT NULL,
+    PRIMARY KEY (`employee_id`),
+    CONSTRAINT `employee_review_summary_ibfk_1` FOREIGN KEY (`employee_id`) REFERENCES `employee` (`id`)
+);
+
+-- Review score aggregates per department and calendar month (bucket_month is
+-- the first day of the month), kept current by ReviewRollupStore on every
+-- review write. Averages and standard deviations of any range of months are
+-- derived from the sums, so exact DECIMAL columns are used.
+CREATE TABLE IF NOT EXISTS  `department_review_rollup` (
+    `department_id` INT NOT NULL,
+    `bucket_month` DATE NOT NULL,
+    `review_count` BIGINT NOT NULL,
+    `score_sum` DECIMAL(16, 2) NOT NULL,
+    `score_sum_squares` DECIMAL(18, 4) NOT NULL,
+    PRIMARY KEY (`department_id`, `bucket_month`),
+    KEY `department_review_rollup_month` (`bucket_month`),
+    CONSTRAINT `department_review_rollup_ibfk_1` FOREIGN KEY (`department_id`) REFERENCES `department` (`id`)
+);
+
+-- Deleted employees, project assignments and reviews, kept for
+-- config.deltaSync.tombstoneRetentionMillis so that delta-sync clients learn
+-- about deletions. employee_id is the employee the deleted row belonged to.
+CREATE TABLE IF NOT EXISTS  `change_tombstone` (
+    `id` BIGINT NOT NULL AUTO_INCREMENT,
+    `entity_type` VARCHAR(30) NOT NULL,
+    `entity_id` VARCHAR(50) NOT NULL,
+    `employee_id` BIGINT NOT NULL,
+    `deleted_at` TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3),
+    PRIMARY KEY (`id`),
+    KEY `change_tombstone_deleted_at` (`deleted_at`)
+);
@@ -0,0 +1,130 @@
+package com.crm.analytics;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.crm.dto.AnalyticsGroupDto;
+import com.crm.dto.EmployeeAnalyticsDto;
+
+/**
+ * Analytics computed on the columnar snapshot: grouping, percentiles,
+ * histograms and tenure, the same sequentially and in parallel, and the
+ * snapshot built from the employee table.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class EmployeeAnalyticsTest {
+
+    private static final int NONE = EmployeeColumns.NONE;
+    private static final int TODAY = 20000;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EmployeeColumnsStore employeeColumnsStore;
+
+    /**
+     * Four employees: two in department 1, one in department 2 and one in
+     * none without salary or joining date; 1 manages 2 and 3, 2 manages 4.
+     */
+    private static EmployeeColumns columns() {
+        return new EmployeeColumns(0L, new long[] { 1, 2, 3, 4 }, new int[] { 0, 0, 1, NONE },
+                new double[] { 250000, 180000, 120000, Double.NaN },
+                new int[] { TODAY - 730, TODAY - 365, TODAY - 1461, EmployeeColumns.NO_DATE },
+                new int[] { NONE, 0, 0, 1 }, new int[] { 0, 0, 1, 3, 3 }, new int[] { 0, 1, 0 },
+                new int[] { 1, 2 }, new String[] { "Engineering", "Sales" }, new int[] { 1, 2 },
+                new String[] { "Payroll", "Outreach" });
+    }
+
+    @Test
+    void statisticsByDepartment() {
+        EmployeeAnalyticsDto analytics = EmployeeAnalytics.compute(columns(), GroupBy.DEPARTMENT, 2, false, TODAY);
+
+        assertEquals(120000.0, analytics.getHistogramMin());
+        assertEquals(65000.0, analytics.getHistogramBinWidth());
+        AnalyticsGroupDto total = analytics.getTotal();
+        assertEquals(4, total.getHeadcount());
+        assertEquals(550000.0, total.getSalarySum());
+        assertEquals(183333.33, total.getAverageSalary());
+        assertEquals(120000.0, total.getSalaryPercentiles().get("p25"));
+        assertEquals(180000.0, total.getSalaryPercentiles().get("p50"));
+        assertEquals(250000.0, total.getSalaryPercentiles().get("p99"));
+        assertArrayEquals(new int[] { 2, 1 }, total.getSalaryHistogram());
+
+        assertEquals(2, analytics.getGroups().size());
+        AnalyticsGroupDto engineering = analytics.getGroups().get(0);
+        assertEquals(Long.valueOf(1), engineering.getId());
+        assertEquals("Engineering", engineering.getName());
+        assertEquals(2, engineering.getHeadcount());
+        assertEquals(215000.0, engineering.getAverageSalary());
+        assertEquals(180000.0, engineering.getSalaryPercentiles().get("p50"));
+        assertArrayEquals(new int[] { 1, 1 }, engineering.getSalaryHistogram());
+        assertEquals(1.5, engineering.getAverageTenureYears());
+    }
+
+    @Test
+    void managersAndProjectsGroupTheirMembers() {
+        List<AnalyticsGroupDto> managers = EmployeeAnalytics.compute(columns(), GroupBy.MANAGER, 10, false, TODAY)
+                .getGroups();
+        assertEquals(2, managers.size());
+        assertEquals(Long.valueOf(1), managers.get(0).getId());
+        assertEquals(300000.0, managers.get(0).getSalarySum());
+        assertEquals(Long.valueOf(2), managers.get(1).getId());
+        assertEquals(1, managers.get(1).getHeadcount());
+        assertNull(managers.get(1).getAverageSalary());
+
+        List<AnalyticsGroupDto> projects = EmployeeAnalytics.compute(columns(), GroupBy.PROJECT, 10, false, TODAY)
+                .getGroups();
+        assertEquals("Payroll", projects.get(0).getName());
+        assertEquals(300000.0, projects.get(0).getSalarySum());
+        assertEquals(120000.0, projects.get(1).getSalarySum());
+    }
+
+    @Test
+    void parallelComputationMatchesSequential() {
+        for (GroupBy groupBy : GroupBy.values()) {
+            EmployeeAnalyticsDto sequential = EmployeeAnalytics.compute(columns(), groupBy, 3, false, TODAY);
+            EmployeeAnalyticsDto parallel = EmployeeAnalytics.compute(columns(), groupBy, 3, true, TODAY);
+            assertEquals(sequential.toString(), parallel.toString());
+            for (int g = 0; g < sequential.getGroups().size(); g++) {
+                assertArrayEquals(sequential.getGroups().get(g).getSalaryHistogram(),
+                        parallel.getGroups().get(g).getSalaryHistogram());
+            }
+        }
+    }
+
+    @Test
+    void endpointComputesOnTheEmployeeTableSnapshot() throws Exception {
+        EmployeeColumns snapshot = employeeColumnsStore.build();
+        assertArrayEquals(new long[] { 1, 2, 3 }, snapshot.ids);
+        assertArrayEquals(new int[] { NONE, 0, 0 }, snapshot.managerIdx);
+        assertArrayEquals(new int[] { 0, 0, 1, 3 }, snapshot.projectStart);
+
+        mockMvc.perform(get("/crm/getEmployeeAnalytics").param("groupBy", "project"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.total.headcount").value(3))
+                .andExpect(jsonPath("$.data.total.salarySum").value(550000.0))
+                .andExpect(jsonPath("$.data.groups[0].name").value("Payroll"))
+                .andExpect(jsonPath("$.data.groups[0].headcount").value(2))
+                .andExpect(jsonPath("$.data.groups[1].salaryPercentiles.p50").value(120000.0));
+        mockMvc.perform(get("/crm/getEmployeeAnalytics").param("groupBy", "team"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode").value("INVALID_ANALYTICS_REQUEST"));
+        mockMvc.perform(get("/crm/getEmployeeAnalytics").param("bins", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+}
@@ -0,0 +1,51 @@
+package com.crm.aspect;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.crm.repository.EmployeeRepository;
+import com.crm.repository.ProjectRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Repository timings are attributed to the calling repository even for
+ * methods inherited from Spring Data, which are one Method for all of them.
+ */
+@SpringBootTest
+class MetricsAspectTest {
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Test
+    void inheritedRepositoryMethodsAreTaggedPerRepository() {
+        long employeeCalls = findAllCount("EmployeeRepository");
+        long projectCalls = findAllCount("ProjectRepository");
+
+        employeeRepository.findAll();
+        projectRepository.findAll();
+        projectRepository.findAll();
+
+        assertEquals(employeeCalls + 1, findAllCount("EmployeeRepository"));
+        assertEquals(projectCalls + 2, findAllCount("ProjectRepository"));
+    }
+
+    private long findAllCount(String repository) {
+        Timer timer = registry.find(MetricsAspect.TIMER_NAME)
+                .tags("layer", "repository", "class", repository, "method", "findAll", "outcome", "success")
+                .timer();
+        return timer != null ? timer.count() : 0;
+    }
+
+}
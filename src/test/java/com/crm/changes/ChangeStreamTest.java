@@ -0,0 +1,132 @@
+package com.crm.changes;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.crm.config.AdminAccessInterceptor;
+import com.crm.entity.PerformanceReview;
+import com.crm.filter.ServerTimingFilter;
+import com.crm.repository.PerformanceReviewRepository;
+
+/**
+ * Committed entity writes reach open change streams, and a client
+ * reconnecting with Last-Event-ID receives the changes it missed.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class ChangeStreamTest {
+
+    private static final Pattern READY_ID = Pattern.compile("id:(\\S+)\nevent:ready");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PerformanceReviewRepository performanceReviewRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ChangeBroadcaster changeBroadcaster;
+
+    private final List<MvcResult> streams = new ArrayList<>();
+
+    /**
+     * Completes the streams the test opened, as a disconnecting client would,
+     * so that no connection outlives its test.
+     */
+    @AfterEach
+    void closeStreams() {
+        streams.forEach(stream -> stream.getRequest().getAsyncContext().complete());
+        streams.clear();
+        assertEquals(0, changeBroadcaster.getConnectionCount());
+    }
+
+    @Test
+    void streamsCommittedChangesAndResumesFromLastEventId() throws Exception {
+        MockHttpServletResponse live = open(null);
+        Matcher ready = READY_ID.matcher(awaitContent(live, content -> READY_ID.matcher(content).find()));
+        ready.find();
+        String lastEventId = ready.group(1);
+
+        updateReviewComments(3L, "Excellent, revised");
+        updateReviewComments(3L, "Excellent");
+        awaitContent(live, content -> content.split("\"type\":\"performance_review\"").length == 3);
+
+        MockHttpServletResponse resumed = open(lastEventId);
+        String replayed = awaitContent(resumed, content -> content.contains("event:ready"));
+        assertTrue(replayed.indexOf("\"id\":\"3\"") < replayed.indexOf("event:ready"), replayed);
+        assertTrue(replayed.contains("\"employeeId\":3"), replayed);
+    }
+
+    @Test
+    void unknownLastEventIdResetsTheClient() throws Exception {
+        String content = awaitContent(open("another-process-42"), text -> text.contains("event:ready"));
+        assertTrue(content.indexOf("event:reset") < content.indexOf("event:ready"), content);
+    }
+
+    @Test
+    void debugTimedStreamsAreNotBuffered() throws Exception {
+        MockHttpServletRequestBuilder builder = get("/stream/changes")
+                .header(ServerTimingFilter.DEBUG_TIMING_HEADER, "1")
+                .header(AdminAccessInterceptor.ADMIN_TOKEN_HEADER, "test-admin-token");
+        awaitContent(stream(builder), content -> content.contains("event:ready"));
+    }
+
+    private MockHttpServletResponse open(String lastEventId) throws Exception {
+        MockHttpServletRequestBuilder builder = get("/stream/changes");
+        if (lastEventId != null) {
+            builder.header("Last-Event-ID", lastEventId);
+        }
+        return stream(builder);
+    }
+
+    private MockHttpServletResponse stream(MockHttpServletRequestBuilder builder) throws Exception {
+        MvcResult stream = mockMvc.perform(builder).andExpect(request().asyncStarted()).andReturn();
+        streams.add(stream);
+        return stream.getResponse();
+    }
+
+    private void updateReviewComments(Long id, String comments) {
+        transactionTemplate.executeWithoutResult(status -> {
+            PerformanceReview review = performanceReviewRepository.findById(id).orElseThrow();
+            review.setReviewComments(comments);
+        });
+    }
+
+    private static String awaitContent(MockHttpServletResponse response, Predicate<String> condition)
+            throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (true) {
+            String content = response.getContentAsString();
+            if (condition.test(content)) {
+                return content;
+            }
+            if (System.currentTimeMillis() > deadline) {
+                throw new AssertionError("Stream did not receive the expected events: " + content);
+            }
+            Thread.sleep(20);
+        }
+    }
+
+}
@@ -0,0 +1,144 @@
+package com.crm.concurrency;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import com.crm.datasource.ConnectionAcquireListener;
+import com.crm.exception.ServiceOverloadedException;
+
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+
+/**
+ * The limit grows only while at least half utilised, backs off to its floor
+ * on slow or failed requests, and ignores requests shed downstream. Through
+ * the interceptor, only exceptions and connection pool timeouts are failures;
+ * error responses such as 500 for an unknown id are not.
+ */
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long FAST = 0;
+    private static final long SLOW = TimeUnit.SECONDS.toNanos(1);
+
+    private final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 4, 11, 500, 0.5);
+    private final ConcurrencyLimitInterceptor interceptor = new ConcurrencyLimitInterceptor(limiter, 2);
+
+    @AfterEach
+    void resetRequestContext() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void limitGrowsOnlyWhenAtLeastHalfUtilised() {
+        limiter.release(FAST, limiter.tryAcquire(), false);
+        assertEquals(10, limiter.getLimit());
+
+        for (int i = 0; i < 4; i++) {
+            limiter.tryAcquire();
+        }
+        limiter.release(FAST, limiter.tryAcquire(), false);
+        assertEquals(11, limiter.getLimit());
+        limiter.release(FAST, limiter.tryAcquire(), false);
+        assertEquals(11, limiter.getLimit());
+    }
+
+    @Test
+    void slowAndFailedRequestsBackOffToTheFloor() {
+        limiter.release(SLOW, limiter.tryAcquire(), false);
+        assertEquals(5, limiter.getLimit());
+        limiter.release(FAST, limiter.tryAcquire(), true);
+        assertEquals(4, limiter.getLimit());
+        limiter.release(FAST, limiter.tryAcquire(), true);
+        assertEquals(4, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void requestsBeyondTheLimitAreRejected() {
+        for (int i = 0; i < 10; i++) {
+            assertTrue(limiter.tryAcquire() > 0);
+        }
+        assertEquals(-1, limiter.tryAcquire());
+        assertEquals(1, limiter.getRejectedCount());
+
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        ServiceOverloadedException rejected = assertThrows(ServiceOverloadedException.class,
+                () -> interceptor.preHandle(request, new MockHttpServletResponse(), null));
+        assertEquals(2, rejected.getRetryAfterSeconds());
+    }
+
+    @Test
+    void requestsShedDownstreamLeaveTheLimitAlone() {
+        for (int i = 0; i < 4; i++) {
+            limiter.tryAcquire();
+        }
+
+        complete(503);
+
+        assertEquals(10, limiter.getLimit());
+        assertEquals(4, limiter.getInFlight());
+    }
+
+    @Test
+    void errorResponsesAreNotOverloadSignals() {
+        for (int i = 0; i < 20; i++) {
+            complete(500);
+        }
+
+        assertEquals(10, limiter.getLimit());
+    }
+
+    @Test
+    void connectionPoolTimeoutsAndExceptionsLowerTheLimit() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        interceptor.preHandle(request, response, null);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        new ConnectionAcquireListener().afterMethod(MethodExecutionContext.Builder.create()
+                .thrown(new SQLTransientConnectionException("Connection is not available, request timed out"))
+                .build());
+        response.setStatus(500);
+        interceptor.afterCompletion(request, response, null, null);
+        assertEquals(5, limiter.getLimit());
+
+        request = new MockHttpServletRequest();
+        interceptor.preHandle(request, response, null);
+        interceptor.afterCompletion(request, response, null, new IllegalStateException("handler failed"));
+        assertEquals(4, limiter.getLimit());
+    }
+
+    @Test
+    void asynchronousRequestHoldsOneSlotAcrossDispatches() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        interceptor.preHandle(request, response, null);
+        interceptor.preHandle(request, response, null);
+        assertEquals(1, limiter.getInFlight());
+
+        interceptor.afterCompletion(request, response, null, null);
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    /**
+     * Runs a request that ends with the given status through the interceptor.
+     */
+    private void complete(int status) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        interceptor.preHandle(request, response, null);
+        response.setStatus(status);
+        interceptor.afterCompletion(request, response, null, null);
+    }
+
+}
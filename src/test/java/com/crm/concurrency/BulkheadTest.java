@@ -0,0 +1,133 @@
+package com.crm.concurrency;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import com.crm.exception.ServiceOverloadedException;
+
+/**
+ * Filter requests beyond the filter bulkhead wait for a permit at most its
+ * maximum wait and are then shed with 503 and Retry-After, while lookups keep
+ * getting through. Delta-sync calls count against the filter bulkhead.
+ * Permits are given back after failed requests, and an asynchronous request
+ * holds one permit across its dispatches.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class BulkheadTest {
+
+    private static final long FILTER_MAX_WAIT_MILLIS = 250;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    @Qualifier("requestMappingHandlerMapping")
+    private RequestMappingHandlerMapping handlerMapping;
+
+    @Test
+    void saturatedFilterBulkheadShedsFiltersButNotLookups() throws Exception {
+        Bulkhead filter = bulkheadOf(new MockHttpServletRequest("POST", "/crm/getFilterEmployees"));
+        int held = 0;
+        try {
+            while (filter.getAvailablePermits() > 0 && filter.tryAcquire()) {
+                held++;
+            }
+            assertEquals(filter.getMaxConcurrent(), held);
+
+            long start = System.nanoTime();
+            mockMvc.perform(filter())
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string(HttpHeaders.RETRY_AFTER, "2"))
+                    .andExpect(jsonPath("$.success").value(false));
+            long waitedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            assertTrue(waitedMillis >= FILTER_MAX_WAIT_MILLIS, waitedMillis + " ms");
+            assertTrue(waitedMillis < FILTER_MAX_WAIT_MILLIS + 2000, waitedMillis + " ms");
+
+            mockMvc.perform(get("/crm/getEmployeeDatabyId/1"))
+                    .andExpect(status().isOk());
+        } finally {
+            for (int i = 0; i < held; i++) {
+                filter.release();
+            }
+        }
+        mockMvc.perform(filter())
+                .andExpect(status().isOk());
+        assertEquals(filter.getMaxConcurrent(), filter.getAvailablePermits());
+    }
+
+    @Test
+    void deltaSyncSharesTheFilterBulkhead() throws Exception {
+        assertSame(bulkheadOf(new MockHttpServletRequest("POST", "/crm/getFilterEmployees")),
+                bulkheadOf(new MockHttpServletRequest("GET", "/crm/getEmployeeChanges")));
+    }
+
+    @Test
+    void permitIsReleasedWhenTheRequestFails() throws Exception {
+        Bulkhead filter = bulkheadOf(new MockHttpServletRequest("POST", "/crm/getFilterEmployees"));
+
+        mockMvc.perform(post("/crm/getFilterEmployees").contentType(MediaType.APPLICATION_JSON).content("{"))
+                .andExpect(status().is5xxServerError());
+
+        assertEquals(filter.getMaxConcurrent(), filter.getAvailablePermits());
+    }
+
+    @Test
+    void asynchronousRequestHoldsOnePermitUntilItCompletes() {
+        Bulkhead bulkhead = new Bulkhead("test", 1, 0, 2);
+        BulkheadInterceptor interceptor = new BulkheadInterceptor(bulkhead);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/crm/test");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertTrue(interceptor.preHandle(request, response, null));
+        assertThrows(ServiceOverloadedException.class,
+                () -> interceptor.preHandle(new MockHttpServletRequest(), response, null));
+
+        // the async dispatch of the same request runs the interceptor again
+        assertTrue(interceptor.preHandle(request, response, null));
+        assertEquals(0, bulkhead.getAvailablePermits());
+
+        interceptor.afterCompletion(request, response, null, null);
+        assertEquals(1, bulkhead.getAvailablePermits());
+    }
+
+    private static MockHttpServletRequestBuilder filter() {
+        return post("/crm/getFilterEmployees").contentType(MediaType.APPLICATION_JSON).content("{}");
+    }
+
+    /**
+     * The bulkhead that the application's interceptors apply to the request.
+     */
+    private Bulkhead bulkheadOf(MockHttpServletRequest request) throws Exception {
+        for (HandlerInterceptor interceptor : handlerMapping.getHandler(request).getInterceptorList()) {
+            if (interceptor instanceof BulkheadInterceptor bulkheadInterceptor) {
+                return bulkheadInterceptor.getBulkhead();
+            }
+        }
+        throw new AssertionError("No bulkhead applies to " + request.getRequestURI());
+    }
+
+}
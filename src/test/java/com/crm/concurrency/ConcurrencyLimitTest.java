@@ -0,0 +1,64 @@
+package com.crm.concurrency;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Requests beyond the adaptive concurrency limit are shed with 503 and
+ * Retry-After, and lookups of employees that do not exist do not lower it.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class ConcurrencyLimitTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AdaptiveConcurrencyLimiter limiter;
+
+    @Test
+    void requestsBeyondTheLimitAreShed() throws Exception {
+        int held = 0;
+        try {
+            while (limiter.tryAcquire() > 0) {
+                held++;
+            }
+
+            mockMvc.perform(get("/crm/getEmployeeDatabyId/1"))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string(HttpHeaders.RETRY_AFTER, "2"))
+                    .andExpect(jsonPath("$.success").value(false));
+        } finally {
+            for (int i = 0; i < held; i++) {
+                limiter.releaseIgnored();
+            }
+        }
+        mockMvc.perform(get("/crm/getEmployeeDatabyId/1"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void lookupsOfUnknownEmployeesDoNotLowerTheLimit() throws Exception {
+        int limit = limiter.getLimit();
+
+        for (int i = 0; i < 20; i++) {
+            mockMvc.perform(get("/crm/getEmployeeDatabyId/999"))
+                    .andExpect(status().isInternalServerError());
+        }
+
+        assertEquals(limit, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+}
@@ -0,0 +1,68 @@
+package com.crm.controller;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import com.crm.config.AdminAccessInterceptor;
+
+/**
+ * Admin endpoints require the admin token and answer in the standard
+ * envelope, with an error code on failure only.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class AdminControllerTest {
+
+    private static final String TOKEN = "test-admin-token";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void requestsWithoutTheAdminTokenAreRejected() throws Exception {
+        mockMvc.perform(get("/admin/hotkeys"))
+                .andExpect(status().isForbidden())
+                .andExpect(jsonPath("$.success").value(false));
+        mockMvc.perform(post("/admin/jfr/start").header(AdminAccessInterceptor.ADMIN_TOKEN_HEADER, "guess"))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(admin(get("/admin/hotkeys")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.errorCode").doesNotExist());
+    }
+
+    @Test
+    void jfrRecordingCanBeStartedOnceAndStopped() throws Exception {
+        mockMvc.perform(admin(post("/admin/jfr/start")).param("durationSeconds", "60"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.errorCode").doesNotExist());
+        try {
+            mockMvc.perform(admin(post("/admin/jfr/start")))
+                    .andExpect(status().isConflict())
+                    .andExpect(jsonPath("$.errorCode").value("JFR_RECORDING_RUNNING"));
+            mockMvc.perform(admin(get("/admin/jfr")))
+                    .andExpect(status().isOk());
+        } finally {
+            mockMvc.perform(admin(post("/admin/jfr/stop")))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.errorCode").doesNotExist());
+        }
+        mockMvc.perform(admin(post("/admin/jfr/stop")))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.errorCode").value("JFR_RECORDING_NOT_RUNNING"));
+    }
+
+    static MockHttpServletRequestBuilder admin(MockHttpServletRequestBuilder request) {
+        return request.header(AdminAccessInterceptor.ADMIN_TOKEN_HEADER, TOKEN);
+    }
+
+}
@@ -0,0 +1,78 @@
+package com.crm.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.crm.entity.PerformanceReview;
+import com.crm.repository.PerformanceReviewRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Employee detail responses carry an ETag that follows the employee's
+ * version, including changes to its reviews, and matching conditional
+ * requests are answered with 304 from a single version lookup.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class EmployeeEtagTest {
+
+    private static final String DETAIL = "/crm/getEmployeeDatabyId/2";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PerformanceReviewRepository performanceReviewRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void conditionalRequestsFollowTheEmployeeVersion() throws Exception {
+        String etag = mockMvc.perform(get(DETAIL))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        mockMvc.perform(get(DETAIL).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        updateReviewComments(1L, "Solid, revised");
+        try {
+            String changed = mockMvc.perform(get(DETAIL).header(HttpHeaders.IF_NONE_MATCH, etag))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+            assertNotEquals(etag, changed);
+        } finally {
+            updateReviewComments(1L, "Solid");
+        }
+    }
+
+    private void updateReviewComments(Long id, String comments) {
+        transactionTemplate.executeWithoutResult(status -> {
+            PerformanceReview review = performanceReviewRepository.findById(id).orElseThrow();
+            review.setReviewComments(comments);
+        });
+    }
+
+}
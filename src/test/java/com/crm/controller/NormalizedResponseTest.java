@@ -0,0 +1,79 @@
+package com.crm.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * A normalized filter response references projects, departments and managers
+ * by id and returns each of them once; the default response is unchanged.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class NormalizedResponseTest {
+
+    private static final String FILTER = "{}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void normalizedResponseResolvesToTheDefaultOne() throws Exception {
+        JsonNode plain = filter(false);
+        JsonNode normalized = filter(true);
+        assertNull(plain.get("projects"));
+        assertEquals(plain.get("data").size(), normalized.get("data").size());
+
+        JsonNode projects = normalized.get("projects");
+        JsonNode departments = normalized.get("departments");
+        JsonNode managers = normalized.get("managers");
+        for (int i = 0; i < plain.get("data").size(); i++) {
+            JsonNode expected = plain.get("data").get(i);
+            JsonNode actual = normalized.get("data").get(i);
+            assertNull(actual.get("projects"));
+            assertNull(actual.get("departmentName"));
+            assertEquals(expected.get("departmentName").asText(),
+                    departments.get(actual.get("departmentId").asText()).asText());
+            if (actual.hasNonNull("managerId")) {
+                assertEquals(expected.get("managerName").asText(),
+                        managers.get(actual.get("managerId").asText()).asText());
+            } else {
+                assertEquals("No Manager", expected.get("managerName").asText());
+            }
+            // projects come from an unordered set, so compare them as sets
+            Set<JsonNode> expectedProjects = new HashSet<>();
+            expected.get("projects").forEach(expectedProjects::add);
+            Set<JsonNode> actualProjects = new HashSet<>();
+            actual.get("projectIds").forEach(id -> actualProjects.add(projects.get(id.asText())));
+            assertEquals(expectedProjects, actualProjects);
+        }
+        assertTrue(projects.size() > 0);
+    }
+
+    private JsonNode filter(boolean normalized) throws Exception {
+        byte[] body = mockMvc.perform(post("/crm/getFilterEmployees").param("normalized", String.valueOf(normalized))
+                        .contentType(MediaType.APPLICATION_JSON).content(FILTER))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+        return objectMapper.readTree(body);
+    }
+
+}
@@ -0,0 +1,85 @@
+package com.crm.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import com.crm.reviews.ReviewWritesTest;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Review submissions are validated up front and written by the batch
+ * writer, which also increments the employee's version. Submissions are
+ * answered asynchronously, so every request is completed with its async
+ * dispatch.
+ */
+@ReviewWritesTest
+class ReviewSubmissionTest {
+
+    private static final String SUBMIT = "/crm/submitReview";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void flushedSubmissionIsWrittenAndBumpsTheEmployeeVersion() throws Exception {
+        long version = employeeVersion(3L);
+
+        String body = submit(post(SUBMIT).param("ack", "flushed")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"employeeId\":3,\"reviewDate\":\"2024-06-30\",\"score\":0.75,\"comments\":\"Submitted\"}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        JsonNode receipt = objectMapper.readTree(body).get("data");
+
+        assertEquals(true, receipt.get("flushed").asBoolean());
+        long reviewId = receipt.get("reviewId").asLong();
+        assertEquals(Long.valueOf(3L), jdbcTemplate.queryForObject(
+                "select employee_id from performance_review where id = ?", Long.class, reviewId));
+        assertEquals(version + 1, employeeVersion(3L));
+    }
+
+    @Test
+    void invalidSubmissionsAreRejectedBeforeQueueing() throws Exception {
+        submit(post(SUBMIT).contentType(MediaType.APPLICATION_JSON)
+                .content("{\"employeeId\":3,\"score\":1.5,\"comments\":\"Submitted\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode").value("INVALID_REVIEW"));
+        submit(post(SUBMIT).contentType(MediaType.APPLICATION_JSON)
+                .content("{\"employeeId\":999,\"score\":0.5,\"comments\":\"Submitted\"}"))
+                .andExpect(status().isNotFound());
+        submit(post(SUBMIT).param("ack", "sometime").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"employeeId\":3,\"score\":0.5,\"comments\":\"Submitted\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode").value("INVALID_ACK_MODE"));
+    }
+
+    private ResultActions submit(MockHttpServletRequestBuilder builder) throws Exception {
+        return mockMvc.perform(asyncDispatch(mockMvc.perform(builder)
+                .andExpect(request().asyncStarted())
+                .andReturn()));
+    }
+
+    private long employeeVersion(Long id) {
+        return jdbcTemplate.queryForObject("select version from employee where id = ?", Long.class, id);
+    }
+
+}
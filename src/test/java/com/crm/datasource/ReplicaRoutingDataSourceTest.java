@@ -0,0 +1,70 @@
+package com.crm.datasource;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Routes reads between two embedded databases, one acting as the primary and
+ * one as a replica with different department names.
+ */
+@SpringBootTest(properties = {
+        "config.datasource.replica.enabled=true",
+        "config.datasource.replica.endpoints[0].url=jdbc:h2:mem:crm-replica;MODE=MySQL;DATABASE_TO_LOWER=TRUE;"
+                + "DB_CLOSE_DELAY=-1;INIT=RUNSCRIPT FROM 'classpath:replica.sql'",
+        "config.datasource.replica.maxLagSeconds=5"
+})
+@AutoConfigureMockMvc
+class ReplicaRoutingDataSourceTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ReplicaPool replicaPool;
+
+    @AfterEach
+    void restoreReplica() {
+        replicaPool.checkHealth();
+    }
+
+    @Test
+    void readOnlyWorkGoesToReplica() throws Exception {
+        mockMvc.perform(get("/data/fetch/department"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].name").value("Engineering (replica)"));
+    }
+
+    @Test
+    void readYourWritesFallsBackToPrimaryWhenReplicaMayBeBehind() throws Exception {
+        mockMvc.perform(get("/data/fetch/department")
+                .header(ReadConsistencyInterceptor.READ_AFTER_HEADER, System.currentTimeMillis()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].name").value("Engineering"));
+    }
+
+    @Test
+    void readYourWritesUsesReplicaThatHasCaughtUp() throws Exception {
+        mockMvc.perform(get("/data/fetch/department")
+                .header(ReadConsistencyInterceptor.READ_AFTER_HEADER, System.currentTimeMillis() - 60_000))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].name").value("Engineering (replica)"));
+    }
+
+    @Test
+    void unhealthyReplicaFallsBackToPrimary() throws Exception {
+        replicaPool.getReplicas().get(0).setHealthy(false);
+
+        mockMvc.perform(get("/data/fetch/department"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].name").value("Engineering"));
+    }
+
+}
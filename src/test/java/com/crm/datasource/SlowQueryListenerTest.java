@@ -0,0 +1,149 @@
+package com.crm.datasource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.ThreadContext;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.Logger;
+import org.apache.logging.log4j.core.appender.AbstractAppender;
+import org.apache.logging.log4j.core.config.Property;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskExecutor;
+
+import com.crm.aspect.ServiceMethodContextAspect;
+import com.crm.filter.RequestIdFilter;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+
+/**
+ * Statements above the threshold are logged with their bind values, request
+ * id and service method; slow SELECTs are explained at most once per interval
+ * and SQL shape.
+ */
+class SlowQueryListenerTest {
+
+    private static final String SELECT_BY_ID = "select id, name from employee where id = ?";
+
+    private final CapturingAppender appender = new CapturingAppender();
+    private final AtomicInteger explained = new AtomicInteger();
+    private final TaskExecutor executor = task -> {
+        explained.incrementAndGet();
+        task.run();
+    };
+    private final JdbcDataSource dataSource = new JdbcDataSource();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        appender.start();
+        for (Logger logger : loggers()) {
+            logger.addAppender(appender);
+        }
+        // after adding both appenders, which reset the loggers' levels
+        for (Logger logger : loggers()) {
+            logger.setLevel(Level.WARN);
+        }
+        dataSource.setURL("jdbc:h2:mem:slow-query;DB_CLOSE_DELAY=-1");
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("create table if not exists employee (id bigint primary key, name varchar(50))");
+        }
+        ThreadContext.put(RequestIdFilter.REQUEST_ID_KEY, "req-1");
+        ThreadContext.put(ServiceMethodContextAspect.SERVICE_METHOD_KEY, "EmployeeServiceImpl.getEmployeesData");
+    }
+
+    @AfterEach
+    void tearDown() {
+        ThreadContext.clearMap();
+        for (Logger logger : loggers()) {
+            logger.removeAppender(appender);
+            logger.setLevel(null);
+        }
+        appender.stop();
+    }
+
+    @Test
+    void slowStatementIsLoggedWithBindsAndContext() throws Exception {
+        SlowQueryListener listener = new SlowQueryListener(100, null);
+
+        listener.afterQuery(execution(99), List.of(query(SELECT_BY_ID, 3L)));
+        assertTrue(appender.messages.isEmpty(), appender.messages.toString());
+
+        listener.afterQuery(execution(150), List.of(query(SELECT_BY_ID, 3L)));
+        assertEquals(List.of("Slow query (150 ms) [requestId=req-1, serviceMethod="
+                + "EmployeeServiceImpl.getEmployeesData] " + SELECT_BY_ID + " params=[[3]]"), appender.messages);
+    }
+
+    @Test
+    void explainIsRateLimitedPerShape() throws Exception {
+        ExplainPlanCapturer capturer = new ExplainPlanCapturer(dataSource, executor, 200);
+        SlowQueryListener listener = new SlowQueryListener(100, capturer);
+
+        listener.afterQuery(execution(150), List.of(query(SELECT_BY_ID, 3L)));
+        assertEquals(1, explained.get());
+        assertTrue(appender.messages.get(1).startsWith("EXPLAIN for slow query [requestId=req-1, serviceMethod="
+                + "EmployeeServiceImpl.getEmployeesData] " + SELECT_BY_ID), appender.messages.get(1));
+
+        listener.afterQuery(execution(150), List.of(query(SELECT_BY_ID, 4L)));
+        capturer.submit("select id, name from employee where id = 5", List.of(), "literal");
+        capturer.submit("update employee set name = ? where id = ?", List.of("x", 3L), "update");
+        assertEquals(1, explained.get());
+
+        Thread.sleep(250);
+        capturer.submit(SELECT_BY_ID, List.of(6L), "later");
+        assertEquals(2, explained.get());
+    }
+
+    private static List<Logger> loggers() {
+        return List.of((Logger) LogManager.getLogger(SlowQueryListener.class),
+                (Logger) LogManager.getLogger(ExplainPlanCapturer.class));
+    }
+
+    private static ExecutionInfo execution(long elapsedMillis) {
+        ExecutionInfo execution = new ExecutionInfo();
+        execution.setElapsedTime(elapsedMillis);
+        execution.setSuccess(true);
+        return execution;
+    }
+
+    private static QueryInfo query(String sql, Object... parameters) throws NoSuchMethodException {
+        QueryInfo query = new QueryInfo(sql);
+        List<ParameterSetOperation> operations = new ArrayList<>();
+        for (int i = 0; i < parameters.length; i++) {
+            operations.add(new ParameterSetOperation(PreparedStatement.class.getMethod("setObject", int.class,
+                    Object.class), new Object[] { i + 1, parameters[i] }));
+        }
+        query.getParametersList().add(operations);
+        return query;
+    }
+
+    private static class CapturingAppender extends AbstractAppender {
+
+        private final List<String> messages = new CopyOnWriteArrayList<>();
+
+        CapturingAppender() {
+            super("SlowQueryListenerTest", null, null, true, Property.EMPTY_ARRAY);
+        }
+
+        @Override
+        public void append(LogEvent event) {
+            messages.add(event.getMessage().getFormattedMessage());
+        }
+
+    }
+
+}
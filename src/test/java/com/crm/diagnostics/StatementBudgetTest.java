@@ -0,0 +1,117 @@
+package com.crm.diagnostics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.crm.service.EmployeeService;
+
+/**
+ * Endpoints must stay within their declared statement budgets; the test
+ * configuration enforces them, so an N+1 regression fails these requests.
+ *
+ * The filter endpoint still loads the projects and reviews of each employee
+ * with a statement of its own, so its budget is the count measured on the
+ * test data and one more employee exceeds it.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class StatementBudgetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void clearCounter() {
+        StatementCounterContext.stop();
+    }
+
+    @Test
+    void endpointsStayWithinDeclaredBudgets() throws Exception {
+        mockMvc.perform(get("/crm/getEmployeeDatabyId/3"))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/crm/getFilterEmployees")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/data/fetch/department"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/data/fetch/project"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void exceedingTheBudgetFailsTheRequest() {
+        StatementCounterContext.start(new StatementCounter("test", 1, true));
+
+        assertThrows(RuntimeException.class, () -> employeeService.getEmployeesData(3L));
+    }
+
+    @Test
+    void perEmployeeQueriesOfTheFilterEndpointAreReportedAsNPlusOne() throws Exception {
+        StatementCounter counter = filterEmployees(200);
+        int employees = jdbcTemplate.queryForObject("select count(*) from employee", Integer.class);
+
+        List<String> repeated = counter.repeatedShapes(employees).stream().map(Map.Entry::getKey).toList();
+        assertEquals(2, repeated.size(), repeated.toString());
+        assertTrue(repeated.stream().anyMatch(shape -> shape.contains(" from employee_project ep1_0 ")
+                && shape.endsWith(" where ep1_0.employee_id=?")), repeated.toString());
+        assertTrue(repeated.stream().anyMatch(shape -> shape.contains(" from performance_review pr1_0 ")
+                && shape.contains(" where pr1_0.employee_id=? ")), repeated.toString());
+        assertEquals(counter.getBudget(), counter.getTotal());
+    }
+
+    @Test
+    @Transactional
+    void oneMoreEmployeeExceedsTheFilterBudget() throws Exception {
+        jdbcTemplate.update("insert into employee (id, name, email, department_id, date_of_joining, salary) "
+                + "values (4, 'Budget Test', 'budget@crm.test', 1, '2024-01-01', 1.00)");
+
+        StatementCounter counter = filterEmployees(500);
+
+        assertTrue(counter.isOverBudget(), counter.toString());
+    }
+
+    private StatementCounter filterEmployees(int expectedStatus) throws Exception {
+        MvcResult result = mockMvc.perform(post("/crm/getFilterEmployees")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{}"))
+                .andExpect(status().is(expectedStatus))
+                .andReturn();
+        return (StatementCounter) result.getRequest().getAttribute(StatementBudgetInterceptor.COUNTER_ATTRIBUTE);
+    }
+
+    @Test
+    void shapesIgnoreLiteralsAndInListLength() {
+        assertEquals(StatementCounter.shapeOf("select * from employee e1_0 where e1_0.id in (?, ?, ?)"),
+                StatementCounter.shapeOf("select  *  from employee e1_0 where e1_0.id in (?)"));
+        assertEquals(StatementCounter.shapeOf("select * from employee where id = 7"),
+                StatementCounter.shapeOf("select * from employee where id = 42"));
+        assertFalse(StatementCounter.shapeOf("select e1_0.id from employee e1_0").contains("e?"));
+    }
+
+}
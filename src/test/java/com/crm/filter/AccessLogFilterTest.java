@@ -0,0 +1,175 @@
+package com.crm.filter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.appender.AbstractAppender;
+import org.apache.logging.log4j.core.config.LoggerConfig;
+import org.apache.logging.log4j.core.config.Property;
+import org.apache.logging.log4j.message.StringMapMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.crm.diagnostics.AccessLog;
+import com.crm.diagnostics.AccessLogProperties;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Access records carry the request and handler fields, are sampled per
+ * endpoint except for slow and failed requests, and are written when an
+ * asynchronous request completes. Runs in the application context for its
+ * log4j2 configuration, with a filter of its own.
+ */
+@SpringBootTest
+class AccessLogFilterTest {
+
+    private static final String ENDPOINT = "/crm/getEmployeeDatabyId/{id}";
+
+    private final AccessLogProperties properties = new AccessLogProperties();
+    private final AccessLogFilter filter = new AccessLogFilter(properties);
+    private CapturingAppender appender;
+
+    @BeforeEach
+    void captureAccessRecords() {
+        appender = new CapturingAppender();
+        appender.start();
+        accessLoggerConfig().addAppender(appender, Level.INFO, null);
+        loggerContext().updateLoggers();
+    }
+
+    @AfterEach
+    void stopCapturing() {
+        accessLoggerConfig().removeAppender(appender.getName());
+        loggerContext().updateLoggers();
+        appender.stop();
+    }
+
+    @Test
+    void recordCarriesRequestAndHandlerFields() throws Exception {
+        filter.doFilter(request(), new MockHttpServletResponse(), chain(200, 0));
+
+        Map<String, String> record = awaitRecords(1).get(0);
+        assertEquals("GET", record.get("method"));
+        assertEquals(ENDPOINT, record.get("endpoint"));
+        assertEquals("200", record.get("status"));
+        assertEquals("3", record.get("employeeId"));
+        assertNotNull(record.get("durationMs"));
+    }
+
+    @Test
+    void unsampledEndpointLogsOnlySlowAndFailedRequests() throws Exception {
+        properties.getSampleRates().put(ENDPOINT, 0.0);
+        properties.setSlowThresholdMillis(50);
+
+        filter.doFilter(request(), new MockHttpServletResponse(), chain(200, 0));
+        filter.doFilter(request(), new MockHttpServletResponse(), chain(500, 0));
+        filter.doFilter(request(), new MockHttpServletResponse(), chain(200, 60));
+
+        List<Map<String, String>> records = awaitRecords(2);
+        assertEquals("500", records.get(0).get("status"));
+        assertEquals("200", records.get(1).get("status"));
+        assertTrue(Long.parseLong(records.get(1).get("durationMs")) >= 50, records.get(1).toString());
+    }
+
+    @Test
+    void asynchronousRequestIsLoggedOnCompletion() throws Exception {
+        MockHttpServletRequest request = request();
+        request.setAsyncSupported(true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse res) {
+                AccessLog.put("ack", "FLUSHED");
+                req.startAsync();
+            }
+        }));
+        assertTrue(appender.records.isEmpty());
+
+        response.setStatus(201);
+        ((MockAsyncContext) request.getAsyncContext()).complete();
+
+        Map<String, String> record = awaitRecords(1).get(0);
+        assertEquals("201", record.get("status"));
+        assertEquals("FLUSHED", record.get("ack"));
+    }
+
+    private static MockHttpServletRequest request() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/crm/getEmployeeDatabyId/3");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, ENDPOINT);
+        return request;
+    }
+
+    private static MockFilterChain chain(int status, long sleepMillis) {
+        return new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse res) throws IOException {
+                AccessLog.put("employeeId", 3);
+                try {
+                    Thread.sleep(sleepMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                res.setStatus(status);
+            }
+        });
+    }
+
+    /**
+     * The ACCESS logger is asynchronous; waits until the expected number of
+     * records has arrived and checks that no more did.
+     */
+    private List<Map<String, String>> awaitRecords(int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (appender.records.size() < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(expected, appender.records.size(), appender.records.toString());
+        return appender.records;
+    }
+
+    private static LoggerContext loggerContext() {
+        return (LoggerContext) LogManager.getContext(false);
+    }
+
+    private static LoggerConfig accessLoggerConfig() {
+        return loggerContext().getConfiguration().getLoggerConfig("ACCESS");
+    }
+
+    private static class CapturingAppender extends AbstractAppender {
+
+        private final List<Map<String, String>> records = new CopyOnWriteArrayList<>();
+
+        CapturingAppender() {
+            super("AccessLogFilterTest", null, null, true, Property.EMPTY_ARRAY);
+        }
+
+        @Override
+        public void append(LogEvent event) {
+            if (event.getMessage() instanceof StringMapMessage message) {
+                records.add(Map.copyOf(message.getData()));
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,62 @@
+package com.crm.filter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import java.util.UUID;
+
+import org.apache.logging.log4j.ThreadContext;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Supplied request ids are used when they are short and plain; anything that
+ * could forge log lines or headers is replaced by a random id.
+ */
+class RequestIdFilterTest {
+
+    private final RequestIdFilter filter = new RequestIdFilter();
+
+    @Test
+    void plainSuppliedIdIsUsedForLogsAndResponse() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        String[] logged = new String[1];
+
+        filter.doFilter(request("client-42_retry.1"), response, new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse res) {
+                logged[0] = ThreadContext.get(RequestIdFilter.REQUEST_ID_KEY);
+            }
+        }));
+
+        assertEquals("client-42_retry.1", logged[0]);
+        assertEquals("client-42_retry.1", response.getHeader(RequestIdFilter.REQUEST_ID_HEADER));
+        assertEquals(null, ThreadContext.get(RequestIdFilter.REQUEST_ID_KEY));
+    }
+
+    @Test
+    void unsafeSuppliedIdsAreReplaced() throws Exception {
+        for (String supplied : new String[] { "abc\r\nforged=1", "a b", "\"quoted\"", "", "x".repeat(65) }) {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+
+            filter.doFilter(request(supplied), response, new MockFilterChain());
+
+            String requestId = response.getHeader(RequestIdFilter.REQUEST_ID_HEADER);
+            assertNotEquals(supplied, requestId);
+            assertEquals(requestId, UUID.fromString(requestId).toString());
+        }
+    }
+
+    private static MockHttpServletRequest request(String requestId) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/crm/getEmployeeDatabyId/1");
+        request.addHeader(RequestIdFilter.REQUEST_ID_HEADER, requestId);
+        return request;
+    }
+
+}
@@ -0,0 +1,110 @@
+package com.crm.filter;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import com.crm.config.AdminAccessInterceptor;
+import com.crm.json.JsonConfig;
+
+/**
+ * Requests that ask for debug timing with the admin token get a Server-Timing
+ * breakdown per phase, whichever format the response is negotiated in; all
+ * others, including those asking without the token, are neither timed nor
+ * buffered.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class ServerTimingFilterTest {
+
+    private static final String TOKEN = "test-admin-token";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ServerTimingFilter filter;
+
+    @Test
+    void adminRequestGetsPhaseBreakdown() throws Exception {
+        String timing = mockMvc.perform(filterEmployees()
+                .header(ServerTimingFilter.DEBUG_TIMING_HEADER, "1")
+                .header(AdminAccessInterceptor.ADMIN_TOKEN_HEADER, TOKEN))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(ServerTimingFilter.SERVER_TIMING_HEADER);
+
+        for (String phase : new String[] { "controller;", "service;", "sql;", "lazy;", "mapper;", "serialize;",
+                "total;" }) {
+            assertTrue(timing.contains(phase), timing);
+        }
+    }
+
+    @Test
+    void binaryFormatsReportSerializationTime() throws Exception {
+        for (MediaType format : new MediaType[] { MediaType.APPLICATION_CBOR,
+                MediaType.parseMediaType(JsonConfig.APPLICATION_SMILE_VALUE) }) {
+            String timing = mockMvc.perform(filterEmployees().accept(format)
+                    .header(ServerTimingFilter.DEBUG_TIMING_HEADER, "1")
+                    .header(AdminAccessInterceptor.ADMIN_TOKEN_HEADER, TOKEN))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(format))
+                    .andReturn().getResponse().getHeader(ServerTimingFilter.SERVER_TIMING_HEADER);
+
+            assertTrue(timing.contains("serialize;"), format + ": " + timing);
+        }
+    }
+
+    @Test
+    void debugTimingWithoutTheAdminTokenIsIgnored() throws Exception {
+        mockMvc.perform(filterEmployees().header(ServerTimingFilter.DEBUG_TIMING_HEADER, "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(ServerTimingFilter.SERVER_TIMING_HEADER));
+        mockMvc.perform(filterEmployees()
+                .header(ServerTimingFilter.DEBUG_TIMING_HEADER, "1")
+                .header(AdminAccessInterceptor.ADMIN_TOKEN_HEADER, "guess"))
+                .andExpect(header().doesNotExist(ServerTimingFilter.SERVER_TIMING_HEADER));
+    }
+
+    @Test
+    void untimedResponsesAreNotWrapped() throws Exception {
+        for (MockHttpServletRequest request : new MockHttpServletRequest[] { request(false, false),
+                request(true, false), request(false, true) }) {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            MockFilterChain chain = new MockFilterChain();
+
+            filter.doFilter(request, response, chain);
+
+            assertSame(response, chain.getResponse());
+        }
+    }
+
+    private static MockHttpServletRequestBuilder filterEmployees() {
+        return post("/crm/getFilterEmployees").contentType(MediaType.APPLICATION_JSON).content("{}");
+    }
+
+    private static MockHttpServletRequest request(boolean debugTiming, boolean adminToken) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/crm/getFilterEmployees");
+        if (debugTiming) {
+            request.addHeader(ServerTimingFilter.DEBUG_TIMING_HEADER, "1");
+        }
+        if (adminToken) {
+            request.addHeader(AdminAccessInterceptor.ADMIN_TOKEN_HEADER, TOKEN);
+        }
+        return request;
+    }
+
+}
@@ -0,0 +1,81 @@
+package com.crm.hotkeys;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * The tracker must surface the keys that dominate a skewed stream, including
+ * when it is fed from many threads, and let them fall out once they go cold.
+ */
+class HeavyHittersTest {
+
+    @Test
+    void reportsDominantKeysFirst() {
+        HeavyHitters<Long> hitters = new HeavyHitters<>(5, 4, 1024);
+        for (long i = 0; i < 20_000; i++) {
+            hitters.record(i % 1000 + 100);
+            if (i % 4 == 0) {
+                hitters.record(1L);
+            }
+            if (i % 8 == 0) {
+                hitters.record(2L);
+            }
+        }
+        List<HeavyHitters.Counted<Long>> top = hitters.top(2);
+        assertEquals(1L, top.get(0).getKey());
+        assertEquals(2L, top.get(1).getKey());
+        assertTrue(top.get(0).getCount() >= 5_000, "count-min estimates never undercount");
+    }
+
+    @Test
+    void concurrentRecordingKeepsHeavyHitters() throws Exception {
+        HeavyHitters<Long> hitters = new HeavyHitters<>(10, 4, 2048);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                final long offset = t * 10_000L;
+                futures.add(executor.submit(() -> {
+                    for (long i = 0; i < 10_000; i++) {
+                        hitters.record(i % 3 == 0 ? 42L : offset + i);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        HeavyHitters.Counted<Long> hottest = hitters.top(1).get(0);
+        assertEquals(42L, hottest.getKey());
+        assertTrue(hottest.getCount() >= 8 * 3_334);
+    }
+
+    @Test
+    void decayLetsColdKeysDropOut() {
+        HeavyHitters<String> hitters = new HeavyHitters<>(2, 4, 256);
+        for (int i = 0; i < 64; i++) {
+            hitters.record("old");
+        }
+        for (int i = 0; i < 7; i++) {
+            hitters.decay();
+        }
+        for (int i = 0; i < 3; i++) {
+            hitters.record("new-a");
+            hitters.record("new-b");
+        }
+        List<HeavyHitters.Counted<String>> top = hitters.top(2);
+        assertEquals(2, top.size());
+        assertTrue(top.stream().noneMatch(entry -> entry.getKey().equals("old")));
+    }
+
+}
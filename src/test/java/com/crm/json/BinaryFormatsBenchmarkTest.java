@@ -0,0 +1,59 @@
+package com.crm.json;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import com.crm.dto.ResponseDto;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Prints payload size and encode/decode time of JSON, CBOR and Smile for
+ * 10k employees, using the application's mappers. Excluded from the default
+ * build; run it with {@code mvn -Pbenchmark test}.
+ */
+@Tag("benchmark")
+@SpringBootTest
+class BinaryFormatsBenchmarkTest {
+
+    @Autowired
+    private ObjectMapper jsonMapper;
+
+    @Autowired
+    private MappingJackson2CborHttpMessageConverter cborConverter;
+
+    @Autowired
+    private MappingJackson2SmileHttpMessageConverter smileConverter;
+
+    @Test
+    void formats() throws Exception {
+        ResponseDto response = DtoSerializersTest.response(10_000);
+        report("JSON", jsonMapper, response);
+        report("CBOR", cborConverter.getObjectMapper(), response);
+        report("Smile", smileConverter.getObjectMapper(), response);
+    }
+
+    private static void report(String format, ObjectMapper mapper, ResponseDto response) throws Exception {
+        byte[] payload = mapper.writeValueAsBytes(response);
+        long encodeNanos = Long.MAX_VALUE;
+        long decodeNanos = Long.MAX_VALUE;
+        for (int round = 0; round < 10; round++) {
+            long start = System.nanoTime();
+            mapper.writeValueAsBytes(response);
+            encodeNanos = Math.min(encodeNanos, System.nanoTime() - start);
+            start = System.nanoTime();
+            JsonNode decoded = mapper.readTree(payload);
+            decodeNanos = Math.min(decodeNanos, System.nanoTime() - start);
+            assertEquals(10_000, decoded.get("data").size());
+        }
+        System.out.printf("%-5s 10k employees: %8d bytes, encode %6.1f ms, decode %6.1f ms%n", format,
+                payload.length, encodeNanos / 1e6, decodeNanos / 1e6);
+    }
+
+}
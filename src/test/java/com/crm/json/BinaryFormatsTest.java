@@ -0,0 +1,88 @@
+package com.crm.json;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Employee endpoints negotiate CBOR and Smile with identical content to JSON,
+ * which stays the default. Content is compared as rendered text because the
+ * binary formats keep decimals as BigDecimal where JSON parsing yields
+ * doubles.
+ *
+ * @see BinaryFormatsBenchmarkTest
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class BinaryFormatsTest {
+
+    private static final MediaType SMILE = MediaType.parseMediaType(JsonConfig.APPLICATION_SMILE_VALUE);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper jsonMapper;
+
+    @Autowired
+    private MappingJackson2CborHttpMessageConverter cborConverter;
+
+    @Autowired
+    private MappingJackson2SmileHttpMessageConverter smileConverter;
+
+    @Test
+    void jsonIsTheDefault() throws Exception {
+        mockMvc.perform(get("/crm/getEmployeeDatabyId/2"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void employeeLookupInCborMatchesJson() throws Exception {
+        byte[] cbor = mockMvc.perform(get("/crm/getEmployeeDatabyId/2").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+        byte[] json = mockMvc.perform(get("/crm/getEmployeeDatabyId/2").accept(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse().getContentAsByteArray();
+        assertEquals(jsonMapper.readTree(json).get("data").toString(),
+                cborConverter.getObjectMapper().readTree(cbor).get("data").toString());
+    }
+
+    @Test
+    void employeeFilterInSmileMatchesJson() throws Exception {
+        String filter = "{\"department\":[\"Engineering\"]}";
+        byte[] smile = mockMvc.perform(post("/crm/getFilterEmployees").accept(SMILE)
+                        .contentType(MediaType.APPLICATION_JSON).content(filter))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(SMILE))
+                .andReturn().getResponse().getContentAsByteArray();
+        byte[] json = mockMvc.perform(post("/crm/getFilterEmployees")
+                        .contentType(MediaType.APPLICATION_JSON).content(filter))
+                .andReturn().getResponse().getContentAsByteArray();
+        assertEquals(jsonMapper.readTree(json).get("data").toString(),
+                smileConverter.getObjectMapper().readTree(smile).get("data").toString());
+    }
+
+    @Test
+    void errorResponsesAreNegotiatedToo() throws Exception {
+        byte[] cbor = mockMvc.perform(get("/crm/getEmployeeDatabyId/999").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+        assertEquals(false, cborConverter.getObjectMapper().readTree(cbor).get("success").asBoolean());
+    }
+
+}
@@ -0,0 +1,56 @@
+package com.crm.json;
+
+import java.io.OutputStream;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.crm.dto.ResponseDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+
+/**
+ * Prints a comparison of the bean and hand-written serializers for 1, 100
+ * and 10k employees. Excluded from the default build; run it with
+ * {@code mvn -Pbenchmark test}.
+ */
+@Tag("benchmark")
+class DtoSerializersBenchmarkTest {
+
+    private final ObjectMapper reflective = Jackson2ObjectMapperBuilder.json().build();
+    private final ObjectMapper handWritten = Jackson2ObjectMapperBuilder.json()
+            .modulesToInstall(new DtoSerializersModule(), new BlackbirdModule())
+            .build();
+
+    @Test
+    void serializers() throws Exception {
+        for (int size : new int[] { 1, 100, 10_000 }) {
+            ResponseDto response = DtoSerializersTest.response(size);
+            int iterations = Math.max(5, 200_000 / (size * 10 + 10));
+            long reflectiveNanos = Long.MAX_VALUE;
+            long handWrittenNanos = Long.MAX_VALUE;
+            // alternate the two paths and keep the best round of each, so JIT
+            // and GC activity do not favour whichever runs second
+            for (int round = 0; round < 5; round++) {
+                reflectiveNanos = Math.min(reflectiveNanos, time(reflective, response, iterations));
+                handWrittenNanos = Math.min(handWrittenNanos, time(handWritten, response, iterations));
+            }
+            System.out.printf("%6d employees: bean serializers %8.1f us, hand-written %8.1f us (%.2fx)%n", size,
+                    reflectiveNanos / 1000.0, handWrittenNanos / 1000.0,
+                    (double) reflectiveNanos / handWrittenNanos);
+        }
+    }
+
+    private static long time(ObjectMapper mapper, ResponseDto response, int iterations) throws Exception {
+        for (int i = 0; i < iterations; i++) {
+            mapper.writeValue(OutputStream.nullOutputStream(), response);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            mapper.writeValue(OutputStream.nullOutputStream(), response);
+        }
+        return (System.nanoTime() - start) / iterations;
+    }
+
+}
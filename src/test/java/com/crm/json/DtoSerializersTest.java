@@ -0,0 +1,114 @@
+package com.crm.json;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.TimeZone;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.crm.dto.EmployeeDictionaries;
+import com.crm.dto.EmployeeDto;
+import com.crm.dto.ProjectDto;
+import com.crm.dto.ResponseDto;
+import com.crm.dto.ReviewDto;
+import com.crm.dto.ReviewSummaryDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+
+/**
+ * The hand-written serializers must produce exactly what Jackson's bean
+ * serializers produce.
+ *
+ * @see DtoSerializersBenchmarkTest
+ */
+class DtoSerializersTest {
+
+    private final ObjectMapper reflective = Jackson2ObjectMapperBuilder.json().build();
+    private final ObjectMapper handWritten = Jackson2ObjectMapperBuilder.json()
+            .modulesToInstall(new DtoSerializersModule(), new BlackbirdModule())
+            .build();
+
+    @Test
+    void matchesBeanSerialization() throws Exception {
+        ResponseDto response = response(100);
+        assertEquals(reflective.writeValueAsString(response), handWritten.writeValueAsString(response));
+    }
+
+    @Test
+    void matchesBeanSerializationForNullsAndEmptyCollections() throws Exception {
+        EmployeeDto sparse = new EmployeeDto();
+        EmployeeDto empty = employee(7);
+        empty.setProjects(List.of());
+        empty.setPerformanceReviews(List.of());
+        empty.setReviewSummary(new ReviewSummaryDto(0, null, null, null, null, null, List.of()));
+        ResponseDto response = new ResponseDto(null, null, null, null, null, List.of(sparse, empty));
+        assertEquals(reflective.writeValueAsString(response), handWritten.writeValueAsString(response));
+        ResponseDto error = new ResponseDto(false, new Date(), 0, "not found", "404 NOT_FOUND", null);
+        assertEquals(reflective.writeValueAsString(error), handWritten.writeValueAsString(error));
+    }
+
+    @Test
+    void matchesBeanSerializationForNormalizedResponses() throws Exception {
+        EmployeeDictionaries dictionaries = new EmployeeDictionaries(true);
+        List<EmployeeDto> data = new ArrayList<>();
+        for (long id = 1; id <= 3; id++) {
+            EmployeeDto employee = employee(id);
+            employee.setManagerName(null);
+            employee.setDepartmentName(null);
+            employee.setProjects(null);
+            employee.setDepartmentId(1);
+            employee.setManagerId(id == 1 ? null : 1L);
+            employee.setProjectIds(List.of(100L, 101L));
+            data.add(employee);
+        }
+        dictionaries.getProjects().put(100L, new ProjectDto(100L, "Project 0", "2024-01-01", null, "Engineering"));
+        dictionaries.getDepartments().put(1, "Engineering");
+        dictionaries.getManagers().put(1L, "Employee 1");
+        ResponseDto response = new ResponseDto(true, new Date(1_700_000_000_000L), data.size(), "ok", null, data);
+        dictionaries.applyTo(response);
+        assertEquals(reflective.writeValueAsString(response), handWritten.writeValueAsString(response));
+    }
+
+    @Test
+    void formatsTimestampInTheMapperTimeZone() throws Exception {
+        TimeZone zone = TimeZone.getTimeZone("Asia/Kolkata");
+        ObjectMapper reflectiveZoned = Jackson2ObjectMapperBuilder.json().timeZone(zone).build();
+        ObjectMapper handWrittenZoned = Jackson2ObjectMapperBuilder.json().timeZone(zone)
+                .modulesToInstall(new DtoSerializersModule()).build();
+        ResponseDto response = response(1);
+        assertEquals(reflectiveZoned.writeValueAsString(response), handWrittenZoned.writeValueAsString(response));
+    }
+
+    static ResponseDto response(int employees) {
+        List<EmployeeDto> data = new ArrayList<>(employees);
+        for (int i = 1; i <= employees; i++) {
+            data.add(employee(i));
+        }
+        return new ResponseDto(true, new Date(1_700_000_000_000L), employees, "Employees fetched successfully.",
+                null, data);
+    }
+
+    static EmployeeDto employee(long id) {
+        List<ReviewDto> reviews = new ArrayList<>();
+        for (int r = 0; r < 3; r++) {
+            reviews.add(new ReviewDto(id * 10 + r, "2024-0" + (r + 1) + "-15", new BigDecimal("0.8" + r),
+                    r == 1 ? null : "Review \"" + r + "\" for employee " + id));
+        }
+        List<ProjectDto> projects = new ArrayList<>();
+        for (int p = 0; p < 2; p++) {
+            projects.add(new ProjectDto(id * 100 + p, "Project " + p, "2024-01-01", p == 0 ? null : "2024-12-31",
+                    "Engineering"));
+        }
+        return new EmployeeDto(id, "Employee " + id, "employee" + id + "@example.com", "2020-05-01",
+                50_000.0 + id, id % 5 == 0 ? null : "Asha", "Engineering", reviews, projects, null, null, null,
+                new ReviewSummaryDto(3, new BigDecimal("0.8100"), new BigDecimal("0.80"), new BigDecimal("0.82"),
+                        new BigDecimal("0.82"), "2024-03-15", List.of(id * 10 + 2, id * 10 + 1, id * 10)),
+                7L);
+    }
+
+}
@@ -0,0 +1,180 @@
+package com.crm.reviews;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.crm.config.AdminAccessInterceptor;
+import com.crm.dto.DepartmentReviewTrendDto;
+import com.crm.dto.ReviewMonthDto;
+import com.crm.dto.ReviewTrendDto;
+import com.crm.entity.Employee;
+import com.crm.entity.PerformanceReview;
+import com.crm.repository.EmployeeRepository;
+import com.crm.repository.PerformanceReviewRepository;
+import com.crm.service.ReviewService;
+
+/**
+ * Department/month rollups follow review inserts, updates and deletes,
+ * whether written through JPA or the batch writer, and match a parallel
+ * rebuild, which the admin endpoint runs for holders of the admin token.
+ */
+@ReviewWritesTest
+class ReviewRollupTest {
+
+    @Autowired
+    private ReviewService reviewService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private PerformanceReviewRepository performanceReviewRepository;
+
+    @Autowired
+    private ReviewBatchWriter reviewBatchWriter;
+
+    @Autowired
+    private ReviewRollupStore reviewRollupStore;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void rollupsFollowReviewWrites() {
+        String initial = trend().toString();
+        DepartmentReviewTrendDto engineering = trend().getDepartments().get(0);
+        assertEquals(Integer.valueOf(1), engineering.getDepartmentId());
+        assertTotals(engineering, 2, "0.8250", "0.0250");
+        assertMonth(engineering.getMonths().get(0), "2023-06", 1, "0.8000", "0.0000");
+        assertMonth(engineering.getMonths().get(1), "2023-12", 1, "0.8500", "0.0000");
+
+        Long inserted = insert(2L, "2023-12-15", "0.65");
+        Long batched = null;
+        try {
+            assertMonth(department(1).getMonths().get(1), "2023-12", 2, "0.7500", "0.1000");
+
+            update(inserted, "2023-06-10", "0.70");
+            assertMonth(department(1).getMonths().get(0), "2023-06", 2, "0.7500", "0.0500");
+            assertMonth(department(1).getMonths().get(1), "2023-12", 1, "0.8500", "0.0000");
+
+            PendingReview pending = new PendingReview(3L, Date.valueOf("2023-12-01"), new BigDecimal("0.70"), null);
+            reviewBatchWriter.write(List.of(pending));
+            batched = pending.getWritten().join();
+            assertTotals(department(2), 2, "0.8000", "0.1000");
+
+            String maintained = trend().toString();
+            reviewRollupStore.rebuild();
+            assertEquals(maintained, trend().toString());
+        } finally {
+            delete(inserted);
+            if (batched != null) {
+                delete(batched);
+            }
+        }
+        assertEquals(initial, trend().toString());
+    }
+
+    @Test
+    void trendIsFilteredByDepartmentAndValidated() throws Exception {
+        ReviewTrendDto filtered = reviewService.getReviewTrend("2023-01", "2023-12", List.of(2));
+        assertEquals(1, filtered.getDepartments().size());
+        assertTotals(filtered.getDepartments().get(0), 1, "0.9000", "0.0000");
+
+        mockMvc.perform(get("/crm/getReviewTrend").param("from", "2023-12").param("to", "2023-01"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode").value("INVALID_TREND_RANGE"));
+        mockMvc.perform(get("/crm/getReviewTrend").param("from", "2023-06").param("to", "2023-06"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.departments[0].months[0].month").value("2023-06"));
+    }
+
+    @Test
+    void adminRebuildDropsBucketsWithoutReviews() throws Exception {
+        String initial = trend().toString();
+        jdbcTemplate.update("insert into department_review_rollup "
+                + "(department_id, bucket_month, review_count, score_sum, score_sum_squares) "
+                + "values (1, '2023-02-01', 5, 4.00, 3.2000)");
+
+        mockMvc.perform(post("/admin/reviewRollups/rebuild"))
+                .andExpect(status().isForbidden());
+        assertEquals(3, department(1).getMonths().size());
+
+        mockMvc.perform(post("/admin/reviewRollups/rebuild")
+                .header(AdminAccessInterceptor.ADMIN_TOKEN_HEADER, "test-admin-token"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data").value(rollupRows()))
+                .andExpect(jsonPath("$.errorCode").doesNotExist());
+        assertEquals(initial, trend().toString());
+    }
+
+    private int rollupRows() {
+        return jdbcTemplate.queryForObject("select count(*) from department_review_rollup", Integer.class);
+    }
+
+    private ReviewTrendDto trend() {
+        return reviewService.getReviewTrend("2023-01", "2023-12", null);
+    }
+
+    private DepartmentReviewTrendDto department(int departmentId) {
+        return trend().getDepartments().stream()
+                .filter(department -> department.getDepartmentId() == departmentId)
+                .findFirst().orElseThrow();
+    }
+
+    private static void assertTotals(DepartmentReviewTrendDto trend, long count, String average, String stdDev) {
+        assertEquals(Long.valueOf(count), trend.getReviewCount());
+        assertEquals(new BigDecimal(average), trend.getAverageScore());
+        assertEquals(new BigDecimal(stdDev), trend.getScoreStdDev());
+    }
+
+    private static void assertMonth(ReviewMonthDto month, String name, long count, String average, String stdDev) {
+        assertEquals(name, month.getMonth());
+        assertEquals(Long.valueOf(count), month.getReviewCount());
+        assertEquals(new BigDecimal(average), month.getAverageScore());
+        assertEquals(new BigDecimal(stdDev), month.getScoreStdDev());
+    }
+
+    private Long insert(Long employeeId, String date, String score) {
+        return transactionTemplate.execute(status -> {
+            Employee employee = employeeRepository.findById(employeeId).orElseThrow();
+            PerformanceReview review = new PerformanceReview(null, employee, Date.valueOf(date),
+                    new BigDecimal(score), "Rollup test");
+            return performanceReviewRepository.save(review).getId();
+        });
+    }
+
+    private void update(Long reviewId, String date, String score) {
+        transactionTemplate.executeWithoutResult(status -> {
+            PerformanceReview review = performanceReviewRepository.findById(reviewId).orElseThrow();
+            review.setReviewDate(Date.valueOf(date));
+            review.setScore(new BigDecimal(score));
+        });
+    }
+
+    /**
+     * Deletes through JPA, so that the rollups are maintained.
+     */
+    private void delete(Long reviewId) {
+        transactionTemplate.executeWithoutResult(status -> performanceReviewRepository.deleteById(reviewId));
+    }
+
+}
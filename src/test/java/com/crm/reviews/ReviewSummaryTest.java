@@ -0,0 +1,143 @@
+package com.crm.reviews;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.crm.config.AdminAccessInterceptor;
+import com.crm.dto.ReviewSummaryDto;
+import com.crm.entity.Employee;
+import com.crm.entity.PerformanceReview;
+import com.crm.repository.EmployeeRepository;
+import com.crm.repository.PerformanceReviewRepository;
+import com.crm.service.EmployeeService;
+
+/**
+ * Review summaries follow review inserts, updates and deletes, whether
+ * written through JPA or the batch writer, and match a full rebuild, which
+ * the admin endpoint runs to repair them.
+ */
+@ReviewWritesTest
+class ReviewSummaryTest {
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private PerformanceReviewRepository performanceReviewRepository;
+
+    @Autowired
+    private ReviewBatchWriter reviewBatchWriter;
+
+    @Autowired
+    private ReviewSummaryStore reviewSummaryStore;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void summaryFollowsReviewWrites() {
+        assertSummary(2, "0.8250", "0.80", "0.85", "0.85", List.of(2L, 1L));
+
+        Long newest = insert(2L, "2024-06-30", "0.95");
+        Long older = null;
+        try {
+            assertSummary(3, "0.8667", "0.80", "0.95", "0.95", List.of(newest, 2L, 1L));
+
+            updateScore(newest, "0.70");
+            assertSummary(3, "0.7833", "0.70", "0.85", "0.70", List.of(newest, 2L, 1L));
+
+            PendingReview backdated = new PendingReview(2L, Date.valueOf("2023-01-31"), new BigDecimal("0.60"),
+                    null);
+            reviewBatchWriter.write(List.of(backdated));
+            older = backdated.getWritten().join();
+            assertSummary(4, "0.7375", "0.60", "0.85", "0.70", List.of(newest, 2L, 1L));
+
+            String maintained = summary().toString();
+            reviewSummaryStore.rebuild();
+            assertEquals(maintained, summary().toString());
+        } finally {
+            delete(newest);
+            if (older != null) {
+                delete(older);
+            }
+        }
+        assertSummary(2, "0.8250", "0.80", "0.85", "0.85", List.of(2L, 1L));
+    }
+
+    @Test
+    void adminRebuildRepairsSummaries() throws Exception {
+        jdbcTemplate.update("update employee_review_summary set review_count = 99 where employee_id = 2");
+
+        mockMvc.perform(post("/admin/reviewSummaries/rebuild"))
+                .andExpect(status().isForbidden());
+        assertEquals(99, summary().getReviewCount());
+
+        int employeesWithReviews = jdbcTemplate.queryForObject(
+                "select count(distinct employee_id) from performance_review", Integer.class);
+        mockMvc.perform(post("/admin/reviewSummaries/rebuild")
+                .header(AdminAccessInterceptor.ADMIN_TOKEN_HEADER, "test-admin-token"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data").value(employeesWithReviews))
+                .andExpect(jsonPath("$.errorCode").doesNotExist());
+        assertSummary(2, "0.8250", "0.80", "0.85", "0.85", List.of(2L, 1L));
+    }
+
+    private ReviewSummaryDto summary() {
+        return employeeService.getEmployeesData(2L).getReviewSummary();
+    }
+
+    private void assertSummary(int count, String average, String min, String max, String latest, List<Long> recent) {
+        ReviewSummaryDto summary = summary();
+        assertEquals(count, summary.getReviewCount());
+        assertEquals(new BigDecimal(average), summary.getAverageScore());
+        assertEquals(new BigDecimal(min), summary.getMinScore());
+        assertEquals(new BigDecimal(max), summary.getMaxScore());
+        assertEquals(new BigDecimal(latest), summary.getLatestScore());
+        assertEquals(recent, summary.getRecentReviewIds());
+    }
+
+    private Long insert(Long employeeId, String date, String score) {
+        return transactionTemplate.execute(status -> {
+            Employee employee = employeeRepository.findById(employeeId).orElseThrow();
+            PerformanceReview review = new PerformanceReview(null, employee, Date.valueOf(date),
+                    new BigDecimal(score), "Summary test");
+            return performanceReviewRepository.save(review).getId();
+        });
+    }
+
+    private void updateScore(Long reviewId, String score) {
+        transactionTemplate.executeWithoutResult(status -> {
+            PerformanceReview review = performanceReviewRepository.findById(reviewId).orElseThrow();
+            review.setScore(new BigDecimal(score));
+        });
+    }
+
+    /**
+     * Deletes through JPA, so that the summary is maintained.
+     */
+    private void delete(Long reviewId) {
+        transactionTemplate.executeWithoutResult(status -> performanceReviewRepository.deleteById(reviewId));
+    }
+
+}
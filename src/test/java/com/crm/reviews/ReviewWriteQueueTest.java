@@ -0,0 +1,151 @@
+package com.crm.reviews;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import com.crm.exception.ServiceOverloadedException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * The write queue rejects submissions beyond its capacity, writes what is
+ * still queued when it stops, and retries a failed batch one review at a
+ * time, so that only the bad review fails.
+ */
+class ReviewWriteQueueTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final RecordingWriter writer = new RecordingWriter();
+    private ReviewWriteQueue queue;
+
+    @AfterEach
+    void stopQueue() {
+        writer.release.countDown();
+        if (queue != null && queue.isRunning()) {
+            queue.stop();
+        }
+    }
+
+    @Test
+    void fullQueueRejectsSubmissions() throws Exception {
+        writer.release = new CountDownLatch(1);
+        queue = start(1, 1, 0);
+
+        queue.submit(review("first"));
+        assertTrue(writer.writing.await(5, TimeUnit.SECONDS));
+        queue.submit(review("queued"));
+
+        ServiceOverloadedException rejected = assertThrows(ServiceOverloadedException.class,
+                () -> queue.submit(review("rejected")));
+        assertEquals(3, rejected.getRetryAfterSeconds());
+        assertEquals(1.0, registry.get(ReviewWriteQueue.REJECTED_NAME).tag("reason", "queue_full").counter().count());
+    }
+
+    @Test
+    void stopWritesWhatIsStillQueuedAndRefusesNewSubmissions() throws Exception {
+        writer.release = new CountDownLatch(1);
+        queue = start(10, 2, 50);
+        List<PendingReview> submitted = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            PendingReview review = review("review " + i);
+            queue.submit(review);
+            submitted.add(review);
+        }
+        assertTrue(writer.writing.await(5, TimeUnit.SECONDS));
+
+        writer.release.countDown();
+        queue.stop();
+
+        for (PendingReview review : submitted) {
+            assertTrue(review.getWritten().isDone(), review.getComments());
+        }
+        assertEquals(5, writer.written.size());
+        assertThrows(ServiceOverloadedException.class, () -> queue.submit(review("late")));
+    }
+
+    @Test
+    void failedBatchIsRetriedOneByOne() throws Exception {
+        queue = start(10, 3, 5000);
+        PendingReview good = review("good");
+        PendingReview bad = review("bad");
+        PendingReview alsoGood = review("also good");
+        queue.submit(good);
+        queue.submit(bad);
+        queue.submit(alsoGood);
+
+        assertTrue(good.getWritten().get(5, TimeUnit.SECONDS) > 0);
+        assertTrue(alsoGood.getWritten().get(5, TimeUnit.SECONDS) > 0);
+        ExecutionException failure = assertThrows(ExecutionException.class,
+                () -> bad.getWritten().get(5, TimeUnit.SECONDS));
+        assertInstanceOf(DataIntegrityViolationException.class, failure.getCause());
+
+        assertEquals(List.of(3, 1, 1, 1), writer.batchSizes);
+        assertEquals(List.of("good", "also good"), writer.written);
+        assertEquals(1.0,
+                registry.get(ReviewWriteQueue.REJECTED_NAME).tag("reason", "write_failed").counter().count());
+    }
+
+    private ReviewWriteQueue start(int capacity, int batchSize, long lingerMillis) {
+        ReviewWriteQueue started = new ReviewWriteQueue(writer, registry, capacity, batchSize, lingerMillis, 5000, 3);
+        started.start();
+        return started;
+    }
+
+    private static PendingReview review(String comments) {
+        return new PendingReview(3L, Date.valueOf("2024-06-30"), new BigDecimal("0.75"), comments);
+    }
+
+    /**
+     * Completes reviews with made-up ids instead of writing them. A batch
+     * holding a review commented "bad" fails as a whole; with a release latch
+     * set, the first batch waits for it.
+     */
+    private static class RecordingWriter extends ReviewBatchWriter {
+
+        private final AtomicLong ids = new AtomicLong();
+        private final CountDownLatch writing = new CountDownLatch(1);
+        private volatile CountDownLatch release = new CountDownLatch(0);
+        private final List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+        private final List<String> written = Collections.synchronizedList(new ArrayList<>());
+
+        RecordingWriter() {
+            super(null, null, null, null, null);
+        }
+
+        @Override
+        public void write(List<PendingReview> batch) {
+            writing.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            batchSizes.add(batch.size());
+            if (batch.stream().anyMatch(review -> "bad".equals(review.getComments()))) {
+                throw new DataIntegrityViolationException("bad review");
+            }
+            for (PendingReview review : batch) {
+                written.add(review.getComments());
+                review.getWritten().complete(ids.incrementAndGet());
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,24 @@
+package com.crm.reviews;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+
+/**
+ * Runs a test that commits reviews against a database of its own, shared
+ * only with the other review write tests. Reviews written by the batch
+ * writer commit on the writer's thread and cannot be rolled back, so instead
+ * of cleaning up after themselves these tests keep their rows, tombstones,
+ * summaries and rollups away from the rest of the suite.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@SpringBootTest(properties = "spring.datasource.url="
+        + "jdbc:h2:mem:review-writes;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+public @interface ReviewWritesTest {
+}
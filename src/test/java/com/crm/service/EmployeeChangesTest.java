@@ -0,0 +1,92 @@
+package com.crm.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.crm.dto.EmployeeChangesDto;
+import com.crm.dto.EmployeeDto;
+import com.crm.dto.EmployeeFields;
+import com.crm.entity.Employee;
+import com.crm.entity.EmployeeProject;
+import com.crm.entity.PerformanceReview;
+import com.crm.repository.ChangeTombstoneRepository;
+import com.crm.repository.EmployeeRepository;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Delta sync returns only the employees whose row, project assignments or
+ * reviews changed after the token, including deleted assignments.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class EmployeeChangesTest {
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private ChangeTombstoneRepository changeTombstoneRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @Transactional
+    void returnsOnlyEmployeesChangedSinceTheToken() throws Exception {
+        EmployeeChangesDto initial = employeeService.getEmployeeChanges(null, EmployeeFields.all());
+        assertTrue(initial.isResetRequired());
+        Thread.sleep(5);
+
+        EmployeeChangesDto unchanged = employeeService.getEmployeeChanges(initial.getToken(), EmployeeFields.all());
+        assertFalse(unchanged.isResetRequired());
+        assertTrue(unchanged.getModified().isEmpty());
+
+        Employee vikram = employeeRepository.findById(2L).orElseThrow();
+        PerformanceReview review = vikram.getPerformanceReviews().iterator().next();
+        review.setReviewComments("Revised");
+        Employee meera = employeeRepository.findById(3L).orElseThrow();
+        EmployeeProject assignment = meera.getEmployeeProjects().iterator().next();
+        meera.getEmployeeProjects().remove(assignment);
+        entityManager.remove(assignment);
+        entityManager.flush();
+
+        EmployeeChangesDto changes = employeeService.getEmployeeChanges(initial.getToken(),
+                EmployeeFields.parse("name,projects"));
+        List<Long> modified = changes.getModified().stream().map(EmployeeDto::getId).collect(Collectors.toList());
+        assertEquals(List.of(2L, 3L), modified);
+        assertEquals(1, changes.getModified().get(1).getProjects().size());
+        assertTrue(changes.getDeleted().isEmpty());
+        assertEquals(List.of(3L), changeTombstoneRepository.findEmployeeIdsWithDeletedChildren(
+                new Date(0)));
+    }
+
+    @Test
+    void malformedTokensAreRejected() throws Exception {
+        mockMvc.perform(get("/crm/getEmployeeChanges").param("since", "not a token"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/crm/getEmployeeChanges"))
+                .andExpect(status().isOk());
+    }
+
+}
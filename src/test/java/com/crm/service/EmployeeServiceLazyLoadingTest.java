@@ -0,0 +1,89 @@
+package com.crm.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.json.simple.JSONObject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.crm.dto.EmployeeDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Verifies that employee DTOs are fully assembled inside the service
+ * transaction: serializing them must not trigger any further SQL, and the
+ * endpoints must work with open session in view disabled.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class EmployeeServiceLazyLoadingTest {
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void employeeDetailIsAssembledInsideService() throws Exception {
+        EmployeeDto employee = employeeService.getEmployeesData(2L);
+        long statementsAfterService = statistics.getPrepareStatementCount();
+
+        objectMapper.writeValueAsString(employee);
+
+        assertEquals(statementsAfterService, statistics.getPrepareStatementCount());
+        assertFalse(employee.getProjects().isEmpty());
+        assertFalse(employee.getPerformanceReviews().isEmpty());
+    }
+
+    @Test
+    void filteredEmployeesAreAssembledInsideService() throws Exception {
+        List<EmployeeDto> employees = employeeService.getAllEmployeesData(new JSONObject());
+        long statementsAfterService = statistics.getPrepareStatementCount();
+
+        objectMapper.writeValueAsString(employees);
+
+        assertEquals(statementsAfterService, statistics.getPrepareStatementCount());
+        assertEquals(3, employees.size());
+    }
+
+    @Test
+    void endpointsServeResponsesWithoutOpenSessionInView() throws Exception {
+        mockMvc.perform(get("/crm/getEmployeeDatabyId/3"))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/crm/getFilterEmployees")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"department\": [\"Sales\"]}"))
+                .andExpect(status().isOk());
+    }
+
+}
@@ -0,0 +1,93 @@
+package com.crm.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.json.simple.JSONObject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.crm.dto.EmployeeDictionaries;
+import com.crm.dto.EmployeeDto;
+import com.crm.dto.EmployeeFields;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * A sparse fieldset is pushed into the query: associations backing fields
+ * that were not requested are neither joined nor loaded.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class SparseFieldsTest {
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void directoryFieldsAreServedByASingleStatement() {
+        List<EmployeeDto> employees = employeeService.getAllEmployeesData(new JSONObject(),
+                new EmployeeDictionaries(false), EmployeeFields.parse("name,email,departmentName"));
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(3, employees.size());
+        for (EmployeeDto employee : employees) {
+            assertNotNull(employee.getId());
+            assertNotNull(employee.getDepartmentName());
+            assertNull(employee.getManagerName());
+            assertNull(employee.getSalary());
+            assertNull(employee.getProjects());
+            assertNull(employee.getPerformanceReviews());
+        }
+    }
+
+    @Test
+    void fullRepresentationStillLoadsEverything() {
+        EmployeeDto sparse = employeeService.getEmployeesData(2L, EmployeeFields.parse("name"));
+        long sparseStatements = statistics.getPrepareStatementCount();
+        statistics.clear();
+        EmployeeDto full = employeeService.getEmployeesData(2L);
+
+        assertEquals(1, sparseStatements);
+        assertTrue(statistics.getPrepareStatementCount() > sparseStatements);
+        assertEquals(full.getName(), sparse.getName());
+        assertNotNull(full.getManagerName());
+        assertNotNull(full.getProjects());
+        assertNotNull(full.getPerformanceReviews());
+    }
+
+    @Test
+    void unknownFieldsAreRejected() throws Exception {
+        mockMvc.perform(get("/crm/getEmployeeDatabyId/2").param("fields", "name,password"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/crm/getEmployeeDatabyId/2").param("fields", "name,email"))
+                .andExpect(status().isOk());
+    }
+
+}
@@ -0,0 +1,122 @@
+package com.crm.warmup;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.boot.task.ThreadPoolTaskExecutorBuilder;
+
+import com.crm.dto.DropDownDto;
+import com.crm.dto.EmployeeDto;
+import com.crm.hotkeys.HotKeySnapshotStore;
+import com.crm.service.DataService;
+import com.crm.service.EmployeeService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Warm-up loads the reference data, the hot employees and filters from the
+ * snapshot up to their limits, falls back to one filter per department
+ * without a snapshot, survives failing tasks and gives up after its timeout.
+ */
+class WarmupRunnerTest {
+
+    @TempDir
+    private Path directory;
+
+    private final List<String> calls = new CopyOnWriteArrayList<>();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private volatile Long hangingEmployeeId;
+
+    @AfterEach
+    void releaseHangingTask() {
+        release.countDown();
+    }
+
+    @Test
+    void warmsSnapshotEmployeesAndFiltersUpToTheirLimits() throws Exception {
+        Files.writeString(directory.resolve("hotkeys.json"), "{\"employees\":[3,2,1],"
+                + "\"filters\":[{\"department\":[\"Sales\"]},{\"department\":[\"Engineering\"]}]}");
+
+        runner(2, 1, 5000).run(new DefaultApplicationArguments());
+
+        assertEquals(Set.of("getDepartments", "getProjects", "getEmployeesData 3", "getEmployeesData 2",
+                "getAllEmployeesData {\"department\":[\"Sales\"]}"), Set.copyOf(calls));
+        assertEquals(calls.size(), Set.copyOf(calls).size(), calls.toString());
+    }
+
+    @Test
+    void warmsOneFilterPerDepartmentWithoutSnapshot() throws Exception {
+        runner(10, 10, 5000).run(new DefaultApplicationArguments());
+
+        assertTrue(calls.contains("getAllEmployeesData {\"department\":[\"Engineering\"]}"), calls.toString());
+        assertTrue(calls.contains("getAllEmployeesData {\"department\":[\"Sales\"]}"), calls.toString());
+        assertFalse(calls.stream().anyMatch(call -> call.startsWith("getEmployeesData")), calls.toString());
+    }
+
+    @Test
+    void givesUpAfterTheTimeoutWhenATaskHangs() throws Exception {
+        Files.writeString(directory.resolve("hotkeys.json"), "{\"employees\":[3],\"filters\":[]}");
+        hangingEmployeeId = 3L;
+
+        long start = System.nanoTime();
+        runner(10, 10, 200).run(new DefaultApplicationArguments());
+
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 5000);
+        assertTrue(calls.contains("getProjects"), calls.toString());
+    }
+
+    private WarmupRunner runner(int maxEmployees, int maxFilters, long timeoutMillis) {
+        HotKeySnapshotStore snapshots = new HotKeySnapshotStore(null, directory.resolve("hotkeys.json").toString(),
+                50);
+        return new WarmupRunner(dataService(), employeeService(), snapshots, new ObjectMapper(),
+                new StaticListableBeanFactory().getBeanProvider(ThreadPoolTaskExecutorBuilder.class), true, 2,
+                timeoutMillis, maxEmployees, maxFilters);
+    }
+
+    private DataService dataService() {
+        return (DataService) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { DataService.class },
+                (proxy, method, args) -> {
+                    calls.add(method.getName());
+                    if (method.getName().equals("getDepartments")) {
+                        return List.of(new DropDownDto(1, "Engineering"), new DropDownDto(2, "Sales"));
+                    }
+                    return List.of();
+                });
+    }
+
+    /**
+     * Employee 2 fails, and the hanging employee, if any, waits until the
+     * test ends.
+     */
+    private EmployeeService employeeService() {
+        return (EmployeeService) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] { EmployeeService.class }, (proxy, method, args) -> {
+                    calls.add(method.getName() + " " + args[0]);
+                    if (method.getName().equals("getAllEmployeesData")) {
+                        return List.of();
+                    }
+                    if (args[0].equals(hangingEmployeeId)) {
+                        release.await(10, TimeUnit.SECONDS);
+                    }
+                    if (args[0].equals(2L)) {
+                        throw new IllegalStateException("employee 2 is broken");
+                    }
+                    return new EmployeeDto();
+                });
+    }
+
+}
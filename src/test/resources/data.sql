@@ -0,0 +1,31 @@
+INSERT IGNORE INTO department (id, name, budget) VALUES (1, 'Engineering', 100.000), (2, 'Sales', 50.000);
+
+INSERT IGNORE INTO employee (id, name, email, department_id, date_of_joining, salary, manager_id) VALUES
+    (1, 'Asha Rao', 'asha@crm.test', 1, '2019-04-01', 250000.00, NULL),
+    (2, 'Vikram Iyer', 'vikram@crm.test', 1, '2020-06-15', 180000.00, 1),
+    (3, 'Meera Shah', 'meera@crm.test', 2, '2021-01-10', 120000.00, 1);
+
+INSERT IGNORE INTO project (id, name, start_date, end_date, department_id) VALUES
+    (1, 'Payroll', '2023-01-01 00:00:00', NULL, 1),
+    (2, 'Outreach', '2023-03-01 00:00:00', '2024-03-01 00:00:00', 2);
+
+INSERT IGNORE INTO employee_project (id, employee_id, project_id, assigned_date, role) VALUES
+    (1, 2, 1, '2023-01-05 00:00:00', 'Developer'),
+    (2, 3, 2, '2023-03-05 00:00:00', 'Lead'),
+    (3, 3, 1, '2023-04-01 00:00:00', 'Analyst');
+
+INSERT IGNORE INTO performance_review (id, employee_id, review_date, score, review_comments) VALUES
+    (1, 2, '2023-06-30 00:00:00', 0.80, 'Solid'),
+    (2, 2, '2023-12-31 00:00:00', 0.85, 'Improving'),
+    (3, 3, '2023-12-31 00:00:00', 0.90, 'Excellent');
+
+INSERT IGNORE INTO employee_review_summary (employee_id, review_count, score_sum, min_score, max_score,
+        latest_review_id, latest_review_date, latest_score, recent_review_ids) VALUES
+    (2, 2, 1.65, 0.80, 0.85, 2, '2023-12-31 00:00:00', 0.85, '2,1'),
+    (3, 1, 0.90, 0.90, 0.90, 3, '2023-12-31 00:00:00', 0.90, '3');
+
+INSERT IGNORE INTO department_review_rollup (department_id, bucket_month, review_count, score_sum,
+        score_sum_squares) VALUES
+    (1, '2023-06-01', 1, 0.80, 0.6400),
+    (1, '2023-12-01', 1, 0.85, 0.7225),
+    (2, '2023-12-01', 1, 0.90, 0.8100);
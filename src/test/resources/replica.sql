@@ -0,0 +1,5 @@
+-- Initialises the embedded database that stands in for a read replica.
+-- Department names differ from data.sql so tests can tell which side served a read.
+RUNSCRIPT FROM 'classpath:schema.sql';
+
+INSERT IGNORE INTO department (id, name, budget) VALUES (1, 'Engineering (replica)', 100.000), (2, 'Sales (replica)', 50.000);